@@ -1,9 +1,32 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.controller.EncodedResponseCacheFilter;
+import com.reliaquest.api.service.EmployeeDataVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
@@ -13,10 +36,191 @@ public class AppConfig {
     @Value("${employee.api.base-url:http://localhost:8112/api/v1/employee}")
     private String employeeApiBaseUrl;
 
+    @Value("${employee.api.balancing.replicas:}")
+    private List<String> employeeApiReplicas;
+
+    @Value("${employee.api.balancing.ejection:PT5S}")
+    private Duration replicaEjection;
+
+    @Value("${employee.api.sharding.urls:}")
+    private List<String> employeeApiShards;
+
+    /*
+     * Mock API calls go through the JDK HttpClient instead of HttpURLConnection. Interrupting a thread blocked in it
+     * aborts the exchange, which is how RequestHedger gives back the connection and thread of a losing attempt; the
+     * timeouts bound how long anything that is never interrupted can hold them.
+     */
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(
+            RestTemplateBuilderConfigurer configurer,
+            @Value("${employee.api.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${employee.api.read-timeout:PT30S}") Duration readTimeout) {
+        return configurer
+                .configure(new RestTemplateBuilder())
+                .requestFactory(settings -> {
+                    HttpClient.Builder httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1);
+                    if (settings.connectTimeout() != null) {
+                        httpClient.connectTimeout(settings.connectTimeout());
+                    }
+                    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+                    if (settings.readTimeout() != null) {
+                        requestFactory.setReadTimeout(settings.readTimeout());
+                    }
+                    return requestFactory;
+                })
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout);
+    }
+
     @Bean(name = "employeeRestTemplate")
-    public RestTemplate employeeRestTemplate(RestTemplateBuilder builder) {
+    public RestTemplate employeeRestTemplate(
+            RestTemplateBuilder builder, ObjectProvider<UpstreamCallScheduler> upstreamCallScheduler) {
+        RestTemplate restTemplate =
+                restTemplateFor(builder, employeeApiBaseUrl, upstreamCallScheduler.getIfAvailable());
+        if (hasReplicas()) {
+            restTemplate
+                    .getInterceptors()
+                    .add(new ReplicaLoadBalancer(employeeApiBaseUrl, employeeApiReplicas, replicaEjection));
+        }
+        return restTemplate;
+    }
+
+    /*
+     * Sits in front of the load balancer, so a slot covers a call including any moves between replicas. With replicas
+     * or shards each instance has its own rate budget, so one of them running dry does not hold the queue.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.api.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+    public UpstreamCallScheduler upstreamCallScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${employee.api.scheduler.max-concurrency:8}") int maxConcurrency,
+            @Value("${employee.api.scheduler.interactive.weight:8}") int interactiveWeight,
+            @Value("${employee.api.scheduler.interactive.max-wait:PT2S}") Duration interactiveMaxWait,
+            @Value("${employee.api.scheduler.write.weight:4}") int writeWeight,
+            @Value("${employee.api.scheduler.write.max-wait:PT10S}") Duration writeMaxWait,
+            @Value("${employee.api.scheduler.background.weight:1}") int backgroundWeight,
+            @Value("${employee.api.scheduler.background.max-wait:PT1M}") Duration backgroundMaxWait,
+            @Value("${employee.api.scheduler.max-pause:PT10S}") Duration maxPause) {
+        return new UpstreamCallScheduler(
+                maxConcurrency,
+                Map.of(
+                        UpstreamCallScheduler.Priority.INTERACTIVE,
+                        new UpstreamCallScheduler.ClassPolicy(interactiveWeight, interactiveMaxWait),
+                        UpstreamCallScheduler.Priority.WRITE,
+                        new UpstreamCallScheduler.ClassPolicy(writeWeight, writeMaxWait),
+                        UpstreamCallScheduler.Priority.BACKGROUND,
+                        new UpstreamCallScheduler.ClassPolicy(backgroundWeight, backgroundMaxWait)),
+                !hasReplicas() && countNonBlank(employeeApiShards) < 2,
+                maxPause,
+                meterRegistry);
+    }
+
+    /*
+     * Retries rate-limited calls to the Mock API, waiting as long as its Retry-After header asks. Without the header
+     * it backs off exponentially from 5 seconds, as before. A call whose next wait would be longer than max-delay, or
+     * would take it past max-elapsed, gives up at once and is answered with 503 and the upstream Retry-After.
+     */
+    @Bean(name = "employeeRetryInterceptor")
+    public RetryOperationsInterceptor employeeRetryInterceptor(
+            @Value("${employee.api.retry.max-attempts:5}") int maxAttempts,
+            @Value("${employee.api.retry.max-delay:PT10S}") Duration maxDelay,
+            @Value("${employee.api.retry.max-elapsed:PT30S}") Duration maxElapsed) {
+        SimpleRetryPolicy retryPolicy =
+                new SimpleRetryPolicy(maxAttempts, Map.of(HttpClientErrorException.TooManyRequests.class, true));
+        return RetryInterceptorBuilder.stateless()
+                .retryPolicy(retryPolicy)
+                .backOffPolicy(new RetryAfterBackOffPolicy(exponentialBackOff(5000, maxDelay), maxDelay, maxElapsed))
+                .build();
+    }
+
+    @Bean(name = "employeeFetchExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService employeeFetchExecutor(@Value("${employee.api.fetch.parallelism:4}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("employee-fetch-"));
+    }
+
+    @Bean(name = "employeeShardExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService employeeShardExecutor(@Value("${employee.api.sharding.parallelism:16}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("employee-shard-"));
+    }
+
+    @Bean(name = "employeeHedgeExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService employeeHedgeExecutor(@Value("${employee.api.hedging.parallelism:16}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("employee-hedge-"));
+    }
+
+    /*
+     * One thread: a rebuild is only started when none of a newer version is running, so there is rarely more than one.
+     */
+    @Bean(name = "employeeRebuildExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService employeeRebuildExecutor() {
+        return Executors.newSingleThreadExecutor(new CustomizableThreadFactory("employee-rebuild-"));
+    }
+
+    @Bean(name = "employeeBulkExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService employeeBulkExecutor(@Value("${employee.api.bulk.parallelism:2}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("employee-bulk-"));
+    }
+
+    /*
+     * Kept apart from the common pool so that large snapshot scans neither queue behind nor starve unrelated parallel
+     * work in the JVM.
+     */
+    @Bean(name = "employeeAggregationPool", destroyMethod = "shutdownNow")
+    public ForkJoinPool employeeAggregationPool(@Value("${employee.api.snapshot.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("employee-aggregate-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                false);
+    }
+
+    /*
+     * Registered here rather than as a component so that controller slice tests, which pick up every Filter bean, do
+     * not need the data version behind it.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.api.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<EncodedResponseCacheFilter> encodedResponseCacheFilter(
+            EmployeeDataVersion dataVersion,
+            @Value("${employee.api.response-cache.full-list.enabled:false}") boolean fullListEnabled,
+            @Value("${employee.api.response-cache.full-list.max-size:16MB}") DataSize fullListMaxSize) {
+        FilterRegistrationBean<EncodedResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new EncodedResponseCacheFilter(dataVersion, fullListEnabled, fullListMaxSize));
+        registration.addUrlPatterns("/api/v1/employee", "/api/v1/employee/*");
+        return registration;
+    }
+
+    private boolean hasReplicas() {
+        return countNonBlank(employeeApiReplicas) > 0;
+    }
+
+    private static long countNonBlank(List<String> urls) {
+        return urls.stream().filter(url -> !url.isBlank()).count();
+    }
+
+    /**
+     * A RestTemplate for one Mock API instance. Every such template goes through {@code upstreamCallScheduler}, when
+     * there is one, so all upstream calls share its queue whichever instance they are sent to.
+     */
+    public static RestTemplate restTemplateFor(
+            RestTemplateBuilder builder, String baseUrl, UpstreamCallScheduler upstreamCallScheduler) {
         RestTemplate restTemplate = builder.build();
-        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(employeeApiBaseUrl));
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(baseUrl));
+        if (upstreamCallScheduler != null) {
+            restTemplate.getInterceptors().add(upstreamCallScheduler);
+        }
         return restTemplate;
     }
+
+    public static ExponentialBackOffPolicy exponentialBackOff(long initialDelayMs, Duration maxDelay) {
+        ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+        backOffPolicy.setInitialInterval(initialDelayMs);
+        backOffPolicy.setMultiplier(2);
+        backOffPolicy.setMaxInterval(maxDelay.toMillis());
+        return backOffPolicy;
+    }
 }
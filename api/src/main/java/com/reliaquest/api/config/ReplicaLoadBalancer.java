@@ -0,0 +1,212 @@
+package com.reliaquest.api.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+/**
+ * Spreads calls to the Mock API over identical replicas. Each request picks the better of two random replicas, scoring
+ * them by outstanding requests times their recent latency, both counted until the response has been read and closed. A replica that answers 429 sits out for as long as its
+ * Retry-After asks (or the configured ejection time) and the request is sent to another replica instead; only when
+ * every replica is rate limited does the 429 reach the caller.
+ */
+@Slf4j
+public class ReplicaLoadBalancer implements ClientHttpRequestInterceptor {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final String baseUrl;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration ejection;
+
+    /**
+     * @param baseUrl the URL requests are built against; its prefix is swapped for the chosen replica's URL
+     * @param replicaUrls base URLs of the replicas, in the same form as {@code baseUrl}
+     * @param ejection how long a rate-limited replica sits out when it does not send Retry-After
+     */
+    public ReplicaLoadBalancer(String baseUrl, List<String> replicaUrls, Duration ejection) {
+        this.baseUrl = stripTrailingSlash(baseUrl);
+        this.ejection = ejection;
+        for (String replicaUrl : replicaUrls) {
+            if (!replicaUrl.isBlank()) {
+                replicas.add(new Replica(stripTrailingSlash(replicaUrl.trim())));
+            }
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica URL is required");
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String uri = request.getURI().toString();
+        if (!uri.startsWith(baseUrl)) {
+            return execution.execute(request, body);
+        }
+
+        String path = uri.substring(baseUrl.length());
+        Replica excluded = null;
+        for (int attempt = 1; ; attempt++) {
+            Replica replica = choose(excluded);
+            ClientHttpResponse response = send(replica, request, path, body, execution);
+            if (response.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return response;
+            }
+
+            replica.eject(ejectionFor(response));
+            log.debug("Replica {} is rate limited, taking it out of rotation", replica.url);
+            // A 429 is rejected before any handler runs, so sending the request elsewhere is safe even for writes
+            if (attempt >= replicas.size() || !hasAvailableReplica()) {
+                return response;
+            }
+            response.close();
+            excluded = replica;
+        }
+    }
+
+    private ClientHttpResponse send(
+            Replica replica, HttpRequest request, String path, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        URI target = URI.create(replica.url + path);
+        HttpRequest routed = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return target;
+            }
+        };
+
+        replica.outstanding.incrementAndGet();
+        long started = System.nanoTime();
+        // The request stays outstanding, and its latency open, until the body has been read and the response closed
+        Runnable release = () -> {
+            replica.outstanding.decrementAndGet();
+            replica.recordLatency(System.nanoTime() - started);
+        };
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(routed, body);
+        } catch (IOException | RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        return new ReleasingClientHttpResponse(response, release);
+    }
+
+    /*
+     * Power of two choices: comparing two random candidates avoids both the herding of always picking the single best
+     * replica and the cost of scanning all of them.
+     */
+    Replica choose(Replica excluded) {
+        long now = System.nanoTime();
+        List<Replica> candidates = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica != excluded && replica.isAvailable(now)) {
+                candidates.add(replica);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return soonestAvailable(excluded);
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Replica a = candidates.get(first);
+        Replica b = candidates.get(second);
+        return a.load() <= b.load() ? a : b;
+    }
+
+    /*
+     * Every replica is sitting out: use the one that comes back first, and the excluded one only if it is alone.
+     */
+    private Replica soonestAvailable(Replica excluded) {
+        Replica soonest = excluded;
+        for (Replica replica : replicas) {
+            if (replica != excluded && (soonest == excluded || replica.ejectedUntil - soonest.ejectedUntil < 0)) {
+                soonest = replica;
+            }
+        }
+        return soonest;
+    }
+
+    private boolean hasAvailableReplica() {
+        long now = System.nanoTime();
+        return replicas.stream().anyMatch(replica -> replica.isAvailable(now));
+    }
+
+    private Duration ejectionFor(ClientHttpResponse response) {
+        String retryAfter = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+            } catch (NumberFormatException ignored) {
+                // HTTP dates are rare here; the configured ejection is close enough
+            }
+        }
+        return ejection;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    static final class Replica {
+
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile double latencyNanos;
+        private volatile long ejectedUntil = Long.MIN_VALUE;
+
+        private Replica(String url) {
+            this.url = url;
+        }
+
+        String url() {
+            return url;
+        }
+
+        int outstanding() {
+            return outstanding.get();
+        }
+
+        /*
+         * Replicas without a latency sample yet score zero, so each one is tried early.
+         */
+        private double load() {
+            return (outstanding.get() + 1) * latencyNanos;
+        }
+
+        private boolean isAvailable(long now) {
+            return ejectedUntil == Long.MIN_VALUE || now - ejectedUntil >= 0;
+        }
+
+        private void eject(Duration duration) {
+            ejectedUntil = System.nanoTime() + duration.toNanos();
+        }
+
+        // Racing updates may drop a sample, which only makes the average slightly staler
+        private void recordLatency(long nanos) {
+            double current = latencyNanos;
+            latencyNanos = current == 0 ? nanos : current + LATENCY_SMOOTHING * (nanos - current);
+        }
+    }
+}
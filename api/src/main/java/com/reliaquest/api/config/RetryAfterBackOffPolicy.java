@@ -0,0 +1,105 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffInterruptedException;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.backoff.ThreadWaitSleeper;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Waits for as long as the Mock API's {@code Retry-After} header asks before retrying. Failures without the header fall
+ * back to the delegate policy, which should not wait longer than the maximum delay either.
+ *
+ * <p>Retrying stops, and the last failure is rethrown, when the server asks for a longer wait than the maximum delay or
+ * when the next wait could take the call past its maximum elapsed time, so that no request holds its thread for much
+ * longer than the client timeouts.
+ */
+@Slf4j
+public class RetryAfterBackOffPolicy implements BackOffPolicy {
+
+    private final BackOffPolicy fallback;
+    private final Duration maxDelay;
+    private final Duration maxElapsed;
+    private final Sleeper sleeper;
+
+    public RetryAfterBackOffPolicy(BackOffPolicy fallback, Duration maxDelay, Duration maxElapsed) {
+        this(fallback, maxDelay, maxElapsed, new ThreadWaitSleeper());
+    }
+
+    RetryAfterBackOffPolicy(BackOffPolicy fallback, Duration maxDelay, Duration maxElapsed, Sleeper sleeper) {
+        this.fallback = fallback;
+        this.maxDelay = maxDelay;
+        this.maxElapsed = maxElapsed;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public BackOffContext start(RetryContext context) {
+        return new RetryAfterContext(context, fallback.start(context), System.nanoTime());
+    }
+
+    @Override
+    public void backOff(BackOffContext backOffContext) throws BackOffInterruptedException {
+        RetryAfterContext context = (RetryAfterContext) backOffContext;
+        Duration retryAfter = retryAfter(context.retryContext().getLastThrowable());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - context.startedAt());
+        Duration delay = retryAfter != null ? retryAfter : maxDelay;
+        if (delay.compareTo(maxDelay) > 0 || elapsed.plus(delay).compareTo(maxElapsed) > 0) {
+            // Ends the retry loop without waiting; the caller sees the last failure straight away
+            log.debug(
+                    "Not retrying: wait of {} ms after {} ms exceeds the retry bounds",
+                    delay.toMillis(),
+                    elapsed.toMillis());
+            context.retryContext().setExhaustedOnly();
+            return;
+        }
+        if (retryAfter == null) {
+            fallback.backOff(context.fallbackContext());
+            return;
+        }
+
+        log.debug("Mock API asked to retry after {} ms", delay.toMillis());
+        try {
+            sleeper.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackOffInterruptedException("Interrupted while honouring Retry-After", e);
+        }
+    }
+
+    /**
+     * Reads {@code Retry-After} as either delta-seconds or an HTTP date; returns {@code null} when absent or invalid.
+     */
+    static Duration retryAfter(Throwable failure) {
+        if (!(failure instanceof RestClientResponseException responseException)
+                || responseException.getResponseHeaders() == null) {
+            return null;
+        }
+        String value = responseException.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration untilDate = Duration.between(
+                        ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return untilDate.isNegative() ? Duration.ZERO : untilDate;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private record RetryAfterContext(RetryContext retryContext, BackOffContext fallbackContext, long startedAt)
+            implements BackOffContext {}
+}
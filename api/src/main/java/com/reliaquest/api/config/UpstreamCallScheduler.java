@@ -0,0 +1,339 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.exception.UpstreamCallDroppedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Puts every call to the Mock API through one queue, so that background work cannot crowd out the calls users are
+ * waiting on. At most {@code maxConcurrency} calls are outstanding at once, each holding its slot until its response
+ * is closed. Waiting calls are served by weighted fair queuing across the {@link Priority} classes: each class gets
+ * slots in proportion to its weight while it has calls waiting, and a class's calls go in arrival order.
+ *
+ * <p>A call that has waited longer than its class's max wait, or whose thread is interrupted because its caller gave
+ * up, leaves the queue with {@link UpstreamCallDroppedException} instead of being sent for nobody. When
+ * {@code followRateLimit} is set, a response reporting {@code RateLimit-Remaining: 0} or a 429 holds the queue until
+ * the budget resets, so the calls that go first afterwards are the most important ones.
+ *
+ * <p>Per class, tagged {@code priority}: gauges {@code employee.upstream.queue.depth} and
+ * {@code employee.upstream.in-flight}, timer {@code employee.upstream.queue.wait} and counter
+ * {@code employee.upstream.dropped}.
+ */
+@Slf4j
+public class UpstreamCallScheduler implements ClientHttpRequestInterceptor {
+
+    public enum Priority {
+        INTERACTIVE,
+        WRITE,
+        BACKGROUND
+    }
+
+    public record ClassPolicy(int weight, Duration maxWait) {}
+
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final long VIRTUAL_TIME_PER_CALL = 1L << 20;
+    private static final ThreadLocal<Priority> CURRENT_PRIORITY = new ThreadLocal<>();
+
+    private final boolean followRateLimit;
+    private final Duration maxPause;
+    private final Map<Priority, Lane> lanes = new EnumMap<>(Priority.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // Guarded by lock
+    private int available;
+    private long virtualTime;
+    private long pausedUntil = System.nanoTime();
+
+    /**
+     * @param maxConcurrency how many calls may be outstanding at once
+     * @param policies weight and max wait of every priority class
+     * @param followRateLimit whether to hold the queue while the Mock API reports its rate budget spent
+     * @param maxPause the longest such a hold may last
+     */
+    public UpstreamCallScheduler(
+            int maxConcurrency,
+            Map<Priority, ClassPolicy> policies,
+            boolean followRateLimit,
+            Duration maxPause,
+            MeterRegistry meterRegistry) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Upstream max concurrency must be at least 1");
+        }
+        this.available = maxConcurrency;
+        this.followRateLimit = followRateLimit;
+        this.maxPause = maxPause;
+        for (Priority priority : Priority.values()) {
+            ClassPolicy policy = policies.get(priority);
+            if (policy == null || policy.weight() < 1) {
+                throw new IllegalArgumentException("Upstream priority " + priority + " needs a weight of at least 1");
+            }
+            lanes.put(priority, new Lane(priority, policy, meterRegistry));
+        }
+    }
+
+    /**
+     * Runs {@code call} with every Mock API call it makes on this thread sent as {@code priority}. A {@code null}
+     * priority leaves calls classified by method: reads are interactive, everything else a write.
+     */
+    public static <T> T callAs(Priority priority, Supplier<T> call) {
+        Priority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(priority);
+        try {
+            return call.get();
+        } finally {
+            CURRENT_PRIORITY.set(previous);
+        }
+    }
+
+    /**
+     * The priority set by an enclosing {@link #callAs} on this thread, or {@code null}; for handing work to a pool.
+     */
+    public static Priority currentPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Lane lane = acquire(priorityOf(request));
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (followRateLimit) {
+                observeBudget(response);
+            }
+            return new ReleasingClientHttpResponse(response, () -> release(lane));
+        } catch (IOException | RuntimeException e) {
+            release(lane);
+            throw e;
+        }
+    }
+
+    static Priority priorityOf(HttpRequest request) {
+        Priority priority = CURRENT_PRIORITY.get();
+        if (priority != null) {
+            return priority;
+        }
+        HttpMethod method = request.getMethod();
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) ? Priority.INTERACTIVE : Priority.WRITE;
+    }
+
+    private Lane acquire(Priority priority) {
+        Lane lane = lanes.get(priority);
+        long enqueued = System.nanoTime();
+        Waiter waiter = new Waiter(enqueued + lane.maxWaitNanos);
+        lock.lock();
+        try {
+            enqueue(lane, waiter);
+            dispatch(enqueued);
+            while (!waiter.granted) {
+                long now = System.nanoTime();
+                if (!waiter.dropped && now - waiter.deadline >= 0) {
+                    drop(lane, waiter);
+                }
+                if (waiter.dropped) {
+                    throw new UpstreamCallDroppedException("Upstream call dropped after waiting "
+                            + TimeUnit.NANOSECONDS.toMillis(now - enqueued) + " ms in the " + lane.tag + " queue");
+                }
+                long wait = waiter.deadline - now;
+                if (pausedUntil - now > 0) {
+                    wait = Math.min(wait, pausedUntil - now);
+                }
+                try {
+                    changed.awaitNanos(wait);
+                } catch (InterruptedException e) {
+                    if (waiter.granted) {
+                        releaseLocked(lane);
+                    } else if (!waiter.dropped) {
+                        drop(lane, waiter);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new UpstreamCallDroppedException("Upstream call dropped, its caller stopped waiting");
+                }
+                dispatch(System.nanoTime());
+            }
+        } finally {
+            lock.unlock();
+        }
+        lane.waitTimer.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+        return lane;
+    }
+
+    private void release(Lane lane) {
+        lock.lock();
+        try {
+            releaseLocked(lane);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked(Lane lane) {
+        available++;
+        lane.inFlight.decrementAndGet();
+        dispatch(System.nanoTime());
+    }
+
+    /*
+     * A class that starts waiting is stamped one call's worth of its own virtual time after the current virtual time,
+     * and keeps adding that much per call served; the waiting class with the earliest stamp goes next. A heavy class
+     * advances slowly, so it is served often, and an idle class cannot save up credit to burst with later.
+     */
+    private void enqueue(Lane lane, Waiter waiter) {
+        if (lane.waiters.isEmpty()) {
+            lane.finish = Math.max(lane.finish, virtualTime) + lane.stride;
+        }
+        lane.waiters.add(waiter);
+        lane.depth.incrementAndGet();
+    }
+
+    private void dispatch(long now) {
+        boolean signal = false;
+        while (available > 0 && pausedUntil - now <= 0) {
+            Lane next = null;
+            for (Lane lane : lanes.values()) {
+                if (!lane.waiters.isEmpty() && (next == null || lane.finish < next.finish)) {
+                    next = lane;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            Waiter waiter = next.waiters.peek();
+            signal = true;
+            if (now - waiter.deadline >= 0) {
+                drop(next, waiter);
+                continue;
+            }
+            next.waiters.poll();
+            next.depth.decrementAndGet();
+            waiter.granted = true;
+            available--;
+            next.inFlight.incrementAndGet();
+            virtualTime = next.finish;
+            if (!next.waiters.isEmpty()) {
+                next.finish += next.stride;
+            }
+        }
+        if (signal) {
+            changed.signalAll();
+        }
+    }
+
+    private void drop(Lane lane, Waiter waiter) {
+        if (lane.waiters.remove(waiter)) {
+            lane.depth.decrementAndGet();
+        }
+        waiter.dropped = true;
+        lane.dropped.increment();
+    }
+
+    private void observeBudget(ClientHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        String pause = null;
+        if (isTooManyRequests(response)) {
+            pause = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        } else if ("0".equals(trim(headers.getFirst(REMAINING_HEADER)))) {
+            pause = headers.getFirst(RESET_HEADER);
+        }
+        if (pause == null) {
+            return;
+        }
+        try {
+            long pauseNanos = Math.min(TimeUnit.SECONDS.toNanos(Long.parseLong(pause.trim())), maxPause.toNanos());
+            long resumeAt = System.nanoTime() + pauseNanos;
+            lock.lock();
+            try {
+                if (resumeAt - pausedUntil > 0) {
+                    pausedUntil = resumeAt;
+                    log.debug("Rate budget spent, holding the upstream queue for {} ms", pauseNanos / 1_000_000);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring rate limit pause that is not in seconds: {}", pause);
+        }
+    }
+
+    private static boolean isTooManyRequests(ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static final class Lane {
+        private final String tag;
+        private final long stride;
+        private final long maxWaitNanos;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Counter dropped;
+        private long finish;
+
+        private Lane(Priority priority, ClassPolicy policy, MeterRegistry meterRegistry) {
+            this.tag = priority.name().toLowerCase(Locale.ROOT);
+            this.stride = VIRTUAL_TIME_PER_CALL / policy.weight();
+            this.maxWaitNanos = policy.maxWait().toNanos();
+            Gauge.builder("employee.upstream.queue.depth", depth, AtomicInteger::get)
+                    .tag("priority", tag)
+                    .description("Mock API calls waiting for a slot")
+                    .register(meterRegistry);
+            Gauge.builder("employee.upstream.in-flight", inFlight, AtomicInteger::get)
+                    .tag("priority", tag)
+                    .description("Mock API calls holding a slot")
+                    .register(meterRegistry);
+            this.waitTimer = Timer.builder("employee.upstream.queue.wait")
+                    .tag("priority", tag)
+                    .description("Time Mock API calls spent waiting for a slot")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("employee.upstream.dropped")
+                    .tag("priority", tag)
+                    .description("Mock API calls dropped from the queue before they were sent")
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class Waiter {
+        private final long deadline;
+        private boolean granted;
+        private boolean dropped;
+
+        private Waiter(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
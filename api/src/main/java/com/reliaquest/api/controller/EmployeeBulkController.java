@@ -0,0 +1,47 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.BulkItemResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/employee/bulk")
+public class EmployeeBulkController {
+
+    private final EmployeeService employeeService;
+
+    public EmployeeBulkController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Creates every employee in the body. The response holds, in the same order, either the created employee or the
+     * reason it was not created, so one invalid item does not stop the rest.
+     */
+    @PostMapping
+    public ResponseEntity<List<BulkItemResult<Employee>>> createEmployees(
+            @RequestBody List<EmployeeInput> employeeInputs) {
+        log.debug("POST /api/v1/employee/bulk - createEmployees: {} employees", employeeInputs.size());
+        return ResponseEntity.ok(employeeService.createEmployees(employeeInputs));
+    }
+
+    /**
+     * Deletes the employees with the ids in the body. The response holds, in the same order, either the deleted
+     * employee's name or the reason it was not deleted.
+     */
+    @DeleteMapping
+    public ResponseEntity<List<BulkItemResult<String>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        log.debug("DELETE /api/v1/employee/bulk - deleteEmployeesById: {} employees", ids.size());
+        return ResponseEntity.ok(employeeService.deleteEmployeesById(ids));
+    }
+}
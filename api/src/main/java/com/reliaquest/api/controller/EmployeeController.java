@@ -1,12 +1,19 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.service.EmployeeService;
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -15,9 +22,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class EmployeeController implements IEmployeeController<Employee, EmployeeInput> {
 
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -27,6 +36,26 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ResponseEntity.ok(employees);
     }
 
+    /**
+     * The full list with only the fields named in {@code fields}, for example {@code ?fields=id,name}. Unknown field
+     * names are rejected with a 400.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<byte[]> getAllEmployees(@RequestParam("fields") String fields) throws IOException {
+        log.debug("GET /api/v1/employee?fields={} - getAllEmployees", fields);
+        Set<EmployeeField> projection;
+        try {
+            projection = EmployeeField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected projection: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        List<Employee> employees = employeeService.getAllEmployees(projection);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(EmployeeProjectionWriter.write(objectMapper.getFactory(), employees, projection));
+    }
+
     @Override
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
         log.debug("GET /api/v1/employee/search/{} - getEmployeesByNameSearch", searchString);
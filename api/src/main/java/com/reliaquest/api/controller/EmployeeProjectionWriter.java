@@ -0,0 +1,67 @@
+package com.reliaquest.api.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a projected employee list as a JSON array with a streaming generator, field by field, so neither a map per
+ * employee nor a projected copy of the list is built. Field names are encoded once up front, and a missing value is
+ * written as {@code null} just as the full list has it.
+ */
+final class EmployeeProjectionWriter {
+
+    private static final SerializableString[] NAMES = new SerializableString[EmployeeField.values().length];
+
+    static {
+        for (EmployeeField field : EmployeeField.values()) {
+            NAMES[field.ordinal()] = new SerializedString(field.getJsonName());
+        }
+    }
+
+    private EmployeeProjectionWriter() {}
+
+    static byte[] write(JsonFactory factory, List<Employee> employees, Set<EmployeeField> fields) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(employees.size() * 24 * fields.size(), 64));
+        try (JsonGenerator json = factory.createGenerator(out)) {
+            json.writeStartArray();
+            for (Employee employee : employees) {
+                json.writeStartObject();
+                for (EmployeeField field : fields) {
+                    json.writeFieldName(NAMES[field.ordinal()]);
+                    writeValue(json, employee, field);
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeValue(JsonGenerator json, Employee employee, EmployeeField field) throws IOException {
+        switch (field) {
+            case ID -> json.writeString(
+                    employee.getId() != null ? employee.getId().toString() : null);
+            case NAME -> json.writeString(employee.getName());
+            case SALARY -> writeNumber(json, employee.getSalary());
+            case AGE -> writeNumber(json, employee.getAge());
+            case TITLE -> json.writeString(employee.getTitle());
+            case EMAIL -> json.writeString(employee.getEmail());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator json, Integer value) throws IOException {
+        if (value != null) {
+            json.writeNumber(value);
+        } else {
+            json.writeNull();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeTypeahead.Ranking;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/employee/typeahead")
+public class EmployeeTypeaheadController {
+
+    private final EmployeeService employeeService;
+
+    public EmployeeTypeaheadController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Returns up to {@code limit} employee names with a first, middle or last name starting with {@code prefix},
+     * ignoring case, ranked by {@code rankBy} ({@code salary} or {@code name}) or the configured default.
+     */
+    @GetMapping
+    public ResponseEntity<List<String>> getNameCompletions(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String rankBy) {
+        log.debug("GET /api/v1/employee/typeahead?prefix={} - getNameCompletions", prefix);
+        Ranking ranking;
+        try {
+            ranking = rankBy != null ? Ranking.valueOf(rankBy.toUpperCase(Locale.ROOT)) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.getNameCompletions(prefix, limit, ranking));
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.service.EmployeeDataVersion;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves the aggregate endpoints, and optionally the full list, from response bodies encoded once per
+ * {@link EmployeeDataVersion}. The first request after the version moves goes through the controller as usual and its
+ * body is kept; later requests are answered from those bytes without dispatching, and clients presenting the matching
+ * {@code ETag} get a 304. The ETag is derived from the body, so an aggregate that did not change across versions keeps
+ * validating.
+ *
+ * <p>The full list body grows with the employee count and stays on the heap for as long as the version holds, so it is
+ * only kept when enabled and no larger than the configured ceiling.
+ */
+@Slf4j
+public class EncodedResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String FULL_LIST_PATH = "/api/v1/employee";
+    static final Set<String> AGGREGATE_PATHS =
+            Set.of("/api/v1/employee/highestSalary", "/api/v1/employee/topTenHighestEarningEmployeeNames");
+
+    private final EmployeeDataVersion dataVersion;
+    private final boolean fullListEnabled;
+    private final long fullListMaxBytes;
+    private final Map<String, EncodedBody> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * @param fullListEnabled also keep the full list body
+     * @param fullListMaxSize largest full list body that is kept; larger ones are served by the controller every time
+     */
+    public EncodedResponseCacheFilter(
+            EmployeeDataVersion dataVersion, boolean fullListEnabled, DataSize fullListMaxSize) {
+        this.dataVersion = dataVersion;
+        this.fullListEnabled = fullListEnabled;
+        this.fullListMaxBytes = fullListMaxSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !(AGGREGATE_PATHS.contains(path) || (fullListEnabled && FULL_LIST_PATH.equals(path)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        long version = dataVersion.current();
+        EncodedBody cached = bodies.get(path);
+        if (cached != null && cached.version() == version) {
+            write(cached, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, recorder);
+        if (recorder.getStatus() == HttpStatus.OK.value() && keeps(path, recorder.getContentSize())) {
+            EncodedBody encoded = EncodedBody.of(version, recorder.getContentAsByteArray());
+            bodies.put(path, encoded);
+            response.setHeader(HttpHeaders.ETAG, encoded.etag());
+            log.debug("Encoded {} at data version {} ({} bytes)", path, version, encoded.body().length);
+        } else if (cached != null) {
+            // A stale body is never served again, so it should not stay on the heap either
+            bodies.remove(path, cached);
+        }
+        recorder.copyBodyToResponse();
+    }
+
+    private boolean keeps(String path, int size) {
+        return !FULL_LIST_PATH.equals(path) || size <= fullListMaxBytes;
+    }
+
+    private static void write(EncodedBody cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(cached.etag()) || "*".equals(ifNoneMatch.trim()))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    record EncodedBody(long version, byte[] body, String etag) {
+
+        static EncodedBody of(long version, byte[] body) {
+            CRC32C checksum = new CRC32C();
+            checksum.update(body);
+            return new EncodedBody(
+                    version, body, "\"" + Long.toHexString(checksum.getValue()) + "-" + body.length + "\"");
+        }
+    }
+}
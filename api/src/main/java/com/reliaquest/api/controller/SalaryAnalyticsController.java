@@ -0,0 +1,62 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.SalaryHistogramBucket;
+import com.reliaquest.api.model.TitleSalaryStatistics;
+import com.reliaquest.api.service.EmployeeService;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/employee/analytics")
+public class SalaryAnalyticsController {
+
+    private final EmployeeService employeeService;
+
+    public SalaryAnalyticsController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Returns estimated salary percentiles keyed as {@code p50}, {@code p99.9} and so on, in the order asked for.
+     * Percentiles are given between 0 and 100.
+     */
+    @GetMapping("/salary/percentiles")
+    public ResponseEntity<Map<String, Integer>> getSalaryPercentiles(
+            @RequestParam(name = "p", defaultValue = "50,90,99") List<Double> percentiles) {
+        log.debug("GET /api/v1/employee/analytics/salary/percentiles - {}", percentiles);
+        if (percentiles.isEmpty() || percentiles.stream().anyMatch(p -> p == null || !(p >= 0 && p <= 100))) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Integer> salaries = employeeService.getSalaryPercentiles(
+                percentiles.stream().map(p -> p / 100).toList());
+
+        Map<String, Integer> body = new LinkedHashMap<>();
+        for (int i = 0; i < percentiles.size(); i++) {
+            String key =
+                    BigDecimal.valueOf(percentiles.get(i)).stripTrailingZeros().toPlainString();
+            body.put("p" + key, salaries.get(i));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/salary/histogram")
+    public ResponseEntity<List<SalaryHistogramBucket>> getSalaryHistogram() {
+        log.debug("GET /api/v1/employee/analytics/salary/histogram");
+        return ResponseEntity.ok(employeeService.getSalaryHistogram());
+    }
+
+    @GetMapping("/titles")
+    public ResponseEntity<List<TitleSalaryStatistics>> getTitleStatistics() {
+        log.debug("GET /api/v1/employee/analytics/titles");
+        return ResponseEntity.ok(employeeService.getTitleStatistics());
+    }
+}
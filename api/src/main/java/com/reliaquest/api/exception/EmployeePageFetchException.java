@@ -0,0 +1,14 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * A page of the employee list that still failed after its own retries. It is deliberately not a rate-limit error, so
+ * the retry around the service call does not start the whole paged download over.
+ */
+public class EmployeePageFetchException extends RestClientException {
+
+    public EmployeePageFetchException(long cursor, Throwable cause) {
+        super("Failed to fetch employee page after cursor " + cursor, cause);
+    }
+}
@@ -3,6 +3,7 @@ package com.reliaquest.api.exception;
 import com.reliaquest.api.model.Response;
 import com.reliaquest.api.model.Status;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -19,6 +20,25 @@ public class RestExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, "Employee not found");
     }
 
+    /*
+     * Reached once retrying gave up, because the Mock API asked for a longer wait than a request may sleep; the client
+     * is told to come back when the Mock API said it would take requests again.
+     */
+    @ExceptionHandler(HttpClientErrorException.TooManyRequests.class)
+    public ResponseEntity<Response<Void>> handleTooManyRequestsException(HttpClientErrorException.TooManyRequests ex) {
+        log.warn("Mock API still rate limited after retrying: {}", ex.getMessage());
+        ResponseEntity<Response<Void>> response =
+                buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Mock API is busy, try again later");
+        String retryAfter =
+                ex.getResponseHeaders() != null ? ex.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter == null) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(HttpClientErrorException.class)
     public ResponseEntity<Response<Void>> handleHttpClientErrorException(HttpClientErrorException ex) {
         HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
@@ -26,6 +46,18 @@ public class RestExceptionHandler {
         return buildErrorResponse(status, ex.getMessage());
     }
 
+    @ExceptionHandler(UpstreamCallDroppedException.class)
+    public ResponseEntity<Response<Void>> handleUpstreamCallDroppedException(UpstreamCallDroppedException ex) {
+        log.warn("Mock API call not sent: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Mock API is busy, try again later");
+    }
+
+    @ExceptionHandler(EmployeePageFetchException.class)
+    public ResponseEntity<Response<Void>> handleEmployeePageFetchException(EmployeePageFetchException ex) {
+        log.error("Employee list download failed: {}", ex.getMessage(), ex.getCause());
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Mock API is busy, try again later");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Response<Void>> handleGenericException(Exception ex) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
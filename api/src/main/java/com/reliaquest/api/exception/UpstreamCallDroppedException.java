@@ -0,0 +1,14 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * A call to the Mock API that was taken out of the upstream queue before it was sent, because it waited longer than
+ * its priority allows or its caller stopped waiting for it.
+ */
+public class UpstreamCallDroppedException extends RestClientException {
+
+    public UpstreamCallDroppedException(String message) {
+        super(message);
+    }
+}
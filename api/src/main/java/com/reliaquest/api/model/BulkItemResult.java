@@ -0,0 +1,26 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk request, at the same position as the item: either {@code data} or {@code error}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult<T> {
+    private T data;
+    private String error;
+
+    public static <T> BulkItemResult<T> of(T data) {
+        return new BulkItemResult<>(data, null);
+    }
+
+    public static <T> BulkItemResult<T> failed(String error) {
+        return new BulkItemResult<>(null, error);
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An employee field that a list can be projected to with {@code fields=}. Fields are named as in the JSON
+ * ({@code employee_name}) or without the prefix ({@code name}), and always written in declaration order.
+ */
+public enum EmployeeField {
+    ID("id"),
+    NAME("employee_name"),
+    SALARY("employee_salary"),
+    AGE("employee_age"),
+    TITLE("employee_title"),
+    EMAIL("employee_email");
+
+    public static final Set<EmployeeField> ALL = Collections.unmodifiableSet(EnumSet.allOf(EmployeeField.class));
+
+    private final String jsonName;
+
+    EmployeeField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated field list such as {@code id,name}.
+     *
+     * @throws IllegalArgumentException if a name is unknown or no field is given
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        Set<EmployeeField> parsed = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                parsed.add(named(trimmed));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("No employee fields given");
+        }
+        return parsed;
+    }
+
+    /**
+     * Formats fields the way {@link #parse} reads them, for passing a projection on to the Mock API.
+     */
+    public static String format(Set<EmployeeField> fields) {
+        return fields.stream()
+                .map(field -> field.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(","));
+    }
+
+    private static EmployeeField named(String name) {
+        for (EmployeeField field : values()) {
+            if (field.jsonName.equals(name)
+                    || field.name().toLowerCase(Locale.ROOT).equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown employee field: " + name);
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.model;
+
+import lombok.Value;
+
+/**
+ * Number of employees whose salary is at least {@code from} and below {@code to}.
+ */
+@Value
+public class SalaryHistogramBucket {
+    int from;
+    int to;
+    long count;
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.api.model;
+
+import lombok.Value;
+
+@Value
+public class TitleSalaryStatistics {
+    String title;
+    long count;
+    double averageSalary;
+    int maxSalary;
+}
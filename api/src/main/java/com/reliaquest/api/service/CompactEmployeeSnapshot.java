@@ -0,0 +1,148 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An on-heap {@link EmployeeSnapshot} stored column by column. Ids are kept as two longs, salary and age as
+ * primitives, titles as codes into a dictionary (Datafaker draws them from a small pool) and emails without their
+ * most common domain suffix. A missing id is stored as the nil UUID and a missing title as {@code -1}.
+ */
+final class CompactEmployeeSnapshot extends EmployeeSnapshot {
+
+    private static final int NO_TITLE = -1;
+
+    private final int size;
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final String[] names;
+    private final int[] salaries;
+    private final int[] ages;
+    private final String[] titleDictionary;
+    private final int[] titleCodes;
+    private final String emailSuffix;
+    private final String[] emails;
+    private final BitSet unsuffixedEmails;
+
+    CompactEmployeeSnapshot(List<Employee> employees) {
+        size = employees.size();
+        idHigh = new long[size];
+        idLow = new long[size];
+        names = new String[size];
+        salaries = new int[size];
+        ages = new int[size];
+        titleCodes = new int[size];
+        emails = new String[size];
+        unsuffixedEmails = new BitSet();
+        emailSuffix = mostCommonEmailSuffix(employees);
+
+        Map<String, Integer> titleIndex = new HashMap<>();
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            if (employee.getId() != null) {
+                idHigh[i] = employee.getId().getMostSignificantBits();
+                idLow[i] = employee.getId().getLeastSignificantBits();
+            }
+            names[i] = employee.getName();
+            salaries[i] = employee.getSalary() != null ? employee.getSalary() : MISSING;
+            ages[i] = employee.getAge() != null ? employee.getAge() : MISSING;
+            titleCodes[i] = employee.getTitle() != null
+                    ? titleIndex.computeIfAbsent(employee.getTitle(), title -> {
+                        titles.add(title);
+                        return titles.size() - 1;
+                    })
+                    : NO_TITLE;
+
+            String email = employee.getEmail();
+            if (email != null && emailSuffix != null && email.endsWith(emailSuffix)) {
+                emails[i] = email.substring(0, email.length() - emailSuffix.length());
+            } else {
+                emails[i] = email;
+                unsuffixedEmails.set(i);
+            }
+        }
+        titleDictionary = titles.toArray(String[]::new);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Employee employee(int index, Set<EmployeeField> fields) {
+        Employee.EmployeeBuilder employee = Employee.builder();
+        if (fields.contains(EmployeeField.ID) && (idHigh[index] != 0 || idLow[index] != 0)) {
+            employee.id(new UUID(idHigh[index], idLow[index]));
+        }
+        if (fields.contains(EmployeeField.NAME)) {
+            employee.name(names[index]);
+        }
+        if (fields.contains(EmployeeField.SALARY) && salaries[index] != MISSING) {
+            employee.salary(salaries[index]);
+        }
+        if (fields.contains(EmployeeField.AGE) && ages[index] != MISSING) {
+            employee.age(ages[index]);
+        }
+        if (fields.contains(EmployeeField.TITLE) && titleCodes[index] != NO_TITLE) {
+            employee.title(titleDictionary[titleCodes[index]]);
+        }
+        if (fields.contains(EmployeeField.EMAIL)) {
+            employee.email(unsuffixedEmails.get(index) ? emails[index] : emails[index] + emailSuffix);
+        }
+        return employee.build();
+    }
+
+    @Override
+    int salary(int index) {
+        return salaries[index];
+    }
+
+    @Override
+    boolean hasName(int index) {
+        return names[index] != null;
+    }
+
+    @Override
+    List<Employee> searchByName(String normalizedSearch, int from, int to) {
+        List<Employee> matchingEmployees = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (names[i] != null && names[i].toLowerCase(Locale.ROOT).contains(normalizedSearch)) {
+                matchingEmployees.add(employee(i));
+            }
+        }
+        return matchingEmployees;
+    }
+
+    @Override
+    int titleDictionarySize() {
+        return titleDictionary.length;
+    }
+
+    /*
+     * Datafaker emails all end in the same company domain; whichever "@domain" is most common is stored once.
+     */
+    private static String mostCommonEmailSuffix(List<Employee> employees) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Employee employee : employees) {
+            String email = employee.getEmail();
+            int at = email != null ? email.lastIndexOf('@') : -1;
+            if (at >= 0) {
+                counts.merge(email.substring(at), 1, Integer::sum);
+            }
+        }
+        return counts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
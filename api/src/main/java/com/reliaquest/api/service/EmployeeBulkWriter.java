@@ -0,0 +1,189 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.config.AppConfig;
+import com.reliaquest.api.config.RetryAfterBackOffPolicy;
+import com.reliaquest.api.config.UpstreamCallScheduler;
+import com.reliaquest.api.model.BulkItemResult;
+import com.reliaquest.api.model.Response;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Sends large batches of creates or deletes to the Mock API in chunks.
+ *
+ * <p>Up to {@code parallelism} chunks are in flight at once and their results are collected in order. When a response
+ * reports through its {@code RateLimit-*} headers that the rate budget is spent, no further chunk is sent until the
+ * budget resets; a chunk that is still rejected with 429 is retried after the server's Retry-After. Nothing else is
+ * retried, since a create that failed half way may already have been applied. A chunk that fails for good is
+ * reported as failed for each of its items, while the chunks around it are kept.
+ */
+@Slf4j
+@Component
+public class EmployeeBulkWriter {
+
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration maxDelay;
+    private final RetryTemplate chunkRetryTemplate;
+
+    /*
+     * System.nanoTime() before which no further chunk is sent.
+     */
+    private final AtomicLong pausedUntil = new AtomicLong(System.nanoTime());
+
+    public EmployeeBulkWriter(
+            @Qualifier("employeeBulkExecutor") ExecutorService executor,
+            @Value("${employee.api.bulk.chunk-size:1000}") int chunkSize,
+            @Value("${employee.api.bulk.parallelism:2}") int parallelism,
+            @Value("${employee.api.bulk.retry.max-attempts:5}") int retryAttempts,
+            @Value("${employee.api.bulk.retry.delay-ms:5000}") long retryDelayMs,
+            @Value("${employee.api.retry.max-delay:PT10S}") Duration maxDelay,
+            @Value("${employee.api.retry.max-elapsed:PT30S}") Duration maxElapsed) {
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxDelay = maxDelay;
+        this.chunkRetryTemplate = RetryTemplate.builder()
+                .maxAttempts(retryAttempts)
+                .customBackoff(new RetryAfterBackOffPolicy(
+                        AppConfig.exponentialBackOff(retryDelayMs, maxDelay), maxDelay, maxElapsed))
+                .retryOn(HttpClientErrorException.TooManyRequests.class)
+                .build();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sends {@code items} through {@code send} in chunks of at most {@code size} and returns one result per item, in
+     * the order of {@code items}. {@code send} must return a result for every item of the chunk it is given.
+     */
+    public <I, R> List<BulkItemResult<R>> write(
+            List<I> items, int size, Function<List<I>, ResponseEntity<Response<List<BulkItemResult<R>>>>> send) {
+        List<BulkItemResult<R>> results = new ArrayList<>(items.size());
+        Deque<Future<List<BulkItemResult<R>>>> inFlight = new ArrayDeque<>(parallelism);
+        int next = 0;
+        UpstreamCallScheduler.Priority priority = UpstreamCallScheduler.currentPriority();
+        try {
+            while (next < items.size() || !inFlight.isEmpty()) {
+                while (next < items.size() && inFlight.size() < parallelism) {
+                    awaitBudget();
+                    List<I> chunk = items.subList(next, Math.min(next + size, items.size()));
+                    inFlight.add(executor.submit(
+                            () -> UpstreamCallScheduler.callAs(priority, () -> sendChunk(chunk, send))));
+                    next += chunk.size();
+                }
+                results.addAll(await(inFlight.poll()));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    /**
+     * Wraps the result of a single-item call, for Mock APIs without bulk endpoints that get one item per request.
+     */
+    public static <R> ResponseEntity<Response<List<BulkItemResult<R>>>> single(BulkItemResult<R> result) {
+        Response<List<BulkItemResult<R>>> response = new Response<>();
+        response.setData(List.of(result));
+        return ResponseEntity.ok(response);
+    }
+
+    private <I, R> List<BulkItemResult<R>> sendChunk(
+            List<I> chunk, Function<List<I>, ResponseEntity<Response<List<BulkItemResult<R>>>>> send) {
+        try {
+            ResponseEntity<Response<List<BulkItemResult<R>>>> response = chunkRetryTemplate.execute(context -> {
+                if (context.getRetryCount() > 0) {
+                    log.warn("Retrying bulk chunk of {} items (attempt {})", chunk.size(), context.getRetryCount() + 1);
+                }
+                return send.apply(chunk);
+            });
+            observeBudget(response.getHeaders());
+            List<BulkItemResult<R>> results =
+                    response.getBody() != null ? response.getBody().getData() : null;
+            if (results == null || results.size() != chunk.size()) {
+                return failed(chunk.size(), "Mock API did not report a result for this item");
+            }
+            return results;
+        } catch (RuntimeException e) {
+            log.warn("Bulk chunk of {} items failed: {}", chunk.size(), e.getMessage());
+            return failed(
+                    chunk.size(),
+                    Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName()));
+        }
+    }
+
+    private void observeBudget(HttpHeaders headers) {
+        String remaining = headers.getFirst(REMAINING_HEADER);
+        String reset = headers.getFirst(RESET_HEADER);
+        if (remaining == null || reset == null) {
+            return;
+        }
+        try {
+            if (Long.parseLong(remaining.trim()) <= 0) {
+                long resumeAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.parseLong(reset.trim()));
+                pausedUntil.accumulateAndGet(
+                        resumeAt, (current, candidate) -> candidate - current > 0 ? candidate : current);
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed rate limit headers: remaining {}, reset {}", remaining, reset);
+        }
+    }
+
+    private void awaitBudget() {
+        long wait = Math.min(pausedUntil.get() - System.nanoTime(), maxDelay.toNanos());
+        if (wait <= 0) {
+            return;
+        }
+        log.debug("Rate budget spent, sending the next bulk chunk in {} ms", TimeUnit.NANOSECONDS.toMillis(wait));
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the rate budget", e);
+        }
+    }
+
+    private static <R> List<BulkItemResult<R>> failed(int size, String error) {
+        return Collections.nCopies(size, BulkItemResult.failed(error));
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending bulk chunks", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to send bulk chunk", e.getCause());
+        }
+    }
+}
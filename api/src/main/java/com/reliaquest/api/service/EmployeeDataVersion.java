@@ -0,0 +1,123 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Response;
+import com.reliaquest.api.service.UpstreamCapabilities.QueryCapability;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * A local version number for the employee data, used to tag anything derived from it. It moves on every create or
+ * delete made through this service and, at most once per refresh interval, when the Mock API reports changes made by
+ * someone else. A failed read of the upstream version leaves it where it is. Servers that do not advertise their data
+ * version are assumed to change every interval.
+ */
+@Slf4j
+@Component
+public class EmployeeDataVersion {
+
+    private final RestTemplate restTemplate;
+    private final UpstreamCapabilities capabilities;
+    private final EmployeeShards shards;
+    private final long refreshIntervalNanos;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong localChanges = new AtomicLong();
+    private volatile long upstreamVersion = -1;
+    private volatile long refreshAfter = System.nanoTime();
+
+    public EmployeeDataVersion(
+            @Qualifier("employeeRestTemplate") RestTemplate restTemplate,
+            UpstreamCapabilities capabilities,
+            EmployeeShards shards,
+            @Value("${employee.api.data-version.refresh-interval:PT5S}") Duration refreshInterval) {
+        this.restTemplate = restTemplate;
+        this.capabilities = capabilities;
+        this.shards = shards;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    public long current() {
+        if (System.nanoTime() - refreshAfter >= 0) {
+            refresh();
+        }
+        return version.get();
+    }
+
+    /**
+     * Records a create or delete made through this service and returns the new version.
+     */
+    public long changed() {
+        localChanges.incrementAndGet();
+        return version.incrementAndGet();
+    }
+
+    private synchronized void refresh() {
+        long now = System.nanoTime();
+        if (now - refreshAfter < 0) {
+            return;
+        }
+
+        refreshAfter = now + refreshIntervalNanos;
+        if (!capabilities.supports(QueryCapability.DATA_VERSION)) {
+            // Nothing tells us whether the data changed, so assume it did
+            localChanges.set(0);
+            upstreamVersion = -1;
+            long next = version.incrementAndGet();
+            log.debug("Employee data version moved to {} (upstream has no data version)", next);
+            return;
+        }
+
+        Long observed = null;
+        try {
+            observed = fetchUpstreamVersion();
+        } catch (RestClientException e) {
+            log.warn("Failed to read Mock API data version: {}", e.getMessage());
+        }
+        if (observed == null) {
+            // A failed read says nothing about the data, and moving the version would throw away every derived view
+            // just when the upstream budget is spent; local changes are kept for the next successful read
+            return;
+        }
+
+        // The server counts our own changes too; only a difference beyond them means someone else changed the data
+        long ownChanges = localChanges.getAndSet(0);
+        if (upstreamVersion < 0 || observed != upstreamVersion + ownChanges) {
+            long next = version.incrementAndGet();
+            log.debug("Employee data version moved to {} (upstream {})", next, observed);
+        }
+        upstreamVersion = observed;
+    }
+
+    /*
+     * Null when any upstream answered without a version, which refresh() treats like a failed read.
+     */
+    private Long fetchUpstreamVersion() {
+        if (shards.isEnabled()) {
+            long sum = 0;
+            for (Long shardVersion : shards.onAllShards(this::fetchVersionFrom)) {
+                if (shardVersion == null) {
+                    return null;
+                }
+                sum += shardVersion;
+            }
+            return sum;
+        }
+        return fetchVersionFrom(restTemplate);
+    }
+
+    private Long fetchVersionFrom(RestTemplate upstream) {
+        ResponseEntity<Response<Long>> response =
+                upstream.exchange("/version", HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        Response<Long> body = response != null ? response.getBody() : null;
+        return body != null ? body.getData() : null;
+    }
+}
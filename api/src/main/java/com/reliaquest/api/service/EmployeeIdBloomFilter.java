@@ -0,0 +1,66 @@
+package com.reliaquest.api.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over employee ids. Ids can be added concurrently with lookups; a lookup never misses an id whose
+ * {@link #add} has returned.
+ */
+final class EmployeeIdBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private EmployeeIdBloomFilter(long bitCount, int hashCount) {
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Sizes the filter so that {@code expectedIds} ids give roughly {@code falsePositiveRate} false positives.
+     */
+    static EmployeeIdBloomFilter create(int expectedIds, double falsePositiveRate) {
+        double ids = Math.max(expectedIds, 1);
+        long bitCount = (long) Math.ceil(-ids * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int hashCount = (int) Math.max(1, Math.round(bitCount / ids * Math.log(2)));
+        return new EmployeeIdBloomFilter(Math.min(Math.max(bitCount, 64), Integer.MAX_VALUE * 64L), hashCount);
+    }
+
+    void add(UUID id) {
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits() ^ h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(UUID id) {
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits() ^ h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
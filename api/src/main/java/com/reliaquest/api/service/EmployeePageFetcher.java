@@ -0,0 +1,171 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.config.AppConfig;
+import com.reliaquest.api.config.RetryAfterBackOffPolicy;
+import com.reliaquest.api.config.UpstreamCallScheduler;
+import com.reliaquest.api.exception.EmployeePageFetchException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.Response;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Downloads the employee list from the Mock API in cursor pages.
+ *
+ * <p>The first page reports the newest cursor on the server; the remaining cursor range is then split into
+ * fixed-width segments that are fetched concurrently and handed to the caller in order. Each segment is retried on its
+ * own, honouring the server's Retry-After, so a failed page never forces the whole list to be downloaded again; a page
+ * that runs out of retries fails the download with {@link EmployeePageFetchException}, which is not retried either.
+ */
+@Slf4j
+@Component
+public class EmployeePageFetcher {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String WATERMARK_HEADER = "X-Cursor-Watermark";
+
+    public enum FetchMode {
+        SINGLE,
+        PAGED
+    }
+
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+    private final FetchMode fetchMode;
+    private final int pageSize;
+    private final int parallelism;
+    private final RetryTemplate pageRetryTemplate;
+
+    public EmployeePageFetcher(
+            @Qualifier("employeeRestTemplate") RestTemplate restTemplate,
+            @Qualifier("employeeFetchExecutor") ExecutorService executor,
+            @Value("${employee.api.fetch.mode:SINGLE}") FetchMode fetchMode,
+            @Value("${employee.api.fetch.page-size:1000}") int pageSize,
+            @Value("${employee.api.fetch.parallelism:4}") int parallelism,
+            @Value("${employee.api.fetch.page-retry.max-attempts:3}") int pageRetryAttempts,
+            @Value("${employee.api.fetch.page-retry.delay-ms:500}") long pageRetryDelayMs,
+            @Value("${employee.api.retry.max-delay:PT10S}") Duration pageRetryMaxDelay,
+            @Value("${employee.api.retry.max-elapsed:PT30S}") Duration pageRetryMaxElapsed) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.fetchMode = fetchMode;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.pageRetryTemplate = RetryTemplate.builder()
+                .maxAttempts(pageRetryAttempts)
+                .customBackoff(new RetryAfterBackOffPolicy(
+                        AppConfig.exponentialBackOff(pageRetryDelayMs, pageRetryMaxDelay),
+                        pageRetryMaxDelay,
+                        pageRetryMaxElapsed))
+                .retryOn(HttpClientErrorException.TooManyRequests.class)
+                .retryOn(HttpServerErrorException.class)
+                .retryOn(ResourceAccessException.class)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return fetchMode == FetchMode.PAGED;
+    }
+
+    /**
+     * Streams every employee to {@code pageConsumer}, one page at a time and in server order. At most
+     * {@code parallelism} pages are in flight or waiting to be consumed at any moment. Pages are requested with the
+     * caller's upstream priority.
+     */
+    public void forEachPage(Consumer<List<Employee>> pageConsumer) {
+        Page first = fetchPage(0, Long.MAX_VALUE);
+        pageConsumer.accept(first.employees());
+        if (first.nextCursor() == null) {
+            return;
+        }
+
+        Deque<Future<Page>> inFlight = new ArrayDeque<>(parallelism);
+        UpstreamCallScheduler.Priority priority = UpstreamCallScheduler.currentPriority();
+        long cursor = first.nextCursor();
+        try {
+            while (cursor < first.watermark() || !inFlight.isEmpty()) {
+                while (cursor < first.watermark() && inFlight.size() < parallelism) {
+                    long from = cursor;
+                    long until = Math.min(cursor + pageSize, first.watermark());
+                    inFlight.add(executor.submit(
+                            () -> UpstreamCallScheduler.callAs(priority, () -> fetchPage(from, until))));
+                    cursor = until;
+                }
+                pageConsumer.accept(await(inFlight.poll()).employees());
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Page fetchPage(long cursor, long until) {
+        try {
+            return pageRetryTemplate.execute(context -> fetchPageOnce(context, cursor, until));
+        } catch (HttpClientErrorException.TooManyRequests | HttpServerErrorException | ResourceAccessException e) {
+            // The page has used up its own retries; a rate-limit error here would make the caller's retry start over
+            throw new EmployeePageFetchException(cursor, e);
+        }
+    }
+
+    private Page fetchPageOnce(RetryContext context, long cursor, long until) {
+        if (context.getRetryCount() > 0) {
+            log.warn("Retrying employee page after cursor {} (attempt {})", cursor, context.getRetryCount() + 1);
+        }
+        ResponseEntity<Response<List<Employee>>> response = restTemplate.exchange(
+                "?limit={limit}&cursor={cursor}&until={until}",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {},
+                pageSize,
+                cursor,
+                until);
+
+        List<Employee> employees =
+                response.getBody() != null && response.getBody().getData() != null
+                        ? response.getBody().getData()
+                        : Collections.emptyList();
+        String nextCursor = response.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+        String watermark = response.getHeaders().getFirst(WATERMARK_HEADER);
+        log.debug("Fetched {} employees after cursor {}", employees.size(), cursor);
+        return new Page(
+                employees,
+                nextCursor != null ? Long.valueOf(nextCursor) : null,
+                watermark != null ? Long.parseLong(watermark) : cursor);
+    }
+
+    private static Page await(Future<Page> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching employee pages", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to fetch employee page", e.getCause());
+        }
+    }
+
+    private record Page(List<Employee> employees, Long nextCursor, long watermark) {}
+}
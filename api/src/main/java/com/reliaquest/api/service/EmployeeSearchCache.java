@@ -0,0 +1,97 @@
+package com.reliaquest.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Caches name search results by normalized search string. Caffeine's W-TinyLFU policy admits a new result only when
+ * its key has been asked for more often than the entry it would evict, so a burst of one-off searches cannot flush the
+ * popular ones. The cache is bounded by an estimate of retained bytes, since results range from nothing to the whole
+ * list, and entries built at an older {@link EmployeeDataVersion} are recomputed on their next use.
+ *
+ * <p>Hit, miss and eviction counts are published as the {@code cache.*} meters tagged {@code cache=employee-search}.
+ */
+@Slf4j
+@Component
+public class EmployeeSearchCache {
+
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final boolean enabled;
+    private final Cache<String, SearchResult> cache;
+
+    public EmployeeSearchCache(
+            MeterRegistry meterRegistry,
+            @Value("${employee.api.search-cache.enabled:true}") boolean enabled,
+            @Value("${employee.api.search-cache.max-size:64MB}") DataSize maxSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher(EmployeeSearchCache::weigh)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employee-search");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached result for {@code searchString} if it was computed at {@code version}, otherwise runs
+     * {@code search} and caches what it returns. Concurrent misses for the same string may each run the search.
+     */
+    public List<Employee> get(String searchString, long version, Supplier<List<Employee>> search) {
+        String key = searchString.toLowerCase(Locale.ROOT);
+        SearchResult cached = cache.getIfPresent(key);
+        if (cached != null && cached.version() == version) {
+            return cached.employees();
+        }
+
+        List<Employee> employees = List.copyOf(search.get());
+        cache.put(key, new SearchResult(version, employees));
+        return employees;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /*
+     * A rough retained size: the entry and result list plus each employee with its UUID, boxed numbers and strings.
+     * It only has to rank results against each other and keep the total near the configured ceiling.
+     */
+    static int weigh(String key, SearchResult result) {
+        long bytes = stringBytes(key)
+                + 3L * OBJECT_HEADER_BYTES
+                + (long) REFERENCE_BYTES * result.employees().size();
+        for (Employee employee : result.employees()) {
+            bytes += OBJECT_HEADER_BYTES + 6L * REFERENCE_BYTES;
+            bytes += employee.getId() != null ? OBJECT_HEADER_BYTES + 16 : 0;
+            bytes += employee.getSalary() != null ? OBJECT_HEADER_BYTES : 0;
+            bytes += employee.getAge() != null ? OBJECT_HEADER_BYTES : 0;
+            bytes += stringBytes(employee.getName());
+            bytes += stringBytes(employee.getTitle());
+            bytes += stringBytes(employee.getEmail());
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 2L * OBJECT_HEADER_BYTES + 8 + value.length();
+    }
+
+    record SearchResult(long version, List<Employee> employees) {}
+}
@@ -1,19 +1,39 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.model.BulkItemResult;
 import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeesInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.model.Response;
+import com.reliaquest.api.model.SalaryHistogramBucket;
+import com.reliaquest.api.model.TitleSalaryStatistics;
+import com.reliaquest.api.service.UpstreamCapabilities.QueryCapability;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -21,52 +41,141 @@ import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Service
-@Retryable(
-        retryFor = HttpClientErrorException.TooManyRequests.class,
-        maxAttempts = 5,
-        backoff = @Backoff(delay = 5000, multiplier = 2))
+@Retryable(interceptor = "employeeRetryInterceptor")
 public class EmployeeService {
 
+    private static final int TOP_EARNERS_LIMIT = 10;
+    private static final Comparator<Employee> BY_SALARY_DESCENDING =
+            (e1, e2) -> e2.getSalary().compareTo(e1.getSalary());
+    private static final ParameterizedTypeReference<Response<List<BulkItemResult<Employee>>>> BULK_RESULTS =
+            new ParameterizedTypeReference<>() {};
+
     private final RestTemplate restTemplate;
+    private final EmployeePageFetcher pageFetcher;
+    private final UpstreamCapabilities capabilities;
+    private final EmployeeShards shards;
+    private final RequestHedger hedger;
+    private final EmployeeDataVersion dataVersion;
+    private final UnknownEmployeeIds unknownIds;
+    private final EmployeeSearchCache searchCache;
+    private final EmployeeSnapshotCache snapshots;
+    private final SalaryAnalytics analytics;
+    private final EmployeeTypeahead typeahead;
+    private final EmployeeBulkWriter bulkWriter;
 
-    public EmployeeService(@Qualifier("employeeRestTemplate") RestTemplate restTemplate) {
+    public EmployeeService(
+            @Qualifier("employeeRestTemplate") RestTemplate restTemplate,
+            EmployeePageFetcher pageFetcher,
+            UpstreamCapabilities capabilities,
+            EmployeeShards shards,
+            RequestHedger hedger,
+            EmployeeDataVersion dataVersion,
+            UnknownEmployeeIds unknownIds,
+            EmployeeSearchCache searchCache,
+            EmployeeSnapshotCache snapshots,
+            SalaryAnalytics analytics,
+            EmployeeTypeahead typeahead,
+            EmployeeBulkWriter bulkWriter) {
         this.restTemplate = restTemplate;
+        this.pageFetcher = pageFetcher;
+        this.capabilities = capabilities;
+        this.shards = shards;
+        this.hedger = hedger;
+        this.dataVersion = dataVersion;
+        this.unknownIds = unknownIds;
+        this.searchCache = searchCache;
+        this.snapshots = snapshots;
+        this.analytics = analytics;
+        this.typeahead = typeahead;
+        this.bulkWriter = bulkWriter;
     }
 
     public List<Employee> getAllEmployees() {
-        log.debug("Fetching all employees from Mock API");
-        ResponseEntity<Response<List<Employee>>> response =
-                restTemplate.exchange("", HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        if (snapshots.isEnabled()) {
+            return currentSnapshot().asList();
+        }
+        long version = dataVersion.current();
+        List<Employee> employees = fetchEveryEmployee();
+        unknownIds.allKnown(employees, version);
+        return employees;
+    }
 
-        if (response.getBody() != null && response.getBody().getData() != null) {
-            List<Employee> employees = response.getBody().getData();
+    /**
+     * The full list with only {@code fields} set on each employee. A local snapshot is projected as it is read;
+     * otherwise the projection is passed on to a Mock API that supports it, so unrequested fields are never sent.
+     */
+    public List<Employee> getAllEmployees(Set<EmployeeField> fields) {
+        if (snapshots.isEnabled()) {
+            return currentSnapshot().asList(fields);
+        }
+        if (pageFetcher.isEnabled() || !capabilities.supports(QueryCapability.FIELD_PROJECTION)) {
+            return getAllEmployees();
+        }
+
+        log.debug("Fetching employee fields {} from Mock API", fields);
+        List<Employee> employees = shards.isEnabled()
+                ? shards.onAllShards(shard -> fetchAllEmployees(shard, fields)).stream()
+                        .flatMap(List::stream)
+                        .toList()
+                : fetchAllEmployees(restTemplate, fields);
+        log.info("Successfully fetched {} projected employees", employees.size());
+        return employees;
+    }
+
+    private EmployeeSnapshot currentSnapshot() {
+        long version = dataVersion.current();
+        return snapshots.get(version, () -> {
+            List<Employee> employees = fetchEveryEmployee();
+            unknownIds.allKnown(employees, version);
+            return employees;
+        });
+    }
+
+    private List<Employee> fetchEveryEmployee() {
+        if (shards.isEnabled()) {
+            log.debug("Fetching all employees from every Mock API shard");
+            List<Employee> employees = shards.onAllShards(this::fetchAllEmployees).stream()
+                    .flatMap(List::stream)
+                    .toList();
             log.info("Successfully fetched {} employees", employees.size());
             return employees;
         }
-        log.info("Received empty response from Mock API");
-        return Collections.emptyList();
+
+        if (pageFetcher.isEnabled()) {
+            log.debug("Fetching all employees from Mock API in pages");
+            List<Employee> employees = new ArrayList<>();
+            pageFetcher.forEachPage(employees::addAll);
+            log.info("Successfully fetched {} employees", employees.size());
+            return employees;
+        }
+
+        List<Employee> employees = fetchAllEmployees(restTemplate);
+        if (!employees.isEmpty()) {
+            log.info("Successfully fetched {} employees", employees.size());
+        }
+        return employees;
     }
 
     public Employee getEmployeeById(String id) {
         log.debug("Fetching employee by id: {}", id);
-        ResponseEntity<Response<Employee>> response =
-                restTemplate.exchange("/{id}", HttpMethod.GET, null, new ParameterizedTypeReference<>() {}, id);
+        rejectKnownMissing(id);
 
-        Employee employee = response.getBody() != null ? response.getBody().getData() : null;
-        if (employee != null) {
-            log.info("Successfully fetched employee with id: {}", employee.getId());
+        Supplier<Employee> read = shards.isEnabled()
+                ? () -> shards.onOwnerOf(id, shard -> fetchEmployee(shard, id))
+                : () -> fetchEmployee(restTemplate, id);
+        try {
+            return hedger.isEnabled() ? hedger.execute(read) : read.get();
+        } catch (HttpClientErrorException.NotFound e) {
+            unknownIds.missed(id);
+            throw e;
         }
-        return employee;
     }
 
     public List<Employee> getEmployeesByNameSearch(String searchString) {
         log.debug("Searching employees by name containing: {}", searchString);
-        List<Employee> allEmployees = getAllEmployees();
-
-        List<Employee> matchingEmployees = allEmployees.stream()
-                .filter(employee -> employee.getName() != null
-                        && employee.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .toList();
+        List<Employee> matchingEmployees = searchCache.isEnabled()
+                ? searchCache.get(searchString, dataVersion.current(), () -> searchEmployees(searchString))
+                : searchEmployees(searchString);
 
         log.info("Found {} employees matching search string: {}", matchingEmployees.size(), searchString);
         return matchingEmployees;
@@ -74,13 +183,24 @@ public class EmployeeService {
 
     public Integer getHighestSalary() {
         log.debug("Finding highest salary among all employees");
-        List<Employee> allEmployees = getAllEmployees();
-
-        Integer highestSalary = allEmployees.stream()
-                .map(Employee::getSalary)
-                .filter(Objects::nonNull)
-                .max(Integer::compareTo)
-                .orElse(0);
+        Integer highestSalary;
+        if (shards.isEnabled()) {
+            highestSalary = shards.onAllShards(this::highestSalaryOf).stream()
+                    .max(Integer::compareTo)
+                    .orElse(0);
+        } else if (capabilities.supports(QueryCapability.HIGHEST_SALARY)) {
+            highestSalary = highestSalaryOnServer(restTemplate);
+        } else if (snapshots.isEnabled()) {
+            highestSalary = currentSnapshot().highestSalary();
+        } else {
+            AtomicInteger highest = new AtomicInteger();
+            forEachEmployeePage(page -> page.stream()
+                    .map(Employee::getSalary)
+                    .filter(Objects::nonNull)
+                    .max(Integer::compareTo)
+                    .ifPresent(pageHighest -> highest.accumulateAndGet(pageHighest, Math::max)));
+            highestSalary = highest.get();
+        }
 
         log.info("Highest salary found: {}", highestSalary);
         return highestSalary;
@@ -88,24 +208,301 @@ public class EmployeeService {
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
         log.debug("Finding top 10 highest earning employee names");
-        List<Employee> allEmployees = getAllEmployees();
+        List<Employee> topTen;
+        if (shards.isEnabled()) {
+            topTen = mergeTopEarners(shards.onAllShards(this::topEarnersOf), TOP_EARNERS_LIMIT);
+        } else if (capabilities.supports(QueryCapability.TOP_EARNERS)) {
+            topTen = topEarnersOnServer(restTemplate);
+        } else if (snapshots.isEnabled()) {
+            topTen = currentSnapshot().topEarners(TOP_EARNERS_LIMIT);
+        } else {
+            AtomicReference<List<Employee>> runningTopTen = new AtomicReference<>(List.of());
 
-        List<String> topEarners = allEmployees.stream()
-                .filter(employee -> employee.getSalary() != null && employee.getName() != null)
-                .sorted((e1, e2) -> e2.getSalary().compareTo(e1.getSalary()))
-                .limit(10)
-                .map(Employee::getName)
-                .toList();
+            // Earlier pages stay ahead of later ones in the stable sort, so ties keep their original order
+            forEachEmployeePage(page -> runningTopTen.set(
+                    Stream.concat(runningTopTen.get().stream(), page.stream().filter(EmployeeService::isRankable))
+                            .sorted(BY_SALARY_DESCENDING)
+                            .limit(TOP_EARNERS_LIMIT)
+                            .toList()));
+            topTen = runningTopTen.get();
+        }
 
+        List<String> topEarners =
+                topTen.stream().map(Employee::getName).filter(Objects::nonNull).toList();
         log.info("Found {} top earning employees", topEarners.size());
         return topEarners;
     }
 
     public Employee createEmployee(EmployeeInput employeeInput) {
         log.debug("Creating employee with name: {}", employeeInput.getName());
+        Employee employee = shards.isEnabled()
+                ? shards.onShardFor(employeeInput.getName(), shard -> createEmployee(shard, employeeInput))
+                : createEmployee(restTemplate, employeeInput);
+        if (employee != null && employee.getId() != null) {
+            if (shards.isEnabled()) {
+                shards.rememberOwner(employee.getId().toString(), employeeInput.getName());
+            }
+            created(employee);
+        }
+        return employee;
+    }
+
+    public String deleteEmployeeById(String id) {
+        log.debug("Deleting employee with id: {}", id);
+        rejectKnownMissing(id);
+        Employee deleted = shards.isEnabled()
+                ? shards.onOwnerOf(id, shard -> deleteEmployee(shard, id))
+                : deleteEmployee(restTemplate, id);
+        if (deleted == null) {
+            return null;
+        }
+        deleted(deleted);
+        return deleted.getName();
+    }
+
+    /**
+     * Creates every employee in {@code employeeInputs} and returns, at the position of each input, the created employee
+     * or why it was not created. The Mock API's bulk endpoint gets the inputs in chunks pipelined within its rate
+     * budget; one without it gets one request per employee. With sharding, each shard gets the inputs placed on it.
+     */
+    public List<BulkItemResult<Employee>> createEmployees(List<EmployeeInput> employeeInputs) {
+        log.debug("Creating {} employees", employeeInputs.size());
+        List<BulkItemResult<Employee>> results;
+        if (shards.isEnabled()) {
+            Map<RestTemplate, List<Integer>> positionsByShard = new LinkedHashMap<>();
+            for (int i = 0; i < employeeInputs.size(); i++) {
+                RestTemplate shard = shards.onShardFor(placementKey(employeeInputs.get(i)), Function.identity());
+                positionsByShard
+                        .computeIfAbsent(shard, key -> new ArrayList<>())
+                        .add(i);
+            }
+            List<BulkItemResult<Employee>> placed = new ArrayList<>(Collections.nCopies(employeeInputs.size(), null));
+            positionsByShard.forEach((shard, positions) -> {
+                List<BulkItemResult<Employee>> shardResults = createEmployees(
+                        shard, positions.stream().map(employeeInputs::get).toList());
+                for (int i = 0; i < positions.size(); i++) {
+                    placed.set(positions.get(i), shardResults.get(i));
+                }
+            });
+            results = placed;
+        } else {
+            results = createEmployees(restTemplate, employeeInputs);
+        }
+
+        int createdCount = 0;
+        for (int i = 0; i < results.size(); i++) {
+            Employee employee = results.get(i).getData();
+            if (employee != null && employee.getId() != null) {
+                if (shards.isEnabled()) {
+                    shards.rememberOwner(employee.getId().toString(), placementKey(employeeInputs.get(i)));
+                }
+                created(employee);
+                createdCount++;
+            }
+        }
+        log.info("Created {} of {} employees", createdCount, employeeInputs.size());
+        return results;
+    }
+
+    /**
+     * Deletes the employees with the given ids and returns, at the position of each id, the deleted employee's name or
+     * why it was not deleted. Ids go to the Mock API's bulk endpoint in pipelined chunks like
+     * {@link #createEmployees}; with sharding the owner of each id has to be found first, so ids are deleted one by
+     * one.
+     */
+    public List<BulkItemResult<String>> deleteEmployeesById(List<String> ids) {
+        log.debug("Deleting {} employees", ids.size());
+        List<BulkItemResult<Employee>> results;
+        if (shards.isEnabled()) {
+            results = bulkWriter.write(ids, 1, chunk -> {
+                String id = chunk.get(0);
+                return EmployeeBulkWriter.single(
+                        deleteOne(() -> shards.onOwnerOf(id, shard -> deleteEmployee(shard, id))));
+            });
+        } else if (capabilities.supports(QueryCapability.BULK)) {
+            results = bulkWriter.write(ids, bulkWriter.getChunkSize(), chunk -> {
+                HttpEntity<DeleteEmployeesInput> request = new HttpEntity<>(new DeleteEmployeesInput(chunk));
+                return restTemplate.exchange("/bulk", HttpMethod.DELETE, request, BULK_RESULTS);
+            });
+        } else {
+            results = bulkWriter.write(ids, 1, chunk -> {
+                String id = chunk.get(0);
+                return EmployeeBulkWriter.single(deleteOne(() -> deleteEmployee(restTemplate, id)));
+            });
+        }
+
+        List<BulkItemResult<String>> names = new ArrayList<>(results.size());
+        int deletedCount = 0;
+        for (BulkItemResult<Employee> result : results) {
+            if (result.getData() != null) {
+                deleted(result.getData());
+                names.add(BulkItemResult.of(result.getData().getName()));
+                deletedCount++;
+            } else {
+                names.add(BulkItemResult.failed(result.getError()));
+            }
+        }
+        log.info("Deleted {} of {} employees", deletedCount, ids.size());
+        return names;
+    }
+
+    /**
+     * Completes a name prefix for typeahead: up to {@code limit} names with a name token starting with the prefix,
+     * best first by {@code ranking} (null for the configured default).
+     */
+    public List<String> getNameCompletions(String prefix, int limit, EmployeeTypeahead.Ranking ranking) {
+        return typeahead.complete(dataVersion.current(), this::getAllEmployees, prefix, limit, ranking);
+    }
+
+    /**
+     * Estimates the salary at each quantile, given between 0 and 1, from the salary analytics sketch.
+     */
+    public List<Integer> getSalaryPercentiles(List<Double> quantiles) {
+        return analytics.percentiles(dataVersion.current(), this::getAllEmployees, quantiles);
+    }
+
+    public List<SalaryHistogramBucket> getSalaryHistogram() {
+        return analytics.histogram(dataVersion.current(), this::getAllEmployees);
+    }
+
+    public List<TitleSalaryStatistics> getTitleStatistics() {
+        return analytics.titles(dataVersion.current(), this::getAllEmployees);
+    }
+
+    private void created(Employee employee) {
+        long version = dataVersion.changed();
+        unknownIds.created(employee.getId(), version);
+        analytics.created(employee, version);
+        typeahead.created(employee, version);
+    }
+
+    private void deleted(Employee employee) {
+        long version = dataVersion.changed();
+        unknownIds.deleted(version);
+        analytics.deleted(employee, version);
+        typeahead.deleted(employee, version);
+    }
+
+    private List<Employee> fetchAllEmployees(RestTemplate upstream) {
+        log.debug("Fetching all employees from Mock API");
+        ResponseEntity<Response<List<Employee>>> response =
+                upstream.exchange("", HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+
+        if (response.getBody() != null && response.getBody().getData() != null) {
+            return response.getBody().getData();
+        }
+        log.info("Received empty response from Mock API");
+        return Collections.emptyList();
+    }
+
+    private List<Employee> fetchAllEmployees(RestTemplate upstream, Set<EmployeeField> fields) {
+        ResponseEntity<Response<List<Employee>>> response = upstream.exchange(
+                "?fields={fields}",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {},
+                EmployeeField.format(fields));
+        return response.getBody() != null && response.getBody().getData() != null
+                ? response.getBody().getData()
+                : Collections.emptyList();
+    }
+
+    private Employee fetchEmployee(RestTemplate upstream, String id) {
+        ResponseEntity<Response<Employee>> response =
+                upstream.exchange("/{id}", HttpMethod.GET, null, new ParameterizedTypeReference<>() {}, id);
+
+        Employee employee = response.getBody() != null ? response.getBody().getData() : null;
+        if (employee != null) {
+            log.info("Successfully fetched employee with id: {}", employee.getId());
+        }
+        return employee;
+    }
+
+    private List<Employee> searchEmployees(String searchString) {
+        if (shards.isEnabled()) {
+            return shards.onAllShards(shard -> searchEmployees(shard, searchString)).stream()
+                    .flatMap(List::stream)
+                    .toList();
+        }
+        if (capabilities.supports(QueryCapability.NAME_SEARCH)) {
+            return searchEmployeesOnServer(restTemplate, searchString);
+        }
+
+        String normalizedSearch = searchString.toLowerCase(Locale.ROOT);
+        if (snapshots.isEnabled()) {
+            return currentSnapshot().searchByName(normalizedSearch);
+        }
+        List<Employee> matchingEmployees = new ArrayList<>();
+        forEachEmployeePage(page -> page.stream()
+                .filter(employee -> nameContains(employee, normalizedSearch))
+                .forEach(matchingEmployees::add));
+        return matchingEmployees;
+    }
+
+    private List<Employee> searchEmployees(RestTemplate upstream, String searchString) {
+        if (capabilities.supports(QueryCapability.NAME_SEARCH)) {
+            return searchEmployeesOnServer(upstream, searchString);
+        }
+        String normalizedSearch = searchString.toLowerCase(Locale.ROOT);
+        return fetchAllEmployees(upstream).stream()
+                .filter(employee -> nameContains(employee, normalizedSearch))
+                .toList();
+    }
+
+    private List<Employee> searchEmployeesOnServer(RestTemplate upstream, String searchString) {
+        ResponseEntity<Response<List<Employee>>> response = upstream.exchange(
+                "/search/{searchString}", HttpMethod.GET, null, new ParameterizedTypeReference<>() {}, searchString);
+        return response.getBody() != null && response.getBody().getData() != null
+                ? response.getBody().getData()
+                : Collections.emptyList();
+    }
+
+    private Integer highestSalaryOf(RestTemplate upstream) {
+        if (capabilities.supports(QueryCapability.HIGHEST_SALARY)) {
+            return highestSalaryOnServer(upstream);
+        }
+        return fetchAllEmployees(upstream).stream()
+                .map(Employee::getSalary)
+                .filter(Objects::nonNull)
+                .max(Integer::compareTo)
+                .orElse(0);
+    }
+
+    private Integer highestSalaryOnServer(RestTemplate upstream) {
+        ResponseEntity<Response<Integer>> response =
+                upstream.exchange("/highestSalary", HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        return response.getBody() != null && response.getBody().getData() != null
+                ? response.getBody().getData()
+                : 0;
+    }
+
+    private List<Employee> topEarnersOf(RestTemplate upstream) {
+        if (capabilities.supports(QueryCapability.TOP_EARNERS)) {
+            return topEarnersOnServer(upstream);
+        }
+        return fetchAllEmployees(upstream).stream()
+                .filter(EmployeeService::isRankable)
+                .sorted(BY_SALARY_DESCENDING)
+                .limit(TOP_EARNERS_LIMIT)
+                .toList();
+    }
+
+    private List<Employee> topEarnersOnServer(RestTemplate upstream) {
+        ResponseEntity<Response<List<Employee>>> response = upstream.exchange(
+                "/topEarners?limit={limit}",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {},
+                TOP_EARNERS_LIMIT);
+        return response.getBody() != null && response.getBody().getData() != null
+                ? response.getBody().getData()
+                : Collections.emptyList();
+    }
+
+    private Employee createEmployee(RestTemplate upstream, EmployeeInput employeeInput) {
         HttpEntity<EmployeeInput> request = new HttpEntity<>(employeeInput);
         ResponseEntity<Response<Employee>> response =
-                restTemplate.exchange("", HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
+                upstream.exchange("", HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
 
         Employee employee = response.getBody() != null ? response.getBody().getData() : null;
         if (employee != null) {
@@ -114,10 +511,31 @@ public class EmployeeService {
         return employee;
     }
 
-    public String deleteEmployeeById(String id) {
-        log.debug("Deleting employee with id: {}", id);
+    private List<BulkItemResult<Employee>> createEmployees(RestTemplate upstream, List<EmployeeInput> employeeInputs) {
+        if (capabilities.supports(QueryCapability.BULK)) {
+            return bulkWriter.write(
+                    employeeInputs,
+                    bulkWriter.getChunkSize(),
+                    chunk -> upstream.exchange("/bulk", HttpMethod.POST, new HttpEntity<>(chunk), BULK_RESULTS));
+        }
+        return bulkWriter.write(employeeInputs, 1, chunk -> {
+            Employee employee = createEmployee(upstream, chunk.get(0));
+            return EmployeeBulkWriter.single(
+                    employee != null ? BulkItemResult.of(employee) : BulkItemResult.failed("Employee was not created"));
+        });
+    }
 
-        Employee employee = getEmployeeById(id);
+    private static BulkItemResult<Employee> deleteOne(Supplier<Employee> delete) {
+        try {
+            Employee deleted = delete.get();
+            return deleted != null ? BulkItemResult.of(deleted) : BulkItemResult.failed("Employee was not deleted");
+        } catch (HttpClientErrorException.NotFound e) {
+            return BulkItemResult.failed("Employee not found");
+        }
+    }
+
+    private Employee deleteEmployee(RestTemplate upstream, String id) {
+        Employee employee = fetchEmployee(upstream, id);
 
         String employeeName = employee.getName();
 
@@ -126,15 +544,76 @@ public class EmployeeService {
 
         HttpEntity<DeleteEmployeeInput> request = new HttpEntity<>(deleteInput);
         ResponseEntity<Response<Boolean>> response =
-                restTemplate.exchange("", HttpMethod.DELETE, request, new ParameterizedTypeReference<>() {});
+                upstream.exchange("", HttpMethod.DELETE, request, new ParameterizedTypeReference<>() {});
 
         boolean deleted = response.getBody() != null ? response.getBody().getData() : false;
         if (deleted) {
             log.info("Successfully deleted employee: {}", employeeName);
-            return employeeName;
+            return employee;
         }
 
         log.warn("Failed to delete employee: {}", employeeName);
         return null;
     }
+
+    private void rejectKnownMissing(String id) {
+        if (unknownIds.isKnownMissing(id)) {
+            log.debug("Employee id {} is known not to exist", id);
+            throw HttpClientErrorException.create(
+                    HttpStatus.NOT_FOUND, "Employee not found", HttpHeaders.EMPTY, null, null);
+        }
+    }
+
+    /*
+     * Aggregations only need one page at a time, so in paged mode the full list is never held in memory.
+     */
+    private void forEachEmployeePage(Consumer<List<Employee>> pageConsumer) {
+        if (pageFetcher.isEnabled()) {
+            pageFetcher.forEachPage(pageConsumer);
+        } else {
+            pageConsumer.accept(getAllEmployees());
+        }
+    }
+
+    private static String placementKey(EmployeeInput employeeInput) {
+        return employeeInput != null && employeeInput.getName() != null ? employeeInput.getName() : "";
+    }
+
+    private static boolean isRankable(Employee employee) {
+        return employee.getSalary() != null && employee.getName() != null;
+    }
+
+    private static boolean nameContains(Employee employee, String normalizedSearch) {
+        return employee.getName() != null
+                && employee.getName().toLowerCase(Locale.ROOT).contains(normalizedSearch);
+    }
+
+    /*
+     * Every shard returns its own top earners already sorted, so a heap over the head of each list yields the overall
+     * top earners in {@code limit} steps. Equal salaries go to the lower shard first.
+     */
+    private static List<Employee> mergeTopEarners(List<List<Employee>> sortedShards, int limit) {
+        Comparator<ShardHead> order =
+                Comparator.comparing(ShardHead::employee, BY_SALARY_DESCENDING).thenComparingInt(ShardHead::shard);
+        PriorityQueue<ShardHead> heads = new PriorityQueue<>(order);
+        for (int shard = 0; shard < sortedShards.size(); shard++) {
+            if (!sortedShards.get(shard).isEmpty()) {
+                heads.add(new ShardHead(shard, 0, sortedShards.get(shard).get(0)));
+            }
+        }
+
+        List<Employee> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            ShardHead head = heads.poll();
+            merged.add(head.employee());
+            List<Employee> shardEmployees = sortedShards.get(head.shard());
+            int next = head.index() + 1;
+            if (next < shardEmployees.size()) {
+                heads.add(new ShardHead(head.shard(), next, shardEmployees.get(next)));
+            }
+        }
+        return merged;
+    }
+
+    private record ShardHead(int shard, int index, Employee employee) {}
 }
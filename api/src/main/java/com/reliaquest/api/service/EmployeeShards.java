@@ -0,0 +1,182 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.config.AppConfig;
+import com.reliaquest.api.config.UpstreamCallScheduler;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Spreads employees over several Mock API instances, each owning a shard of the data. New employees are placed on a
+ * consistent-hash ring keyed by name, reads by id go to the shard that owns the id, and everything else fans out to all
+ * shards in parallel. With fewer than two shard URLs configured sharding is off and callers talk to the single
+ * employee RestTemplate as before.
+ */
+@Slf4j
+@Component
+public class EmployeeShards {
+
+    private static final int VIRTUAL_NODES_PER_SHARD = 128;
+    private static final int MAX_KNOWN_OWNERS = 10_000;
+
+    private final List<RestTemplate> shards = new ArrayList<>();
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+    private final ExecutorService executor;
+
+    /*
+     * Employee ids are assigned by the server, so the owner of an id cannot be computed. Owners learned from creates
+     * and lookups are remembered here; unknown ids are looked up on every shard.
+     */
+    private final Map<String, Integer> knownOwners = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_KNOWN_OWNERS;
+        }
+    });
+
+    public EmployeeShards(
+            RestTemplateBuilder restTemplateBuilder,
+            ObjectProvider<UpstreamCallScheduler> upstreamCallScheduler,
+            @Value("${employee.api.sharding.urls:}") List<String> shardUrls,
+            @Qualifier("employeeShardExecutor") ExecutorService executor) {
+        this.executor = executor;
+        for (String shardUrl : shardUrls) {
+            if (shardUrl.isBlank()) {
+                continue;
+            }
+            int shard = shards.size();
+            shards.add(AppConfig.restTemplateFor(
+                    restTemplateBuilder, shardUrl.trim(), upstreamCallScheduler.getIfAvailable()));
+            for (int node = 0; node < VIRTUAL_NODES_PER_SHARD; node++) {
+                ring.put(hash(shardUrl.trim() + "#" + node), shard);
+            }
+        }
+        if (isEnabled()) {
+            log.info("Sharding employees across {} Mock API instances", shards.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return shards.size() > 1;
+    }
+
+    /**
+     * Runs {@code call} on the shard that owns {@code key} on the hash ring.
+     */
+    public <T> T onShardFor(String key, Function<RestTemplate, T> call) {
+        return call.apply(shards.get(shardFor(key)));
+    }
+
+    /**
+     * Records that the employee with {@code id} was placed by {@code key}, so later lookups go straight to its shard.
+     */
+    public void rememberOwner(String id, String key) {
+        knownOwners.put(id, shardFor(key));
+    }
+
+    /**
+     * Runs {@code call} on every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> onAllShards(Function<RestTemplate, T> call) {
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        UpstreamCallScheduler.Priority priority = UpstreamCallScheduler.currentPriority();
+        try {
+            for (RestTemplate shard : shards) {
+                futures.add(executor.submit(() -> UpstreamCallScheduler.callAs(priority, () -> call.apply(shard))));
+            }
+            List<T> results = new ArrayList<>(shards.size());
+            for (Future<T> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Runs {@code call} on the shard owning {@code id}. A shard that answers with 404 does not own the id; when the
+     * owner is not known yet every shard is asked and the first one that does not answer 404 wins. Throws the 404
+     * when no shard owns the id.
+     */
+    public <T> T onOwnerOf(String id, Function<RestTemplate, T> call) {
+        Integer knownOwner = knownOwners.get(id);
+        if (knownOwner != null) {
+            try {
+                return call.apply(shards.get(knownOwner));
+            } catch (HttpClientErrorException.NotFound e) {
+                knownOwners.remove(id);
+            }
+        }
+
+        List<ShardAnswer<T>> answers = onAllShards(shard -> {
+            try {
+                return new ShardAnswer<>(call.apply(shard), null);
+            } catch (HttpClientErrorException.NotFound e) {
+                return new ShardAnswer<>(null, e);
+            }
+        });
+        for (int shard = 0; shard < answers.size(); shard++) {
+            if (answers.get(shard).notFound() == null) {
+                knownOwners.put(id, shard);
+                return answers.get(shard).value();
+            }
+        }
+        throw answers.get(0).notFound();
+    }
+
+    private int shardFor(String key) {
+        Map.Entry<Long, Integer> node = ring.ceilingEntry(hash(key));
+        return node != null ? node.getValue() : ring.firstEntry().getValue();
+    }
+
+    /*
+     * FNV-1a followed by the MurmurHash3 finalizer, so that similar keys land far apart on the ring.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for employee shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to query employee shard", e.getCause());
+        }
+    }
+
+    private record ShardAnswer<T>(T value, HttpClientErrorException.NotFound notFound) {}
+}
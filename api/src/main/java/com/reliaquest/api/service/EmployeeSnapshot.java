@@ -0,0 +1,233 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * An immutable copy of the employee list that is not held as {@link Employee} objects. Employees are only built when a
+ * row is read, so aggregates and searches run over the stored fields directly.
+ *
+ * <p>Snapshots at or above the parallel threshold split their scans into contiguous ranges on a fork-join pool and
+ * merge the range results in order, so the answers are identical to a sequential scan, including the order of
+ * matches and of equal salaries.
+ *
+ * <p>A missing salary or age is stored as {@link #MISSING}.
+ */
+public abstract class EmployeeSnapshot {
+
+    static final int MISSING = Integer.MIN_VALUE;
+    private static final int MIN_RANGE = 4096;
+    private static final int RANGES_PER_WORKER = 4;
+
+    private ForkJoinPool pool;
+    private int parallelThreshold = Integer.MAX_VALUE;
+
+    public static EmployeeSnapshot of(List<Employee> employees) {
+        return new CompactEmployeeSnapshot(employees);
+    }
+
+    public abstract int size();
+
+    /**
+     * Builds the employee at {@code index}.
+     */
+    public Employee employee(int index) {
+        return employee(index, EmployeeField.ALL);
+    }
+
+    /**
+     * Builds the employee at {@code index} with only {@code fields} set; the others are left null and not read.
+     */
+    public abstract Employee employee(int index, Set<EmployeeField> fields);
+
+    abstract int salary(int index);
+
+    abstract boolean hasName(int index);
+
+    abstract int titleDictionarySize();
+
+    /**
+     * Returns the employees in {@code [from, to)} whose name contains {@code normalizedSearch}, in snapshot order.
+     */
+    abstract List<Employee> searchByName(String normalizedSearch, int from, int to);
+
+    /**
+     * Scans on {@code pool} once the snapshot has at least {@code threshold} employees. Must be called before the
+     * snapshot is shared.
+     */
+    EmployeeSnapshot parallelAbove(int threshold, ForkJoinPool pool) {
+        this.parallelThreshold = threshold;
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * A read-only view that builds each employee as it is read; nothing is retained between reads.
+     */
+    public List<Employee> asList() {
+        return new EmployeeView(EmployeeField.ALL);
+    }
+
+    /**
+     * Like {@link #asList()}, with only {@code fields} set on each employee.
+     */
+    public List<Employee> asList(Set<EmployeeField> fields) {
+        return new EmployeeView(fields);
+    }
+
+    /**
+     * Returns the employees whose name contains {@code normalizedSearch}, which must already be lower case.
+     */
+    public List<Employee> searchByName(String normalizedSearch) {
+        return scan((from, to) -> searchByName(normalizedSearch, from, to), (left, right) -> {
+            List<Employee> merged = new ArrayList<>(left.size() + right.size());
+            merged.addAll(left);
+            merged.addAll(right);
+            return merged;
+        });
+    }
+
+    /**
+     * Returns the highest salary, or 0 when no employee has one.
+     */
+    public int highestSalary() {
+        int highest = scan(this::highestSalary, Math::max);
+        return highest != MISSING ? highest : 0;
+    }
+
+    /**
+     * Returns up to {@code limit} employees with a name and salary, highest salary first. Equal salaries keep their
+     * order in the snapshot.
+     */
+    public List<Employee> topEarners(int limit) {
+        int[] top =
+                scan((from, to) -> topEarners(from, to, limit), (left, right) -> mergeTopEarners(left, right, limit));
+        List<Employee> topEarners = new ArrayList<>(top.length);
+        for (int index : top) {
+            topEarners.add(employee(index));
+        }
+        return topEarners;
+    }
+
+    private int highestSalary(int from, int to) {
+        int highest = MISSING;
+        for (int i = from; i < to; i++) {
+            highest = Math.max(highest, salary(i));
+        }
+        return highest;
+    }
+
+    /*
+     * A bounded buffer of the best indices seen so far, kept sorted by salary descending. A later employee only
+     * displaces an earlier one with a strictly lower salary, which keeps ties in snapshot order.
+     */
+    private int[] topEarners(int from, int to, int limit) {
+        int[] top = new int[limit];
+        int count = 0;
+        for (int i = from; i < to && limit > 0; i++) {
+            int salary = salary(i);
+            if (salary == MISSING || !hasName(i)) {
+                continue;
+            }
+            if (count == limit && salary <= salary(top[count - 1])) {
+                continue;
+            }
+            int position = count < limit ? count++ : limit - 1;
+            while (position > 0 && salary(top[position - 1]) < salary) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = i;
+        }
+        return count == limit ? top : Arrays.copyOf(top, count);
+    }
+
+    /*
+     * Every index in the left range precedes every index in the right one, so taking from the left on equal salaries
+     * reproduces the sequential order.
+     */
+    private int[] mergeTopEarners(int[] left, int[] right, int limit) {
+        int[] merged = new int[Math.min(limit, left.length + right.length)];
+        int l = 0;
+        int r = 0;
+        for (int i = 0; i < merged.length; i++) {
+            boolean takeLeft = r == right.length || (l < left.length && salary(left[l]) >= salary(right[r]));
+            merged[i] = takeLeft ? left[l++] : right[r++];
+        }
+        return merged;
+    }
+
+    private <T> T scan(RangeScan<T> scan, BinaryOperator<T> merge) {
+        int size = size();
+        if (pool == null || size < parallelThreshold) {
+            return scan.apply(0, size);
+        }
+        int rangeSize = Math.max(MIN_RANGE, size / (pool.getParallelism() * RANGES_PER_WORKER) + 1);
+        return pool.invoke(new ScanTask<>(0, size, rangeSize, scan, merge));
+    }
+
+    @FunctionalInterface
+    private interface RangeScan<T> {
+        T apply(int from, int to);
+    }
+
+    private static final class ScanTask<T> extends RecursiveTask<T> {
+
+        private final int from;
+        private final int to;
+        private final int rangeSize;
+        private final RangeScan<T> scan;
+        private final BinaryOperator<T> merge;
+
+        private ScanTask(int from, int to, int rangeSize, RangeScan<T> scan, BinaryOperator<T> merge) {
+            this.from = from;
+            this.to = to;
+            this.rangeSize = rangeSize;
+            this.scan = scan;
+            this.merge = merge;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= rangeSize) {
+                return scan.apply(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask<T> left = new ScanTask<>(from, middle, rangeSize, scan, merge);
+            left.fork();
+            T right = new ScanTask<>(middle, to, rangeSize, scan, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+
+    private final class EmployeeView extends AbstractList<Employee> implements RandomAccess {
+
+        private final Set<EmployeeField> fields;
+
+        private EmployeeView(Set<EmployeeField> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public Employee get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return employee(index, fields);
+        }
+
+        @Override
+        public int size() {
+            return EmployeeSnapshot.this.size();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the latest full employee list as an {@link EmployeeSnapshot}, tagged with the {@link EmployeeDataVersion} it
+ * was read at. The list is read again once the version moves; concurrent readers of a stale snapshot wait for a single
+ * reload instead of each downloading the list. Snapshots are compact on-heap columns unless off-heap storage is
+ * configured for lists large enough that their GC cost matters. Snapshots of at least the parallel threshold scan on
+ * the dedicated aggregation pool rather than on the request thread alone.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotCache {
+
+    private final boolean enabled;
+    private final Storage storage;
+    private final ForkJoinPool aggregationPool;
+    private final int parallelThreshold;
+    private volatile VersionedSnapshot current;
+
+    public EmployeeSnapshotCache(
+            @Value("${employee.api.snapshot.enabled:true}") boolean enabled,
+            @Value("${employee.api.snapshot.storage:ON_HEAP}") Storage storage,
+            @Qualifier("employeeAggregationPool") ForkJoinPool aggregationPool,
+            @Value("${employee.api.snapshot.parallel-threshold:100000}") int parallelThreshold) {
+        this.enabled = enabled;
+        this.storage = storage;
+        this.aggregationPool = aggregationPool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a snapshot read at {@code version} or later, running {@code fetch} to build it if the cached one is
+     * older. A caller that observed an older version gets the newer snapshot rather than replacing it.
+     */
+    public EmployeeSnapshot get(long version, Supplier<List<Employee>> fetch) {
+        VersionedSnapshot snapshot = current;
+        if (snapshot != null && snapshot.version() >= version) {
+            return snapshot.snapshot();
+        }
+
+        synchronized (this) {
+            snapshot = current;
+            if (snapshot != null && snapshot.version() >= version) {
+                return snapshot.snapshot();
+            }
+            List<Employee> employees = fetch.get();
+            EmployeeSnapshot built = storage == Storage.OFF_HEAP
+                    ? new OffHeapEmployeeSnapshot(employees)
+                    : EmployeeSnapshot.of(employees);
+            built.parallelAbove(parallelThreshold, aggregationPool);
+            current = new VersionedSnapshot(version, built);
+            log.debug(
+                    "Cached {} employees {} at data version {} ({} distinct titles)",
+                    built.size(),
+                    storage,
+                    version,
+                    built.titleDictionarySize());
+            return built;
+        }
+    }
+
+    /**
+     * Returns the most recently built snapshot, whatever its version, or {@code null} before the first one.
+     */
+    EmployeeSnapshot latest() {
+        VersionedSnapshot snapshot = current;
+        return snapshot != null ? snapshot.snapshot() : null;
+    }
+
+    public enum Storage {
+        ON_HEAP,
+        OFF_HEAP
+    }
+
+    private record VersionedSnapshot(long version, EmployeeSnapshot snapshot) {}
+}
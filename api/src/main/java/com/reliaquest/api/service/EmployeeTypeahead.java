@@ -0,0 +1,141 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Name completions for typeahead, served from a {@link NameTrie} of the full employee list. The trie is built once at
+ * some {@link EmployeeDataVersion} and then follows each create and delete made through this service, the same way as
+ * {@link SalaryAnalytics}. When the version moves for any other reason, the next request starts one rebuild in the
+ * background and requests keep completing from the previous trie until it is done; only the very first build is
+ * waited for. A finished rebuild never replaces a trie of a later version.
+ */
+@Slf4j
+@Component
+public class EmployeeTypeahead {
+
+    public enum Ranking {
+        SALARY,
+        NAME
+    }
+
+    private final int maxResults;
+    private final Ranking defaultRanking;
+    private final Executor rebuildExecutor;
+    private NameTrie trie;
+    private long trieVersion;
+    private Rebuild rebuild;
+
+    public EmployeeTypeahead(
+            @Value("${employee.api.typeahead.max-results:10}") int maxResults,
+            @Value("${employee.api.typeahead.rank-by:SALARY}") Ranking defaultRanking,
+            @Qualifier("employeeRebuildExecutor") Executor rebuildExecutor) {
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("Typeahead max results must be positive: " + maxResults);
+        }
+        this.maxResults = maxResults;
+        this.defaultRanking = defaultRanking;
+        this.rebuildExecutor = rebuildExecutor;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public synchronized void created(Employee employee, long version) {
+        if (trie != null && trieVersion == version - 1) {
+            trie.add(employee);
+            trieVersion = version;
+        }
+    }
+
+    public synchronized void deleted(Employee employee, long version) {
+        if (trie != null && trieVersion == version - 1) {
+            trie.remove(employee);
+            trieVersion = version;
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} names (capped at the configured maximum) with a name token starting with
+     * {@code prefix}, ignoring case; {@code ranking} null means the configured default.
+     */
+    public List<String> complete(
+            long version, Supplier<List<Employee>> employees, String prefix, int limit, Ranking ranking) {
+        Ranking order = ranking != null ? ranking : defaultRanking;
+        int count = Math.min(limit, maxResults);
+        CompletableFuture<NameTrie> first;
+        synchronized (this) {
+            if (trie != null && trieVersion >= version) {
+                return trie.complete(prefix, count, order);
+            }
+            if (rebuild == null || rebuild.version() < version || rebuild.trie().isDone()) {
+                rebuild = startRebuild(version, employees);
+            }
+            if (trie != null) {
+                // Stale by at most the changes made elsewhere since it was built
+                return trie.complete(prefix, count, order);
+            }
+            first = rebuild.trie();
+        }
+
+        try {
+            first.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            return trie.complete(prefix, count, order);
+        }
+    }
+
+    /*
+     * Built outside the lock; a change that lands meanwhile leaves the new trie behind and triggers another rebuild.
+     */
+    private Rebuild startRebuild(long version, Supplier<List<Employee>> employees) {
+        Rebuild started = new Rebuild(version, new CompletableFuture<>());
+        rebuildExecutor.execute(() -> {
+            try {
+                long startedAt = System.nanoTime();
+                NameTrie rebuilt = new NameTrie(maxResults);
+                List<Employee> all = employees.get();
+                rebuilt.addAll(all);
+                log.debug(
+                        "Rebuilt typeahead trie for {} employees at data version {} in {} ms",
+                        all.size(),
+                        version,
+                        (System.nanoTime() - startedAt) / 1_000_000);
+                finish(started, rebuilt);
+                started.trie().complete(rebuilt);
+            } catch (RuntimeException e) {
+                log.warn("Failed to rebuild typeahead trie at data version {}: {}", version, e.getMessage());
+                finish(started, null);
+                started.trie().completeExceptionally(e);
+            }
+        });
+        return started;
+    }
+
+    private synchronized void finish(Rebuild finished, NameTrie rebuilt) {
+        if (rebuilt != null && (trie == null || trieVersion < finished.version())) {
+            trie = rebuilt;
+            trieVersion = finished.version();
+        }
+        if (rebuild == finished) {
+            rebuild = null;
+        }
+    }
+
+    private record Rebuild(long version, CompletableFuture<NameTrie> trie) {}
+}
@@ -0,0 +1,174 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.UpstreamCallScheduler;
+import com.reliaquest.api.config.UpstreamCallScheduler.Priority;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Warms the api up after startup so that the first real requests do not meet a cold JIT, an empty snapshot and no
+ * open connections all at once, which is when bursts are most likely to trip the Mock API's rate limiter.
+ *
+ * <p>Once the application is ready it opens a few pooled connections with cheap concurrent requests, pauses to let
+ * the upstream rate budget refill, reads the full list into the snapshot (rate-limited reads wait for Retry-After as
+ * usual), and then runs search, top-ten and JSON serialization locally against that data. Until this has finished the
+ * {@code employeeWarmUp} health contributor is OUT_OF_SERVICE, which keeps the readiness group down. A failed warm-up
+ * is logged and still marks the api ready, so a flaky upstream cannot hold a deploy back indefinitely. Its upstream
+ * calls are sent as background work, behind any real requests that arrive meanwhile.
+ */
+@Slf4j
+@Component
+public class EmployeeWarmUp implements HealthIndicator {
+
+    private static final int SAMPLE_SIZE = 1000;
+
+    private final EmployeeService employeeService;
+    private final EmployeeSnapshotCache snapshots;
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int connections;
+    private final Duration pause;
+    private final int iterations;
+
+    private final long startedNanos = System.nanoTime();
+    private volatile Duration timeToReady;
+
+    public EmployeeWarmUp(
+            EmployeeService employeeService,
+            EmployeeSnapshotCache snapshots,
+            @Qualifier("employeeRestTemplate") RestTemplate restTemplate,
+            @Qualifier("employeeFetchExecutor") ExecutorService executor,
+            ObjectMapper objectMapper,
+            @Value("${employee.api.warm-up.enabled:true}") boolean enabled,
+            @Value("${employee.api.warm-up.connections:4}") int connections,
+            @Value("${employee.api.warm-up.pause:PT1S}") Duration pause,
+            @Value("${employee.api.warm-up.iterations:200}") int iterations) {
+        this.employeeService = employeeService;
+        this.snapshots = snapshots;
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.connections = connections;
+        this.pause = pause;
+        this.iterations = iterations;
+        if (!enabled) {
+            timeToReady = Duration.ZERO;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread thread = new Thread(this::warmUp, "employee-warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public Health health() {
+        Duration ready = timeToReady;
+        if (ready == null) {
+            return Health.outOfService().withDetail("warmUp", "running").build();
+        }
+        return Health.up().withDetail("timeToReadyMs", ready.toMillis()).build();
+    }
+
+    void warmUp() {
+        try {
+            openConnections();
+            Thread.sleep(pause.toMillis());
+            List<Employee> employees =
+                    UpstreamCallScheduler.callAs(Priority.BACKGROUND, employeeService::getAllEmployees);
+            exercise(employees);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up did not complete, serving traffic cold: {}", e.getMessage());
+        } finally {
+            timeToReady = Duration.ofNanos(System.nanoTime() - startedNanos);
+            log.info("Ready to serve traffic {} ms after startup", timeToReady.toMillis());
+        }
+    }
+
+    /*
+     * Concurrent requests each need their own connection, and finished ones are kept alive for reuse. The data
+     * version endpoint is the cheapest thing to ask for; an older server answering 404 opens the connection just
+     * the same.
+     */
+    private void openConnections() throws InterruptedException {
+        List<Future<?>> requests = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            requests.add(executor.submit(() -> {
+                try {
+                    UpstreamCallScheduler.callAs(
+                            Priority.BACKGROUND, () -> restTemplate.getForEntity("/version", String.class));
+                } catch (RestClientException e) {
+                    log.debug("Warm-up request failed: {}", e.getMessage());
+                }
+            }));
+        }
+        for (Future<?> request : requests) {
+            try {
+                request.get();
+            } catch (ExecutionException e) {
+                log.debug("Warm-up request failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    /*
+     * Runs the local search, ranking and serialization code on a sample of the data just read, so the JIT compiles
+     * the paths real requests take without sending anything upstream. One pass over the real snapshot then warms its
+     * storage mode and, for large lists, the parallel scan.
+     */
+    private void exercise(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        List<Employee> sample = List.copyOf(employees.subList(0, Math.min(SAMPLE_SIZE, employees.size())));
+        EmployeeSnapshot sampleSnapshot = EmployeeSnapshot.of(sample);
+        long started = System.nanoTime();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                sampleSnapshot.searchByName(searchFor(sample.get(i % sample.size())));
+                sampleSnapshot.topEarners(10);
+                objectMapper.writeValueAsBytes(sample);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Warm-up serialization failed: {}", e.getMessage());
+        }
+
+        EmployeeSnapshot snapshot = snapshots.latest();
+        if (snapshot != null) {
+            snapshot.searchByName(searchFor(sample.get(0)));
+            snapshot.topEarners(10);
+        }
+        log.debug("Ran {} warm-up iterations in {} ms", iterations, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static String searchFor(Employee employee) {
+        String name = employee.getName() != null ? employee.getName() : "";
+        return name.substring(0, Math.min(3, name.length())).toLowerCase();
+    }
+}
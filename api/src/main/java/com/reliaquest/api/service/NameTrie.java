@@ -0,0 +1,458 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeTypeahead.Ranking;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A radix trie over case-folded employee names for typeahead. Every name is inserted once per token, as the rest of
+ * the name from that token on ({@code "coleman feest"} and {@code "feest"}), so a prefix matches the start of any
+ * first, middle or last name and may run on into the following tokens.
+ *
+ * <p>Each node keeps the best {@code capacity} employees of its whole subtree for every {@link Ranking}, so a lookup
+ * walks the prefix and copies at most {@code capacity} names, whatever the number of employees. The lists are built
+ * bottom up in one pass by {@link #addAll}; {@link #add} offers the new employee to each node on its paths, and
+ * {@link #remove} recomputes only the nodes whose lists held the employee, from their children's lists.
+ *
+ * <p>Not thread-safe; {@link EmployeeTypeahead} guards it.
+ */
+final class NameTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final int capacity;
+    private final Node root = new Node("");
+    private final Entry[] scratch;
+    private long sequence;
+
+    NameTrie(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.scratch = new Entry[capacity];
+    }
+
+    void addAll(List<Employee> employees) {
+        for (Employee employee : employees) {
+            Entry entry = entry(employee);
+            if (entry != null) {
+                for (String key : keys(entry.folded)) {
+                    insert(key, entry, false).addTerminal(entry);
+                }
+            }
+        }
+        rank(root);
+    }
+
+    void add(Employee employee) {
+        Entry entry = entry(employee);
+        if (entry != null) {
+            for (String key : keys(entry.folded)) {
+                insert(key, entry, true).addTerminal(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes the employee with the same id and name; returns false when it was not in the trie.
+     */
+    boolean remove(Employee employee) {
+        if (employee.getName() == null) {
+            return false;
+        }
+        Entry entry = null;
+        for (String key : keys(fold(employee.getName()))) {
+            List<Node> path = path(key);
+            if (path == null) {
+                return false;
+            }
+            Node terminal = path.get(path.size() - 1);
+            if (entry == null) {
+                entry = terminal.findTerminal(employee);
+                if (entry == null) {
+                    return false;
+                }
+            }
+            terminal.removeTerminal(entry);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node node = path.get(i);
+                if (node.ranks(entry)) {
+                    rerank(node);
+                }
+            }
+            prune(path);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the names of at most {@code limit} employees with a name token starting with {@code prefix}, best
+     * first by {@code ranking}. The prefix is folded the same way as the names.
+     */
+    List<String> complete(String prefix, int limit, Ranking ranking) {
+        String folded = fold(prefix);
+        Node node = root;
+        int depth = 0;
+        while (depth < folded.length()) {
+            node = node.child(folded.charAt(depth));
+            if (node == null) {
+                return List.of();
+            }
+            int length = Math.min(node.label.length(), folded.length() - depth);
+            if (!node.label.regionMatches(0, folded, depth, length)) {
+                return List.of();
+            }
+            depth += length;
+        }
+
+        Entry[] best = node.top(ranking);
+        int count = Math.min(limit, best.length);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(best[i].name);
+        }
+        return names;
+    }
+
+    private Entry entry(Employee employee) {
+        if (employee.getName() == null || employee.getName().isBlank()) {
+            return null;
+        }
+        int salary = employee.getSalary() != null ? employee.getSalary() : Integer.MIN_VALUE;
+        return new Entry(employee.getId(), employee.getName(), fold(employee.getName()), salary, sequence++);
+    }
+
+    /*
+     * Finds or creates the node for key, splitting an edge where the key leaves it part way. When offering, the new
+     * entry is offered to every node on the way, and a node created by a split starts from its only child's lists.
+     */
+    private Node insert(String key, Entry entry, boolean offer) {
+        Node node = root;
+        int depth = 0;
+        while (true) {
+            if (offer) {
+                node.offer(entry, capacity);
+            }
+            if (depth == key.length()) {
+                return node;
+            }
+            Node child = node.child(key.charAt(depth));
+            if (child == null) {
+                child = new Node(key.substring(depth));
+                node.addChild(child);
+            } else {
+                int common = commonPrefix(child.label, key, depth);
+                if (common < child.label.length()) {
+                    Node middle = new Node(child.label.substring(0, common));
+                    middle.bySalary = child.bySalary;
+                    middle.byName = child.byName;
+                    node.replaceChild(middle);
+                    child.label = child.label.substring(common);
+                    middle.children = new Node[] {child};
+                    child = middle;
+                }
+            }
+            depth += child.label.length();
+            node = child;
+        }
+    }
+
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int depth = 0;
+        path.add(node);
+        while (depth < key.length()) {
+            node = node.child(key.charAt(depth));
+            if (node == null || !key.startsWith(node.label, depth)) {
+                return null;
+            }
+            depth += node.label.length();
+            path.add(node);
+        }
+        return path;
+    }
+
+    /*
+     * Drops nodes left with no employees and folds a node left with a single child into it, so the trie stays
+     * compressed after deletes.
+     */
+    private static void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (node.terminal != null) {
+                return;
+            }
+            Node parent = path.get(i - 1);
+            if (node.children.length == 0) {
+                parent.removeChild(node);
+            } else if (node.children.length == 1) {
+                Node child = node.children[0];
+                child.label = node.label + child.label;
+                parent.replaceChild(child);
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void rank(Node node) {
+        for (Node child : node.children) {
+            rank(child);
+        }
+        rerank(node);
+    }
+
+    /*
+     * A node's best entries are the best of its own terminal entries and its children's best lists. Each list is
+     * merged in the scratch buffer and copied out once; a single entry is shared by both rankings.
+     */
+    private void rerank(Node node) {
+        node.bySalary = best(node, Ranking.SALARY);
+        node.byName = best(node, Ranking.NAME);
+        if (node.bySalary.length == 1 && node.byName.length == 1 && node.bySalary[0] == node.byName[0]) {
+            node.byName = node.bySalary;
+        }
+    }
+
+    private Entry[] best(Node node, Ranking ranking) {
+        Comparator<Entry> order = order(ranking);
+        int size = 0;
+        if (node.terminal != null) {
+            for (Entry entry : node.terminal) {
+                size = insertSorted(scratch, size, entry, order);
+            }
+        }
+        for (Node child : node.children) {
+            for (Entry entry : child.top(ranking)) {
+                if (size == capacity && order.compare(entry, scratch[size - 1]) > 0) {
+                    break;
+                }
+                size = insertSorted(scratch, size, entry, order);
+            }
+        }
+        Entry[] best = size == 0 ? NO_ENTRIES : Arrays.copyOf(scratch, size);
+        Arrays.fill(scratch, 0, size, null);
+        return best;
+    }
+
+    /*
+     * Inserts the entry in rank order into the first size slots of the buffer, dropping the last one when the buffer
+     * is full, and keeps each employee once: an employee can reach a node through two of its tokens, and as the order
+     * is total a present entry is met before its insertion point. Returns the new size.
+     */
+    private static int insertSorted(Entry[] buffer, int size, Entry entry, Comparator<Entry> order) {
+        if (size == buffer.length && order.compare(entry, buffer[size - 1]) >= 0) {
+            return size;
+        }
+        int at = 0;
+        while (at < size && buffer[at] != entry && order.compare(entry, buffer[at]) >= 0) {
+            at++;
+        }
+        if (at < size && buffer[at] == entry) {
+            return size;
+        }
+        System.arraycopy(buffer, at, buffer, at + 1, Math.min(size, buffer.length - 1) - at);
+        buffer[at] = entry;
+        return Math.min(size + 1, buffer.length);
+    }
+
+    static String fold(String name) {
+        StringBuilder folded = new StringBuilder(name.length());
+        boolean space = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = folded.length() > 0;
+            } else {
+                if (space) {
+                    folded.append(' ');
+                    space = false;
+                }
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> keys(String folded) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(folded);
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            keys.add(folded.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Comparator<Entry> order(Ranking ranking) {
+        return switch (ranking) {
+            case SALARY -> Entry.BY_SALARY;
+            case NAME -> Entry.BY_NAME;
+        };
+    }
+
+    private record Entry(UUID id, String name, String folded, int salary, long sequence) {
+
+        // Missing salaries are stored as Integer.MIN_VALUE and so rank last
+        static final Comparator<Entry> BY_SALARY = Comparator.comparingInt(Entry::salary)
+                .reversed()
+                .thenComparing(Entry::folded)
+                .thenComparingLong(Entry::sequence);
+        static final Comparator<Entry> BY_NAME = Comparator.comparing(Entry::folded)
+                .thenComparing(Comparator.comparingInt(Entry::salary).reversed())
+                .thenComparingLong(Entry::sequence);
+
+        // Entries are compared by identity: two employees may share every field but the sequence
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(sequence);
+        }
+    }
+
+    private static final class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private Entry[] terminal;
+        private Entry[] bySalary = NO_ENTRIES;
+        private Entry[] byName = NO_ENTRIES;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Entry[] top(Ranking ranking) {
+            return ranking == Ranking.SALARY ? bySalary : byName;
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void addChild(Node child) {
+            int insertAt = -(indexOf(child.label.charAt(0)) + 1);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+        }
+
+        private void replaceChild(Node child) {
+            children[indexOf(child.label.charAt(0))] = child;
+        }
+
+        private void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, shrunk.length - index);
+            children = shrunk;
+        }
+
+        private void addTerminal(Entry entry) {
+            if (terminal == null) {
+                terminal = new Entry[] {entry};
+            } else {
+                terminal = Arrays.copyOf(terminal, terminal.length + 1);
+                terminal[terminal.length - 1] = entry;
+            }
+        }
+
+        private Entry findTerminal(Employee employee) {
+            if (terminal != null) {
+                for (Entry entry : terminal) {
+                    if (Objects.equals(entry.id, employee.getId()) && entry.name.equals(employee.getName())) {
+                        return entry;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void removeTerminal(Entry entry) {
+            if (terminal.length == 1) {
+                terminal = null;
+                return;
+            }
+            Entry[] remaining = new Entry[terminal.length - 1];
+            int i = 0;
+            for (Entry kept : terminal) {
+                if (kept != entry) {
+                    remaining[i++] = kept;
+                }
+            }
+            terminal = remaining;
+        }
+
+        private boolean ranks(Entry entry) {
+            for (Entry ranked : bySalary) {
+                if (ranked == entry) {
+                    return true;
+                }
+            }
+            for (Entry ranked : byName) {
+                if (ranked == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void offer(Entry entry, int capacity) {
+            bySalary = offer(bySalary, entry, Entry.BY_SALARY, capacity);
+            byName = offer(byName, entry, Entry.BY_NAME, capacity);
+        }
+
+        // Copy-on-write, so a node created by a split can share its child's lists
+        private static Entry[] offer(Entry[] best, Entry entry, Comparator<Entry> order, int capacity) {
+            Entry[] ranked = Arrays.copyOf(best, Math.min(best.length + 1, capacity));
+            int size = insertSorted(ranked, best.length, entry, order);
+            if (size == best.length && Arrays.equals(ranked, 0, size, best, 0, size)) {
+                return best;
+            }
+            return size == ranked.length ? ranked : Arrays.copyOf(ranked, size);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An {@link EmployeeSnapshot} kept outside the Java heap, so that a very large list adds nothing for the garbage
+ * collector to trace. Each employee is a fixed-width record in one direct buffer; names and emails are UTF-8 bytes in
+ * a second buffer, the string arena, that records point into. Only the title dictionary stays on the heap.
+ *
+ * <p>Name searches compare ASCII names against ASCII search strings byte by byte in the arena and only decode names
+ * that contain other characters. The memory is released when the snapshot is garbage collected.
+ */
+final class OffHeapEmployeeSnapshot extends EmployeeSnapshot {
+
+    private static final int ID_HIGH = 0;
+    private static final int ID_LOW = 8;
+    private static final int SALARY = 16;
+    private static final int AGE = 20;
+    private static final int TITLE = 24;
+    private static final int NAME_OFFSET = 28;
+    private static final int NAME_LENGTH = 32;
+    private static final int EMAIL_OFFSET = 36;
+    private static final int EMAIL_LENGTH = 40;
+    private static final int FLAGS = 44;
+    private static final int RECORD_BYTES = 48;
+
+    private static final int NONE = -1;
+    private static final int ASCII_NAME = 1;
+
+    private final int size;
+    private final ByteBuffer records;
+    private final ByteBuffer arena;
+    private final String[] titleDictionary;
+
+    OffHeapEmployeeSnapshot(List<Employee> employees) {
+        size = employees.size();
+        long arenaBytes = 0;
+        for (Employee employee : employees) {
+            arenaBytes += utf8Length(employee.getName()) + utf8Length(employee.getEmail());
+        }
+        records = allocate((long) size * RECORD_BYTES);
+        arena = allocate(arenaBytes);
+
+        Map<String, Integer> titleIndex = new HashMap<>();
+        List<String> titles = new ArrayList<>();
+        int arenaPosition = 0;
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            int record = i * RECORD_BYTES;
+            if (employee.getId() != null) {
+                records.putLong(record + ID_HIGH, employee.getId().getMostSignificantBits());
+                records.putLong(record + ID_LOW, employee.getId().getLeastSignificantBits());
+            }
+            records.putInt(record + SALARY, employee.getSalary() != null ? employee.getSalary() : MISSING);
+            records.putInt(record + AGE, employee.getAge() != null ? employee.getAge() : MISSING);
+            records.putInt(
+                    record + TITLE,
+                    employee.getTitle() != null
+                            ? titleIndex.computeIfAbsent(employee.getTitle(), title -> {
+                                titles.add(title);
+                                return titles.size() - 1;
+                            })
+                            : NONE);
+            arenaPosition = putString(record + NAME_OFFSET, record + NAME_LENGTH, employee.getName(), arenaPosition);
+            arenaPosition = putString(record + EMAIL_OFFSET, record + EMAIL_LENGTH, employee.getEmail(), arenaPosition);
+            records.putInt(record + FLAGS, isAscii(employee.getName()) ? ASCII_NAME : 0);
+        }
+        titleDictionary = titles.toArray(String[]::new);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Employee employee(int index, Set<EmployeeField> fields) {
+        int record = index * RECORD_BYTES;
+        Employee.EmployeeBuilder employee = Employee.builder();
+        if (fields.contains(EmployeeField.ID)) {
+            long idHigh = records.getLong(record + ID_HIGH);
+            long idLow = records.getLong(record + ID_LOW);
+            employee.id(idHigh == 0 && idLow == 0 ? null : new UUID(idHigh, idLow));
+        }
+        if (fields.contains(EmployeeField.NAME)) {
+            employee.name(getString(record + NAME_OFFSET, record + NAME_LENGTH));
+        }
+        if (fields.contains(EmployeeField.SALARY)) {
+            int salary = records.getInt(record + SALARY);
+            employee.salary(salary != MISSING ? salary : null);
+        }
+        if (fields.contains(EmployeeField.AGE)) {
+            int age = records.getInt(record + AGE);
+            employee.age(age != MISSING ? age : null);
+        }
+        if (fields.contains(EmployeeField.TITLE)) {
+            int title = records.getInt(record + TITLE);
+            employee.title(title != NONE ? titleDictionary[title] : null);
+        }
+        if (fields.contains(EmployeeField.EMAIL)) {
+            employee.email(getString(record + EMAIL_OFFSET, record + EMAIL_LENGTH));
+        }
+        return employee.build();
+    }
+
+    @Override
+    int salary(int index) {
+        return records.getInt(index * RECORD_BYTES + SALARY);
+    }
+
+    @Override
+    boolean hasName(int index) {
+        return records.getInt(index * RECORD_BYTES + NAME_OFFSET) != NONE;
+    }
+
+    @Override
+    int titleDictionarySize() {
+        return titleDictionary.length;
+    }
+
+    @Override
+    List<Employee> searchByName(String normalizedSearch, int from, int to) {
+        byte[] search = normalizedSearch.getBytes(StandardCharsets.UTF_8);
+        boolean asciiSearch = isAscii(normalizedSearch);
+        List<Employee> matchingEmployees = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int record = i * RECORD_BYTES;
+            int nameOffset = records.getInt(record + NAME_OFFSET);
+            if (nameOffset == NONE) {
+                continue;
+            }
+            boolean matches;
+            if (asciiSearch && (records.getInt(record + FLAGS) & ASCII_NAME) != 0) {
+                matches = asciiContainsIgnoreCase(nameOffset, records.getInt(record + NAME_LENGTH), search);
+            } else {
+                String name = getString(record + NAME_OFFSET, record + NAME_LENGTH);
+                matches = name.toLowerCase(Locale.ROOT).contains(normalizedSearch);
+            }
+            if (matches) {
+                matchingEmployees.add(employee(i));
+            }
+        }
+        return matchingEmployees;
+    }
+
+    private boolean asciiContainsIgnoreCase(int offset, int length, byte[] search) {
+        for (int start = 0; start <= length - search.length; start++) {
+            int matched = 0;
+            while (matched < search.length && toLowerAscii(arena.get(offset + start + matched)) == search[matched]) {
+                matched++;
+            }
+            if (matched == search.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int putString(int offsetField, int lengthField, String value, int arenaPosition) {
+        if (value == null) {
+            records.putInt(offsetField, NONE);
+            records.putInt(lengthField, 0);
+            return arenaPosition;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        arena.put(arenaPosition, bytes);
+        records.putInt(offsetField, arenaPosition);
+        records.putInt(lengthField, bytes.length);
+        return arenaPosition + bytes.length;
+    }
+
+    private String getString(int offsetField, int lengthField) {
+        int offset = records.getInt(offsetField);
+        if (offset == NONE) {
+            return null;
+        }
+        byte[] bytes = new byte[records.getInt(lengthField)];
+        arena.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Employee snapshot needs " + bytes + " bytes, more than a direct buffer");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static byte toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static boolean isAscii(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                // A surrogate pair encodes to four bytes; a lone surrogate to one, so this only ever over-counts
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,215 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.config.UpstreamCallScheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedges idempotent reads against slow upstream answers. When the first attempt has not answered within a percentile
+ * of recently observed latency, a second attempt is sent (through the replica balancer, if configured, it lands on the
+ * least loaded replica) and whichever succeeds first is returned; the other is cancelled. Hedges draw from a budget
+ * earned as a percentage of requests, so a slow upstream never sees more than that share of extra traffic.
+ *
+ * <p>The losing attempt is cancelled by interrupting its thread. That only frees the thread and the connection if the
+ * HTTP client gives up on interrupt: the JDK HttpClient that AppConfig configures for upstream calls aborts the
+ * exchange, whereas a blocked HttpURLConnection read ignores the interrupt and holds both until the read timeout.
+ */
+@Slf4j
+@Component
+public class RequestHedger {
+
+    private static final int LATENCY_SAMPLES = 1024;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final long MILLI_TOKENS_PER_HEDGE = 1000;
+    private static final long MAX_MILLI_TOKENS = 10 * MILLI_TOKENS_PER_HEDGE;
+    private static final int STATS_LOG_INTERVAL = 1000;
+
+    private final ExecutorService executor;
+    private final boolean enabled;
+    private final double percentile;
+    private final long milliTokensPerRequest;
+    private final long minDelayNanos;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_SAMPLES);
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong budget = new AtomicLong(MAX_MILLI_TOKENS);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private volatile long hedgeDelayNanos;
+
+    public RequestHedger(
+            MeterRegistry meterRegistry,
+            @Qualifier("employeeHedgeExecutor") ExecutorService executor,
+            @Value("${employee.api.hedging.enabled:false}") boolean enabled,
+            @Value("${employee.api.hedging.percentile:0.95}") double percentile,
+            @Value("${employee.api.hedging.budget-percent:10}") int budgetPercent,
+            @Value("${employee.api.hedging.min-delay:PT0.01S}") Duration minDelay,
+            @Value("${employee.api.hedging.initial-delay:PT0.05S}") Duration initialDelay) {
+        this.executor = executor;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.milliTokensPerRequest = budgetPercent * MILLI_TOKENS_PER_HEDGE / 100;
+        this.minDelayNanos = minDelay.toNanos();
+        this.hedgeDelayNanos = Math.max(initialDelay.toNanos(), minDelayNanos);
+
+        FunctionCounter.builder("employee.hedging.requests", requests, AtomicLong::get)
+                .description("Reads run through the hedger")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.hedging.hedges", hedges, AtomicLong::get)
+                .description("Second attempts sent because the first was slow")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.hedging.wins", hedgeWins, AtomicLong::get)
+                .description("Reads answered by the second attempt")
+                .register(meterRegistry);
+        Gauge.builder("employee.hedging.rate", this, hedger -> hedger.stats().hedgeRate())
+                .description("Share of reads that were hedged")
+                .register(meterRegistry);
+        Gauge.builder("employee.hedging.win.rate", this, hedger -> hedger.stats()
+                        .winRate())
+                .description("Share of hedged reads that the second attempt answered")
+                .register(meterRegistry);
+        Gauge.builder("employee.hedging.delay", this, hedger -> hedger.hedgeDelayNanos / 1e6)
+                .description("Current wait in milliseconds before a read is hedged")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs {@code read}, hedging it once if it is slower than the current threshold and the budget allows. Failures of
+     * one attempt are hidden while the other can still succeed.
+     */
+    public <T> T execute(Supplier<T> read) {
+        long requestCount = requests.incrementAndGet();
+        budget.accumulateAndGet(
+                milliTokensPerRequest, (current, earned) -> Math.min(MAX_MILLI_TOKENS, current + earned));
+        if (requestCount % STATS_LOG_INTERVAL == 0) {
+            HedgingStats stats = stats();
+            log.info(
+                    "Hedged {}% of {} reads, hedges won {}% of the time",
+                    Math.round(stats.hedgeRate() * 100), stats.requests(), Math.round(stats.winRate() * 100));
+        }
+
+        // Attempts run on the hedge executor, so they carry the caller's priority there
+        UpstreamCallScheduler.Priority priority = UpstreamCallScheduler.currentPriority();
+        Supplier<T> attempt = () -> UpstreamCallScheduler.callAs(priority, () -> timed(read));
+        ExecutorCompletionService<T> attempts = new ExecutorCompletionService<>(executor);
+        Future<T> primary = attempts.submit(attempt::get);
+        Future<T> hedge = null;
+        try {
+            Future<T> first = attempts.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (first == null && tryAcquireHedge()) {
+                hedges.incrementAndGet();
+                hedge = attempts.submit(attempt::get);
+            }
+            if (first == null) {
+                first = attempts.take();
+            }
+
+            try {
+                T result = first.get();
+                if (first == hedge) {
+                    hedgeWins.incrementAndGet();
+                }
+                return result;
+            } catch (ExecutionException e) {
+                if (hedge == null) {
+                    throw unwrap(e);
+                }
+                // The other attempt may still succeed
+                Future<T> second = attempts.take();
+                T result = second.get();
+                if (second == hedge) {
+                    hedgeWins.incrementAndGet();
+                }
+                return result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the Mock API", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    public HedgingStats stats() {
+        return new HedgingStats(requests.get(), hedges.get(), hedgeWins.get());
+    }
+
+    Duration hedgeDelay() {
+        return Duration.ofNanos(hedgeDelayNanos);
+    }
+
+    private <T> T timed(Supplier<T> read) {
+        long started = System.nanoTime();
+        T result = read.get();
+        recordLatency(System.nanoTime() - started);
+        return result;
+    }
+
+    private void recordLatency(long nanos) {
+        long sample = samples.getAndIncrement();
+        latencies.set((int) (sample % LATENCY_SAMPLES), Math.max(nanos, 1));
+        if ((sample + 1) % RECOMPUTE_EVERY == 0) {
+            long[] window = new long[(int) Math.min(sample + 1, LATENCY_SAMPLES)];
+            for (int i = 0; i < window.length; i++) {
+                window[i] = latencies.get(i);
+            }
+            Arrays.sort(window);
+            int rank = (int) Math.min(window.length - 1, Math.ceil(percentile * window.length) - 1);
+            hedgeDelayNanos = Math.max(minDelayNanos, window[Math.max(rank, 0)]);
+        }
+    }
+
+    private boolean tryAcquireHedge() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < MILLI_TOKENS_PER_HEDGE) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - MILLI_TOKENS_PER_HEDGE));
+        return true;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Failed to read from the Mock API", e.getCause());
+    }
+
+    public record HedgingStats(long requests, long hedged, long hedgeWins) {
+
+        public double hedgeRate() {
+            return requests == 0 ? 0 : (double) hedged / requests;
+        }
+
+        public double winRate() {
+            return hedged == 0 ? 0 : (double) hedgeWins / hedged;
+        }
+    }
+}
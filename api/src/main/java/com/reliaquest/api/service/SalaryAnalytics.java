@@ -0,0 +1,248 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryHistogramBucket;
+import com.reliaquest.api.model.TitleSalaryStatistics;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Salary percentiles, a salary histogram and per-title statistics, kept up to date without re-reading the employee
+ * list. The state is built once from the full list at some {@link EmployeeDataVersion} and then follows each create
+ * and delete made through this service; percentiles come from a {@link SalarySketch}, the histogram and per-title
+ * count, sum and maximum are exact. When the version moves for any other reason, or a delete removes the highest salary
+ * of a title that no one else on that title earns, the state is rebuilt from the full list on its next use. Concurrent
+ * queries share one rebuild, and a rebuild never replaces a state of a later version.
+ *
+ * <p>Employees without a salary are not counted.
+ */
+@Slf4j
+@Component
+public class SalaryAnalytics {
+
+    private final double relativeAccuracy;
+    private final int bucketWidth;
+    private State state;
+    private Rebuild rebuild;
+
+    public SalaryAnalytics(
+            @Value("${employee.api.analytics.relative-accuracy:0.01}") double relativeAccuracy,
+            @Value("${employee.api.analytics.histogram-bucket-width:25000}") int bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Histogram bucket width must be positive: " + bucketWidth);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.bucketWidth = bucketWidth;
+    }
+
+    /**
+     * Records an employee created through this service, which moved the data version to {@code version}.
+     */
+    public synchronized void created(Employee employee, long version) {
+        if (state != null && state.version == version - 1) {
+            state.add(employee);
+            state.version = version;
+        }
+    }
+
+    /**
+     * Records an employee deleted through this service, which moved the data version to {@code version}.
+     */
+    public synchronized void deleted(Employee employee, long version) {
+        if (state != null && state.version == version - 1 && state.remove(employee)) {
+            state.version = version;
+        }
+    }
+
+    /**
+     * Estimates the salary at each quantile, given between 0 and 1, within the configured relative accuracy.
+     */
+    public List<Integer> percentiles(long version, Supplier<List<Employee>> employees, List<Double> quantiles) {
+        return query(version, employees, current -> quantiles.stream()
+                .map(current.sketch::quantile)
+                .toList());
+    }
+
+    public List<SalaryHistogramBucket> histogram(long version, Supplier<List<Employee>> employees) {
+        return query(version, employees, current -> {
+            List<SalaryHistogramBucket> buckets = new ArrayList<>(current.histogram.size());
+            current.histogram.forEach((from, count) -> {
+                int to = (int) Math.min(Integer.MAX_VALUE, (long) from + bucketWidth);
+                buckets.add(new SalaryHistogramBucket(from, to, count));
+            });
+            return buckets;
+        });
+    }
+
+    /**
+     * Returns count, average and highest salary for every title, ordered by title.
+     */
+    public List<TitleSalaryStatistics> titles(long version, Supplier<List<Employee>> employees) {
+        return query(version, employees, current -> current.titles.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new TitleSalaryStatistics(
+                        entry.getKey(),
+                        entry.getValue().count,
+                        (double) entry.getValue().sum / entry.getValue().count,
+                        entry.getValue().max))
+                .toList());
+    }
+
+    /*
+     * The list is read outside the lock by the first query that finds the state stale; later queries for the same or
+     * an older version wait for that rebuild instead of reading the list again. A create or delete that lands meanwhile
+     * leaves the rebuilt state one version behind, so it is simply rebuilt again on the next query.
+     */
+    private <T> T query(long version, Supplier<List<Employee>> employees, Function<State, T> read) {
+        Rebuild pending;
+        boolean owner = false;
+        synchronized (this) {
+            if (state != null && state.version >= version) {
+                return read.apply(state);
+            }
+            if (rebuild == null || rebuild.version() < version) {
+                rebuild = new Rebuild(version, new CompletableFuture<>());
+                owner = true;
+            }
+            pending = rebuild;
+        }
+
+        State rebuilt = owner ? rebuild(pending, employees) : await(pending);
+        synchronized (this) {
+            return read.apply(rebuilt);
+        }
+    }
+
+    private State rebuild(Rebuild pending, Supplier<List<Employee>> employees) {
+        State rebuilt;
+        try {
+            long started = System.nanoTime();
+            rebuilt = new State(pending.version());
+            List<Employee> all = employees.get();
+            all.forEach(rebuilt::add);
+            log.debug(
+                    "Rebuilt salary analytics for {} employees at data version {} in {} ms",
+                    all.size(),
+                    pending.version(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                if (rebuild == pending) {
+                    rebuild = null;
+                }
+            }
+            pending.state().completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (this) {
+            // A slower rebuild of an older version must not replace what a newer one installed
+            if (state == null || state.version < rebuilt.version) {
+                state = rebuilt;
+            }
+            if (rebuild == pending) {
+                rebuild = null;
+            }
+        }
+        pending.state().complete(rebuilt);
+        return rebuilt;
+    }
+
+    private static State await(Rebuild pending) {
+        try {
+            return pending.state().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Rebuild(long version, CompletableFuture<State> state) {}
+
+    private final class State {
+
+        private long version;
+        private final SalarySketch sketch = new SalarySketch(relativeAccuracy);
+        private final TreeMap<Integer, Long> histogram = new TreeMap<>();
+        private final Map<String, TitleAccumulator> titles = new HashMap<>();
+
+        private State(long version) {
+            this.version = version;
+        }
+
+        private void add(Employee employee) {
+            Integer salary = employee.getSalary();
+            if (salary == null) {
+                return;
+            }
+            sketch.add(salary);
+            histogram.merge(bucketOf(salary), 1L, Long::sum);
+            if (employee.getTitle() != null) {
+                titles.computeIfAbsent(employee.getTitle(), title -> new TitleAccumulator())
+                        .add(salary);
+            }
+        }
+
+        /*
+         * Returns false when the title's last employee on its highest salary left, as the next highest cannot be known
+         * without the full list.
+         */
+        private boolean remove(Employee employee) {
+            Integer salary = employee.getSalary();
+            if (salary == null) {
+                return true;
+            }
+            sketch.remove(salary);
+            histogram.computeIfPresent(bucketOf(salary), (bucket, count) -> count > 1 ? count - 1 : null);
+            TitleAccumulator accumulator = employee.getTitle() != null ? titles.get(employee.getTitle()) : null;
+            if (accumulator == null) {
+                return true;
+            }
+            accumulator.count--;
+            accumulator.sum -= salary;
+            if (accumulator.count == 0) {
+                titles.remove(employee.getTitle());
+                return true;
+            }
+            if (salary != accumulator.max) {
+                return true;
+            }
+            return --accumulator.atMax > 0;
+        }
+
+        private int bucketOf(int salary) {
+            return Math.floorDiv(salary, bucketWidth) * bucketWidth;
+        }
+    }
+
+    private static final class TitleAccumulator {
+
+        private long count;
+        private long sum;
+        private int max = Integer.MIN_VALUE;
+        private long atMax;
+
+        private void add(int salary) {
+            count++;
+            sum += salary;
+            if (salary > max) {
+                max = salary;
+                atMax = 1;
+            } else if (salary == max) {
+                atMax++;
+            }
+        }
+    }
+}
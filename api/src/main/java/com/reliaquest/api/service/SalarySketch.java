@@ -0,0 +1,96 @@
+package com.reliaquest.api.service;
+
+/**
+ * A quantile sketch over salaries with bounded relative error, in the style of DDSketch. Each salary is counted in a
+ * logarithmic bucket {@code (gamma^(i-1), gamma^i]}, where {@code gamma = (1 + a) / (1 - a)}, so any quantile is
+ * answered within relative accuracy {@code a} of the exact value at the same rank. Unlike KLL or t-digest, counts can
+ * be taken away again, which lets the sketch follow deletes, and two sketches with the same accuracy merge by adding
+ * their counts.
+ *
+ * <p>The bucket array covers every positive {@code int}; at 1% accuracy that is about a thousand buckets. Salaries of
+ * zero or less are counted as zero.
+ */
+final class SalarySketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final long[] counts;
+    private long zeroCount;
+    private long total;
+
+    SalarySketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1: " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.counts = new long[index(Integer.MAX_VALUE) + 1];
+    }
+
+    void add(int salary) {
+        update(salary, 1);
+    }
+
+    void remove(int salary) {
+        update(salary, -1);
+    }
+
+    /**
+     * Adds every salary counted by {@code other}, for example a sketch built from another shard.
+     */
+    void merge(SalarySketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        total += other.total;
+    }
+
+    long count() {
+        return total;
+    }
+
+    /**
+     * Estimates the salary at rank {@code floor(quantile * (count - 1))} of the sorted salaries; 0 when empty.
+     */
+    int quantile(double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) (quantile * (total - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return value(i);
+            }
+        }
+        return value(counts.length - 1);
+    }
+
+    private void update(int salary, int delta) {
+        if (salary <= 0) {
+            zeroCount += delta;
+        } else {
+            counts[index(salary)] += delta;
+        }
+        total += delta;
+    }
+
+    private int index(int salary) {
+        return (int) Math.ceil(Math.log(salary) / logGamma);
+    }
+
+    // The point of the bucket whose relative distance to both bounds is the accuracy
+    private int value(int index) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.round(2 * Math.pow(gamma, index) / (gamma + 1)));
+    }
+}
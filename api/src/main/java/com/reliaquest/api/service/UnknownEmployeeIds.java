@@ -0,0 +1,126 @@
+package com.reliaquest.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers lookups of employee ids that are known not to exist without asking the Mock API. Ids that recently came back
+ * 404 are kept for a short time, and after the full list has been read a Bloom filter over every known id rules out
+ * the rest. Both are tagged with the {@link EmployeeDataVersion} they were built at and ignored once it moves, except
+ * that creates and deletes made through this service keep the Bloom filter current.
+ */
+@Slf4j
+@Component
+public class UnknownEmployeeIds {
+
+    private static final int MIN_EXPECTED_IDS = 1024;
+
+    private final EmployeeDataVersion dataVersion;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final Cache<String, Long> misses;
+    private final AtomicReference<KnownIds> knownIds = new AtomicReference<>();
+
+    public UnknownEmployeeIds(
+            EmployeeDataVersion dataVersion,
+            @Value("${employee.api.unknown-ids.enabled:true}") boolean enabled,
+            @Value("${employee.api.unknown-ids.miss-ttl:PT30S}") Duration missTtl,
+            @Value("${employee.api.unknown-ids.max-misses:10000}") long maxMisses,
+            @Value("${employee.api.unknown-ids.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.misses = Caffeine.newBuilder()
+                .expireAfterWrite(missTtl)
+                .maximumSize(maxMisses)
+                .build();
+    }
+
+    public boolean isKnownMissing(String id) {
+        if (!enabled) {
+            return false;
+        }
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        long version = dataVersion.current();
+        Long missedAt = misses.getIfPresent(id);
+        if (missedAt != null && missedAt == version) {
+            return true;
+        }
+        KnownIds known = knownIds.get();
+        return known != null && known.version() == version && !known.filter().mightContain(uuid);
+    }
+
+    public void missed(String id) {
+        if (enabled) {
+            misses.put(id, dataVersion.current());
+        }
+    }
+
+    /**
+     * Replaces the Bloom filter with one over {@code employees}, the complete list as of {@code version}.
+     */
+    public void allKnown(Collection<Employee> employees, long version) {
+        if (!enabled) {
+            return;
+        }
+        // Leave room for creates before the next full read without degrading the false positive rate much
+        EmployeeIdBloomFilter filter = EmployeeIdBloomFilter.create(
+                Math.max(employees.size() + employees.size() / 4, MIN_EXPECTED_IDS), falsePositiveRate);
+        for (Employee employee : employees) {
+            if (employee.getId() != null) {
+                filter.add(employee.getId());
+            }
+        }
+        knownIds.set(new KnownIds(filter, version));
+        log.debug("Indexed {} known employee ids at data version {}", employees.size(), version);
+    }
+
+    /**
+     * Records an employee created through this service, which moved the data version to {@code version}.
+     */
+    public void created(UUID id, long version) {
+        if (!enabled) {
+            return;
+        }
+        misses.invalidate(id.toString());
+        carryForward(version, id);
+    }
+
+    /**
+     * Records a delete made through this service, which moved the data version to {@code version}. A deleted id left
+     * in the Bloom filter only costs a lookup.
+     */
+    public void deleted(long version) {
+        if (enabled) {
+            carryForward(version, null);
+        }
+    }
+
+    private void carryForward(long version, UUID addedId) {
+        knownIds.updateAndGet(known -> {
+            if (known == null || known.version() != version - 1) {
+                return known;
+            }
+            if (addedId != null) {
+                known.filter().add(addedId);
+            }
+            return new KnownIds(known.filter(), version);
+        });
+    }
+
+    private record KnownIds(EmployeeIdBloomFilter filter, long version) {}
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Response;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tracks which query endpoints the Mock API advertises, so aggregations can be pushed down to the server instead of
+ * downloading every employee. The advertisement is read lazily and cached; servers that do not know the capabilities
+ * endpoint simply advertise nothing. A failed read, such as a 429 while the rate budget is spent, is retried after a
+ * short back-off rather than a full interval, so one throttled call does not turn pushdown off for minutes.
+ */
+@Slf4j
+@Component
+public class UpstreamCapabilities {
+
+    public enum QueryCapability {
+        NAME_SEARCH("search"),
+        HIGHEST_SALARY("highest-salary"),
+        TOP_EARNERS("top-earners"),
+        DATA_VERSION("data-version"),
+        FIELD_PROJECTION("fields"),
+        BULK("bulk");
+
+        private final String value;
+
+        QueryCapability(String value) {
+            this.value = value;
+        }
+    }
+
+    static final Duration RETRY_AFTER_FAILURE = Duration.ofSeconds(5);
+
+    private final RestTemplate restTemplate;
+    private final boolean pushdownEnabled;
+    private final Duration refreshInterval;
+
+    private volatile Set<QueryCapability> capabilities = EnumSet.noneOf(QueryCapability.class);
+    private volatile Instant refreshAfter = Instant.MIN;
+
+    public UpstreamCapabilities(
+            @Qualifier("employeeRestTemplate") RestTemplate restTemplate,
+            @Value("${employee.api.pushdown.enabled:true}") boolean pushdownEnabled,
+            @Value("${employee.api.pushdown.refresh-interval:PT5M}") Duration refreshInterval) {
+        this.restTemplate = restTemplate;
+        this.pushdownEnabled = pushdownEnabled;
+        this.refreshInterval = refreshInterval;
+    }
+
+    public boolean supports(QueryCapability capability) {
+        if (!pushdownEnabled) {
+            return false;
+        }
+        if (Instant.now().isAfter(refreshAfter)) {
+            refresh();
+        }
+        return capabilities.contains(capability);
+    }
+
+    private synchronized void refresh() {
+        Instant now = Instant.now();
+        if (!now.isAfter(refreshAfter)) {
+            return;
+        }
+
+        try {
+            ResponseEntity<Response<List<String>>> response =
+                    restTemplate.exchange("/capabilities", HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+            Set<QueryCapability> advertised = EnumSet.noneOf(QueryCapability.class);
+            Response<List<String>> body = response != null ? response.getBody() : null;
+            List<String> values = body != null ? body.getData() : null;
+            if (values != null) {
+                for (QueryCapability capability : QueryCapability.values()) {
+                    if (values.contains(capability.value)) {
+                        advertised.add(capability);
+                    }
+                }
+            }
+            capabilities = advertised;
+            log.info("Mock API advertises query capabilities: {}", advertised);
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.BadRequest e) {
+            capabilities = EnumSet.noneOf(QueryCapability.class);
+            log.info("Mock API does not advertise query capabilities, computing aggregations locally");
+        } catch (RestClientException e) {
+            // Keep whatever was known before and ask again soon; a transient failure should not disable pushdown
+            log.warn("Failed to read Mock API query capabilities: {}", e.getMessage());
+            refreshAfter = now.plus(
+                    refreshInterval.compareTo(RETRY_AFTER_FAILURE) < 0 ? refreshInterval : RETRY_AFTER_FAILURE);
+            return;
+        }
+        refreshAfter = now.plus(refreshInterval);
+    }
+}
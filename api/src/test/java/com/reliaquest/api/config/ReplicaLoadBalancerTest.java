@@ -0,0 +1,123 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class ReplicaLoadBalancerTest {
+
+    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+    private static final String REPLICA_A = "http://replica-a:8112/api/v1/employee";
+    private static final String REPLICA_B = "http://replica-b:8112/api/v1/employee";
+
+    private final List<URI> sent = new ArrayList<>();
+
+    @Test
+    @DisplayName("intercept - should send the request to a replica with the same path")
+    void intercept_shouldRewriteToReplica() throws IOException {
+        ReplicaLoadBalancer balancer = new ReplicaLoadBalancer(BASE_URL, List.of(REPLICA_A), Duration.ofSeconds(5));
+
+        ClientHttpResponse response = balancer.intercept(request("/123"), new byte[0], answering(HttpStatus.OK));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(URI.create(REPLICA_A + "/123")), sent);
+    }
+
+    @Test
+    @DisplayName("intercept - should move away from a rate limited replica")
+    void intercept_shouldEjectRateLimitedReplica() throws IOException {
+        ReplicaLoadBalancer balancer =
+                new ReplicaLoadBalancer(BASE_URL, List.of(REPLICA_A, REPLICA_B), Duration.ofSeconds(5));
+        ClientHttpRequestExecution execution = (request, body) -> {
+            sent.add(request.getURI());
+            return request.getURI().toString().startsWith(REPLICA_A) ? tooManyRequests() : ok();
+        };
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(
+                    HttpStatus.OK,
+                    balancer.intercept(request(""), new byte[0], execution).getStatusCode());
+        }
+
+        assertTrue(sent.stream()
+                        .filter(uri -> uri.toString().startsWith(REPLICA_A))
+                        .count()
+                <= 1);
+    }
+
+    @Test
+    @DisplayName("intercept - should return the 429 when every replica is rate limited")
+    void intercept_shouldReturn429WhenAllReplicasAreLimited() throws IOException {
+        ReplicaLoadBalancer balancer =
+                new ReplicaLoadBalancer(BASE_URL, List.of(REPLICA_A, REPLICA_B), Duration.ofSeconds(5));
+
+        ClientHttpResponse response =
+                balancer.intercept(request(""), new byte[0], answering(HttpStatus.TOO_MANY_REQUESTS));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    @DisplayName("intercept - should keep the request outstanding until the response is closed")
+    void intercept_shouldReleaseOnClose() throws IOException {
+        ReplicaLoadBalancer balancer = new ReplicaLoadBalancer(BASE_URL, List.of(REPLICA_A), Duration.ofSeconds(5));
+        ReplicaLoadBalancer.Replica replica = balancer.choose(null);
+
+        ClientHttpResponse response = balancer.intercept(request(""), new byte[0], answering(HttpStatus.OK));
+
+        assertEquals(1, replica.outstanding());
+        response.close();
+        response.close();
+        assertEquals(0, replica.outstanding());
+    }
+
+    @Test
+    @DisplayName("intercept - should release the request when sending it fails")
+    void intercept_shouldReleaseOnFailure() {
+        ReplicaLoadBalancer balancer = new ReplicaLoadBalancer(BASE_URL, List.of(REPLICA_A), Duration.ofSeconds(5));
+        ReplicaLoadBalancer.Replica replica = balancer.choose(null);
+
+        assertThrows(
+                IOException.class,
+                () -> balancer.intercept(request(""), new byte[0], (request, body) -> {
+                    throw new IOException("connection reset");
+                }));
+
+        assertEquals(0, replica.outstanding());
+    }
+
+    private ClientHttpRequestExecution answering(HttpStatus status) {
+        return (request, body) -> {
+            sent.add(request.getURI());
+            return status == HttpStatus.OK ? ok() : tooManyRequests();
+        };
+    }
+
+    private static MockClientHttpRequest request(String path) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(BASE_URL + path));
+    }
+
+    private static ClientHttpResponse ok() {
+        return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    }
+
+    private static ClientHttpResponse tooManyRequests() {
+        MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "30");
+        return response;
+    }
+}
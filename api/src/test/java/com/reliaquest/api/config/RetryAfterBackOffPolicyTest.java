@@ -0,0 +1,92 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.web.client.HttpClientErrorException;
+
+class RetryAfterBackOffPolicyTest {
+
+    private final BackOffPolicy fallback = mock(BackOffPolicy.class);
+    private final List<Long> sleeps = new ArrayList<>();
+    private final RetryAfterBackOffPolicy policy =
+            new RetryAfterBackOffPolicy(fallback, Duration.ofSeconds(30), Duration.ofSeconds(60), sleeps::add);
+
+    @Test
+    @DisplayName("backOff - should sleep for the delta-seconds in Retry-After")
+    void backOff_shouldHonourRetryAfterSeconds() {
+        policy.backOff(policy.start(contextFailingWith(tooManyRequests("3"))));
+
+        assertEquals(List.of(3000L), sleeps);
+        verify(fallback, never()).backOff(any());
+    }
+
+    @Test
+    @DisplayName("backOff - should give up without waiting when Retry-After exceeds the maximum delay")
+    void backOff_shouldGiveUpOnLongRetryAfter() {
+        RetryContext retryContext = contextFailingWith(tooManyRequests("600"));
+
+        policy.backOff(policy.start(retryContext));
+
+        assertTrue(sleeps.isEmpty());
+        verify(retryContext).setExhaustedOnly();
+    }
+
+    @Test
+    @DisplayName("backOff - should give up when the next wait would pass the maximum elapsed time")
+    void backOff_shouldGiveUpPastMaxElapsed() {
+        RetryAfterBackOffPolicy shortPolicy =
+                new RetryAfterBackOffPolicy(fallback, Duration.ofSeconds(30), Duration.ofSeconds(20), sleeps::add);
+        RetryContext retryContext = contextFailingWith(tooManyRequests(null));
+
+        shortPolicy.backOff(shortPolicy.start(retryContext));
+
+        assertTrue(sleeps.isEmpty());
+        verify(retryContext).setExhaustedOnly();
+        verify(fallback, never()).backOff(any());
+    }
+
+    @Test
+    @DisplayName("backOff - should fall back when Retry-After is missing")
+    void backOff_shouldFallBackWithoutHeader() {
+        BackOffContext fallbackContext = mock(BackOffContext.class);
+        RetryContext retryContext = contextFailingWith(tooManyRequests(null));
+        when(fallback.start(retryContext)).thenReturn(fallbackContext);
+
+        policy.backOff(policy.start(retryContext));
+
+        assertTrue(sleeps.isEmpty());
+        verify(fallback).backOff(fallbackContext);
+    }
+
+    @Test
+    @DisplayName("retryAfter - should ignore values that are neither seconds nor an HTTP date")
+    void retryAfter_shouldIgnoreInvalidValues() {
+        assertNull(RetryAfterBackOffPolicy.retryAfter(tooManyRequests("soon")));
+        assertNull(RetryAfterBackOffPolicy.retryAfter(new IllegalStateException()));
+    }
+
+    private static RetryContext contextFailingWith(Throwable failure) {
+        RetryContext context = mock(RetryContext.class);
+        when(context.getLastThrowable()).thenReturn(failure);
+        return context;
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
@@ -0,0 +1,207 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.UpstreamCallScheduler.ClassPolicy;
+import com.reliaquest.api.config.UpstreamCallScheduler.Priority;
+import com.reliaquest.api.exception.UpstreamCallDroppedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class UpstreamCallSchedulerTest {
+
+    private static final URI EMPLOYEES = URI.create("http://localhost:8112/api/v1/employee");
+
+    private final CountDownLatch blockerStarted = new CountDownLatch(1);
+    private final CountDownLatch blockerRelease = new CountDownLatch(1);
+    private ExecutorService executor;
+    private MeterRegistry meterRegistry;
+    private UpstreamCallScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        useScheduler(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockerRelease.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("intercept - should serve waiting interactive calls before writes and background calls")
+    void intercept_shouldServeHigherPriorityFirst() throws Exception {
+        holdOnlySlot();
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> calls = new ArrayList<>();
+        for (Priority priority : List.of(Priority.BACKGROUND, Priority.WRITE, Priority.INTERACTIVE)) {
+            calls.add(executor.submit(() -> UpstreamCallScheduler.callAs(
+                    priority,
+                    () -> call((request, body) -> {
+                        sent.add(priority.name());
+                        return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                    }))));
+            awaitQueued(priority);
+        }
+
+        blockerRelease.countDown();
+        for (Future<?> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("INTERACTIVE", "WRITE", "BACKGROUND"), sent);
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.queue.wait")
+                        .tag("priority", "background")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("intercept - should drop a call that waited longer than its priority allows")
+    void intercept_shouldDropCallPastMaxWait() throws Exception {
+        useScheduler(Duration.ofMillis(50));
+        holdOnlySlot();
+
+        assertThrows(
+                UpstreamCallDroppedException.class,
+                () -> UpstreamCallScheduler.callAs(Priority.BACKGROUND, () -> call(ok())));
+
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("employee.upstream.dropped")
+                        .tag("priority", "background")
+                        .counter()
+                        .count());
+        assertEquals(0.0, queueDepth(Priority.BACKGROUND));
+    }
+
+    @Test
+    @DisplayName("intercept - should drop a queued call whose caller stopped waiting and keep the slot free")
+    void intercept_shouldDropInterruptedCall() throws Exception {
+        holdOnlySlot();
+        Future<?> abandoned = executor.submit(() -> call(ok()));
+        awaitQueued(Priority.INTERACTIVE);
+
+        abandoned.cancel(true);
+        while (queueDepth(Priority.INTERACTIVE) > 0) {
+            Thread.onSpinWait();
+        }
+        blockerRelease.countDown();
+
+        Future<?> next = executor.submit(() -> call(ok()));
+        next.get(5, TimeUnit.SECONDS);
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("employee.upstream.dropped")
+                        .tag("priority", "interactive")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("priorityOf - should classify reads as interactive and other methods as writes unless overridden")
+    void priorityOf_shouldClassifyByMethod() {
+        assertEquals(
+                Priority.INTERACTIVE,
+                UpstreamCallScheduler.priorityOf(new MockClientHttpRequest(HttpMethod.GET, EMPLOYEES)));
+        assertEquals(
+                Priority.WRITE,
+                UpstreamCallScheduler.priorityOf(new MockClientHttpRequest(HttpMethod.POST, EMPLOYEES)));
+        assertEquals(
+                Priority.BACKGROUND,
+                UpstreamCallScheduler.callAs(
+                        Priority.BACKGROUND,
+                        () -> UpstreamCallScheduler.priorityOf(new MockClientHttpRequest(HttpMethod.GET, EMPLOYEES))));
+    }
+
+    private void useScheduler(Duration backgroundMaxWait) {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new UpstreamCallScheduler(
+                1,
+                Map.of(
+                        Priority.INTERACTIVE, new ClassPolicy(8, Duration.ofSeconds(5)),
+                        Priority.WRITE, new ClassPolicy(4, Duration.ofSeconds(5)),
+                        Priority.BACKGROUND, new ClassPolicy(1, backgroundMaxWait)),
+                true,
+                Duration.ofSeconds(5),
+                meterRegistry);
+    }
+
+    /*
+     * Takes the single slot with a write that does not answer until the test lets it.
+     */
+    private void holdOnlySlot() throws InterruptedException {
+        executor.submit(() -> UpstreamCallScheduler.callAs(
+                Priority.WRITE,
+                () -> call((request, body) -> {
+                    blockerStarted.countDown();
+                    try {
+                        blockerRelease.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                })));
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    private Void call(ClientHttpRequestExecution execution) {
+        try {
+            scheduler
+                    .intercept(new MockClientHttpRequest(HttpMethod.GET, EMPLOYEES), new byte[0], execution)
+                    .close();
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitQueued(Priority priority) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queueDepth(priority) == 0) {
+            assertTrue(System.nanoTime() < deadline, "call was never queued");
+            Thread.onSpinWait();
+        }
+    }
+
+    private double queueDepth(Priority priority) {
+        return meterRegistry
+                .get("employee.upstream.queue.depth")
+                .tag("priority", priority.name().toLowerCase())
+                .gauge()
+                .value();
+    }
+
+    private static ClientHttpRequestExecution ok() {
+        return (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    }
+}
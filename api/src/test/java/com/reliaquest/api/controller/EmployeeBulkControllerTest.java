@@ -0,0 +1,67 @@
+package com.reliaquest.api.controller;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.api.model.BulkItemResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(EmployeeBulkController.class)
+class EmployeeBulkControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("POST /api/v1/employee/bulk - should return a result for every input in order")
+    void createEmployees_shouldReturnResultPerInput() throws Exception {
+        Employee employee = Employee.builder()
+                .id(UUID.randomUUID())
+                .name("Coleman Feest")
+                .salary(75000)
+                .age(30)
+                .title("Software Engineer")
+                .build();
+        when(employeeService.createEmployees(anyList()))
+                .thenReturn(List.of(BulkItemResult.of(employee), BulkItemResult.failed("name must not be blank")));
+
+        mockMvc.perform(post("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Coleman Feest\",\"salary\":75000,\"age\":30,"
+                                + "\"title\":\"Software Engineer\"},{\"salary\":1}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].data.employee_name").value("Coleman Feest"))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value("name must not be blank"));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/employee/bulk - should return the deleted names in order")
+    void deleteEmployeesById_shouldReturnNames() throws Exception {
+        when(employeeService.deleteEmployeesById(List.of("1", "2")))
+                .thenReturn(List.of(BulkItemResult.of("Coleman Feest"), BulkItemResult.failed("Employee not found")));
+
+        mockMvc.perform(delete("/api/v1/employee/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"1\",\"2\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data").value("Coleman Feest"))
+                .andExpect(jsonPath("$[1].error").value("Employee not found"));
+    }
+}
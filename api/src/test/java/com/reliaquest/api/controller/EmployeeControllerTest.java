@@ -7,10 +7,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -83,6 +85,28 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/employee?fields= - should write only the projected fields")
+    void getAllEmployees_shouldProjectFields() throws Exception {
+        Employee projected = Employee.builder()
+                .id(employee1.getId())
+                .name(employee1.getName())
+                .build();
+        when(employeeService.getAllEmployees(EnumSet.of(EmployeeField.ID, EmployeeField.NAME)))
+                .thenReturn(List.of(projected));
+
+        mockMvc.perform(get("/api/v1/employee").param("fields", "employee_name, id"))
+                .andExpect(status().isOk())
+                .andExpect(content()
+                        .json("[{\"id\":\"" + employee1.getId() + "\",\"employee_name\":\"Coleman Feest\"}]", true));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employee?fields= - should reject unknown fields")
+    void getAllEmployees_shouldRejectUnknownFields() throws Exception {
+        mockMvc.perform(get("/api/v1/employee").param("fields", "id,nickname")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/v1/employee/search/{searchString} - should return employees matching search string")
     void getEmployeesByNameSearch_shouldReturnMatchingEmployees() throws Exception {
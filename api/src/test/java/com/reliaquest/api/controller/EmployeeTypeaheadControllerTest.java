@@ -0,0 +1,51 @@
+package com.reliaquest.api.controller;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeTypeahead.Ranking;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(EmployeeTypeaheadController.class)
+class EmployeeTypeaheadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("GET /api/v1/employee/typeahead - should return completions in the requested order")
+    void getNameCompletions_shouldReturnNames() throws Exception {
+        when(employeeService.getNameCompletions("col", 5, Ranking.NAME))
+                .thenReturn(List.of("Coleman Feest", "John Coleman"));
+
+        mockMvc.perform(get("/api/v1/employee/typeahead")
+                        .param("prefix", "col")
+                        .param("limit", "5")
+                        .param("rankBy", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("Coleman Feest"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employee/typeahead - should reject an unknown ranking or a limit below 1")
+    void getNameCompletions_shouldRejectBadParameters() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/typeahead").param("prefix", "col").param("rankBy", "age"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/employee/typeahead").param("prefix", "col").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(employeeService);
+    }
+}
@@ -0,0 +1,169 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.service.EmployeeDataVersion;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+class EncodedResponseCacheFilterTest {
+
+    private static final String HIGHEST_SALARY = "/api/v1/employee/highestSalary";
+    private static final String FULL_LIST = "/api/v1/employee";
+
+    @Mock
+    private EmployeeDataVersion dataVersion;
+
+    private final AtomicInteger dispatches = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile String body = "450000";
+
+    private EncodedResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new EncodedResponseCacheFilter(dataVersion, false, DataSize.ofMegabytes(16));
+    }
+
+    @Test
+    @DisplayName("filter - should serve the encoded body without dispatching while the data version holds")
+    void filter_shouldServeEncodedBodyForSameVersion() throws Exception {
+        when(dataVersion.current()).thenReturn(1L);
+
+        MockHttpServletResponse first = get(HIGHEST_SALARY, null);
+        MockHttpServletResponse second = get(HIGHEST_SALARY, null);
+
+        assertEquals(1, dispatches.get());
+        assertEquals("450000", second.getContentAsString());
+        assertEquals(200, second.getStatus());
+        assertEquals("application/json", second.getContentType());
+        assertNotNull(first.getHeader(HttpHeaders.ETAG));
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("filter - should answer 304 when the client already has the current body")
+    void filter_shouldAnswerNotModifiedForMatchingETag() throws Exception {
+        when(dataVersion.current()).thenReturn(1L);
+        String etag = get(HIGHEST_SALARY, null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = get(HIGHEST_SALARY, etag);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("filter - should re-encode after the data version moves")
+    void filter_shouldReEncodeWhenVersionMoves() throws Exception {
+        when(dataVersion.current()).thenReturn(1L);
+        String oldETag = get(HIGHEST_SALARY, null).getHeader(HttpHeaders.ETAG);
+
+        when(dataVersion.current()).thenReturn(2L);
+        body = "500000";
+        MockHttpServletResponse response = get(HIGHEST_SALARY, oldETag);
+
+        assertEquals(2, dispatches.get());
+        assertEquals(200, response.getStatus());
+        assertEquals("500000", response.getContentAsString());
+        assertNotEquals(oldETag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("filter - should not keep error responses")
+    void filter_shouldNotCacheErrors() throws Exception {
+        when(dataVersion.current()).thenReturn(1L);
+        status = 429;
+        body = "Too many requests";
+
+        get(HIGHEST_SALARY, null);
+        status = 200;
+        body = "450000";
+        MockHttpServletResponse response = get(HIGHEST_SALARY, null);
+
+        assertEquals(2, dispatches.get());
+        assertEquals("450000", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("filter - should leave other endpoints alone")
+    void filter_shouldSkipOtherPaths() throws Exception {
+        get("/api/v1/employee/search/Jane", null);
+        get("/api/v1/employee/search/Jane", null);
+
+        assertEquals(2, dispatches.get());
+        verifyNoInteractions(dataVersion);
+    }
+
+    @Test
+    @DisplayName("filter - should not keep the full list unless full-list caching is enabled")
+    void filter_shouldSkipFullListByDefault() throws Exception {
+        get(FULL_LIST, null);
+        get(FULL_LIST, null);
+
+        assertEquals(2, dispatches.get());
+        verifyNoInteractions(dataVersion);
+    }
+
+    @Test
+    @DisplayName("filter - should keep the full list when enabled and within the size ceiling")
+    void filter_shouldServeFullListWhenEnabled() throws Exception {
+        filter = new EncodedResponseCacheFilter(dataVersion, true, DataSize.ofBytes(64));
+        when(dataVersion.current()).thenReturn(1L);
+
+        get(FULL_LIST, null);
+        MockHttpServletResponse response = get(FULL_LIST, null);
+
+        assertEquals(1, dispatches.get());
+        assertEquals("450000", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("filter - should serve a full list above the size ceiling without keeping it")
+    void filter_shouldNotKeepFullListAboveCeiling() throws Exception {
+        filter = new EncodedResponseCacheFilter(dataVersion, true, DataSize.ofBytes(4));
+        when(dataVersion.current()).thenReturn(1L);
+
+        get(FULL_LIST, null);
+        MockHttpServletResponse response = get(FULL_LIST, null);
+
+        assertEquals(2, dispatches.get());
+        assertEquals("450000", response.getContentAsString());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                dispatches.incrementAndGet();
+                resp.setStatus(status);
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.controller;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.api.model.SalaryHistogramBucket;
+import com.reliaquest.api.model.TitleSalaryStatistics;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(SalaryAnalyticsController.class)
+class SalaryAnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("GET /api/v1/employee/analytics/salary/percentiles - should key estimates by percentile")
+    void getSalaryPercentiles_shouldReturnRequestedPercentiles() throws Exception {
+        when(employeeService.getSalaryPercentiles(List.of(0.5, 99.9 / 100))).thenReturn(List.of(75000, 240000));
+
+        mockMvc.perform(get("/api/v1/employee/analytics/salary/percentiles").param("p", "50,99.9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.p50").value(75000))
+                .andExpect(jsonPath("$['p99.9']").value(240000));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employee/analytics/salary/percentiles - should reject percentiles outside 0 to 100")
+    void getSalaryPercentiles_shouldRejectOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/analytics/salary/percentiles").param("p", "50,101"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employee/analytics/salary/histogram - should return the buckets")
+    void getSalaryHistogram_shouldReturnBuckets() throws Exception {
+        when(employeeService.getSalaryHistogram()).thenReturn(List.of(new SalaryHistogramBucket(75000, 100000, 3)));
+
+        mockMvc.perform(get("/api/v1/employee/analytics/salary/histogram"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].from").value(75000))
+                .andExpect(jsonPath("$[0].to").value(100000))
+                .andExpect(jsonPath("$[0].count").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/employee/analytics/titles - should return statistics per title")
+    void getTitleStatistics_shouldReturnStatistics() throws Exception {
+        when(employeeService.getTitleStatistics())
+                .thenReturn(List.of(new TitleSalaryStatistics("Tech Lead", 2, 112500, 130000)));
+
+        mockMvc.perform(get("/api/v1/employee/analytics/titles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Tech Lead"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].averageSalary").value(112500.0))
+                .andExpect(jsonPath("$[0].maxSalary").value(130000));
+    }
+}
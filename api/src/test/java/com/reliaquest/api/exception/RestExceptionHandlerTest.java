@@ -8,6 +8,7 @@ import com.reliaquest.api.model.Status;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
@@ -49,6 +50,47 @@ class RestExceptionHandlerTest {
         assertEquals(Status.ERROR, response.getBody().getStatus());
     }
 
+    @Test
+    @DisplayName("handleTooManyRequestsException - should return 503 with the upstream Retry-After")
+    void handleTooManyRequestsException_shouldReturn503WithRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+        HttpClientErrorException.TooManyRequests exception = (HttpClientErrorException.TooManyRequests)
+                HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+
+        ResponseEntity<Response<Void>> response = restExceptionHandler.handleTooManyRequestsException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("60", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertEquals(Status.ERROR, response.getBody().getStatus());
+    }
+
+    @Test
+    @DisplayName("handleEmployeePageFetchException - should return 503 so the client can try again")
+    void handleEmployeePageFetchException_shouldReturn503() {
+        EmployeePageFetchException exception =
+                new EmployeePageFetchException(2000, mock(HttpClientErrorException.TooManyRequests.class));
+
+        ResponseEntity<Response<Void>> response = restExceptionHandler.handleEmployeePageFetchException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(Status.ERROR, response.getBody().getStatus());
+    }
+
+    @Test
+    @DisplayName("handleUpstreamCallDroppedException - should return 503 so the client can try again")
+    void handleUpstreamCallDroppedException_shouldReturn503() {
+        UpstreamCallDroppedException exception = new UpstreamCallDroppedException("dropped after 2000 ms");
+
+        ResponseEntity<Response<Void>> response = restExceptionHandler.handleUpstreamCallDroppedException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(Status.ERROR, response.getBody().getStatus());
+    }
+
     @Test
     @DisplayName("handleGenericException - should return 500 with error message")
     void handleGenericException_shouldReturn500WithErrorMessage() {
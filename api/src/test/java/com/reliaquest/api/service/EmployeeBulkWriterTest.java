@@ -0,0 +1,109 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.BulkItemResult;
+import com.reliaquest.api.model.Response;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+class EmployeeBulkWriterTest {
+
+    private ExecutorService executor;
+    private EmployeeBulkWriter bulkWriter;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        bulkWriter = new EmployeeBulkWriter(executor, 2, 2, 3, 1, Duration.ofSeconds(1), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("write - should send chunks and return one result per item in item order")
+    void write_shouldReturnResultsInItemOrder() {
+        List<List<String>> chunks = new CopyOnWriteArrayList<>();
+
+        List<BulkItemResult<String>> results = bulkWriter.write(List.of("a", "b", "c", "d", "e"), 2, chunk -> {
+            chunks.add(List.copyOf(chunk));
+            return ok(chunk.stream()
+                    .map(item -> BulkItemResult.of(item.toUpperCase()))
+                    .toList());
+        });
+
+        assertEquals(
+                List.of("A", "B", "C", "D", "E"),
+                results.stream().map(BulkItemResult::getData).toList());
+        assertEquals(3, chunks.size());
+        assertTrue(chunks.containsAll(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e"))));
+    }
+
+    @Test
+    @DisplayName("write - should retry a rate limited chunk")
+    void write_shouldRetryRateLimitedChunk() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        List<BulkItemResult<String>> results = bulkWriter.write(List.of("a"), 2, chunk -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw mock(HttpClientErrorException.TooManyRequests.class);
+            }
+            return ok(List.of(BulkItemResult.of("A")));
+        });
+
+        assertEquals("A", results.get(0).getData());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("write - should report a failed chunk on each of its items without retrying it")
+    void write_shouldFailItemsOfFailedChunkOnly() {
+        AtomicInteger failingAttempts = new AtomicInteger();
+
+        List<BulkItemResult<String>> results = bulkWriter.write(List.of("a", "b", "c"), 2, chunk -> {
+            if (chunk.contains("a")) {
+                failingAttempts.incrementAndGet();
+                throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null);
+            }
+            return ok(List.of(BulkItemResult.of("C")));
+        });
+
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).getError());
+        assertNotNull(results.get(1).getError());
+        assertEquals("C", results.get(2).getData());
+        assertEquals(1, failingAttempts.get());
+    }
+
+    @Test
+    @DisplayName("write - should fail the items of a chunk the Mock API answered with too few results")
+    void write_shouldFailItemsWithoutResult() {
+        List<BulkItemResult<String>> results =
+                bulkWriter.write(List.of("a", "b"), 2, chunk -> ok(List.of(BulkItemResult.of("A"))));
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getData() == null && result.getError() != null));
+    }
+
+    private static ResponseEntity<Response<List<BulkItemResult<String>>>> ok(List<BulkItemResult<String>> results) {
+        Response<List<BulkItemResult<String>>> response = new Response<>();
+        response.setData(results);
+        return ResponseEntity.ok(response);
+    }
+}
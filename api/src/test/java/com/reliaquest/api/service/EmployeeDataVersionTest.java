@@ -0,0 +1,92 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.Response;
+import com.reliaquest.api.service.UpstreamCapabilities.QueryCapability;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeDataVersionTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private UpstreamCapabilities capabilities;
+
+    @Mock
+    private EmployeeShards shards;
+
+    private EmployeeDataVersion dataVersion;
+
+    @BeforeEach
+    void setUp() {
+        // A zero interval reads the upstream version on every call
+        dataVersion = new EmployeeDataVersion(restTemplate, capabilities, shards, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("current - should move only when the upstream version changes beyond our own changes")
+    void current_shouldFollowUpstreamVersion() {
+        when(capabilities.supports(QueryCapability.DATA_VERSION)).thenReturn(true);
+        when(restTemplate.exchange(eq("/version"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(version(7L))
+                .thenReturn(version(7L))
+                .thenReturn(version(9L))
+                .thenReturn(version(9L));
+
+        long first = dataVersion.current();
+        assertEquals(first, dataVersion.current());
+        long changed = dataVersion.changed();
+        assertEquals(changed + 1, dataVersion.current());
+        assertEquals(changed + 1, dataVersion.current());
+    }
+
+    @Test
+    @DisplayName("current - should keep the version when the upstream version cannot be read")
+    void current_shouldKeepVersionWhenReadFails() {
+        when(capabilities.supports(QueryCapability.DATA_VERSION)).thenReturn(true);
+        when(restTemplate.exchange(eq("/version"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(version(7L))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null))
+                .thenReturn(ResponseEntity.ok(new Response<>()))
+                .thenReturn(version(8L));
+
+        long first = dataVersion.current();
+        assertEquals(first, dataVersion.current());
+        long changed = dataVersion.changed();
+        assertEquals(changed, dataVersion.current());
+        // The server counted our change while reads were failing, so nothing else changed
+        assertEquals(changed, dataVersion.current());
+    }
+
+    @Test
+    @DisplayName("current - should assume a change every interval when the server has no data version")
+    void current_shouldMoveEveryIntervalWithoutDataVersion() {
+        long first = dataVersion.current();
+
+        assertEquals(first + 1, dataVersion.current());
+        verifyNoInteractions(restTemplate);
+    }
+
+    private static ResponseEntity<Response<Long>> version(Long version) {
+        Response<Long> response = new Response<>();
+        response.setData(version);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,195 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.EmployeePageFetchException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.Response;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeePageFetcherTest {
+
+    private static final String PAGE_URI = "?limit={limit}&cursor={cursor}&until={until}";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private ExecutorService executor;
+    private EmployeePageFetcher pageFetcher;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        pageFetcher = new EmployeePageFetcher(
+                restTemplate,
+                executor,
+                EmployeePageFetcher.FetchMode.PAGED,
+                2,
+                2,
+                3,
+                1,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("forEachPage - should deliver every page in cursor order")
+    void forEachPage_shouldDeliverPagesInOrder() {
+        stubPage(0L, Long.MAX_VALUE, page("A", "B"), "2", "6");
+        stubPage(2L, 4L, page("C", "D"), null, "6");
+        stubPage(4L, 6L, page("E"), null, "6");
+
+        List<String> names = new ArrayList<>();
+        pageFetcher.forEachPage(page -> page.forEach(employee -> names.add(employee.getName())));
+
+        assertEquals(List.of("A", "B", "C", "D", "E"), names);
+    }
+
+    @Test
+    @DisplayName("forEachPage - should retry only the page that was rate limited")
+    void forEachPage_shouldRetryFailedPageOnly() {
+        stubPage(0L, Long.MAX_VALUE, page("A", "B"), "2", "4");
+        when(restTemplate.exchange(
+                        eq(PAGE_URI),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq(2),
+                        eq(2L),
+                        eq(4L)))
+                .thenThrow(mock(HttpClientErrorException.TooManyRequests.class))
+                .thenReturn(ResponseEntity.ok()
+                        .header(EmployeePageFetcher.WATERMARK_HEADER, "4")
+                        .body(page("C", "D")));
+
+        List<String> names = new ArrayList<>();
+        pageFetcher.forEachPage(page -> page.forEach(employee -> names.add(employee.getName())));
+
+        assertEquals(List.of("A", "B", "C", "D"), names);
+        verify(restTemplate, times(1))
+                .exchange(
+                        eq(PAGE_URI),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq(2),
+                        eq(0L),
+                        eq(Long.MAX_VALUE));
+        verify(restTemplate, times(2))
+                .exchange(
+                        eq(PAGE_URI),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq(2),
+                        eq(2L),
+                        eq(4L));
+    }
+
+    @Test
+    @DisplayName("forEachPage - should fail with a non rate-limit error once a page runs out of retries")
+    void forEachPage_shouldWrapExhaustedPage() {
+        stubPage(0L, Long.MAX_VALUE, page("A", "B"), "2", "4");
+        HttpClientErrorException.TooManyRequests tooManyRequests = mock(HttpClientErrorException.TooManyRequests.class);
+        when(restTemplate.exchange(
+                        eq(PAGE_URI),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq(2),
+                        eq(2L),
+                        eq(4L)))
+                .thenThrow(tooManyRequests);
+
+        EmployeePageFetchException exception =
+                assertThrows(EmployeePageFetchException.class, () -> pageFetcher.forEachPage(page -> {}));
+
+        assertSame(tooManyRequests, exception.getCause());
+        verify(restTemplate, times(3))
+                .exchange(
+                        eq(PAGE_URI),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq(2),
+                        eq(2L),
+                        eq(4L));
+    }
+
+    @Test
+    @DisplayName("isEnabled - should be false in single fetch mode")
+    void isEnabled_shouldBeFalseInSingleMode() {
+        EmployeePageFetcher singleFetcher = new EmployeePageFetcher(
+                restTemplate,
+                executor,
+                EmployeePageFetcher.FetchMode.SINGLE,
+                2,
+                2,
+                3,
+                1,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(10));
+
+        assertFalse(singleFetcher.isEnabled());
+        assertTrue(pageFetcher.isEnabled());
+    }
+
+    private void stubPage(long cursor, long until, Response<List<Employee>> body, String next, String watermark) {
+        ResponseEntity.BodyBuilder builder =
+                ResponseEntity.ok().header(EmployeePageFetcher.WATERMARK_HEADER, watermark);
+        if (next != null) {
+            builder.header(EmployeePageFetcher.NEXT_CURSOR_HEADER, next);
+        }
+        when(restTemplate.exchange(
+                        eq(PAGE_URI),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq(2),
+                        eq(cursor),
+                        eq(until)))
+                .thenReturn(builder.body(body));
+    }
+
+    private static Response<List<Employee>> page(String... names) {
+        List<Employee> employees = new ArrayList<>();
+        for (String name : names) {
+            employees.add(Employee.builder()
+                    .id(UUID.randomUUID())
+                    .name(name)
+                    .salary(50000)
+                    .age(30)
+                    .title("Developer")
+                    .email(name.toLowerCase() + "@company.com")
+                    .build());
+        }
+        Response<List<Employee>> response = new Response<>();
+        response.setData(employees);
+        return response;
+    }
+}
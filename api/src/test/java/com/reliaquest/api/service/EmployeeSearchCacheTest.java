@@ -0,0 +1,81 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class EmployeeSearchCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("get - should reuse a result for the same normalized search string and data version")
+    void get_shouldHitForSameSearchAndVersion() {
+        EmployeeSearchCache cache = new EmployeeSearchCache(meterRegistry, true, DataSize.ofMegabytes(1));
+        AtomicInteger searches = new AtomicInteger();
+
+        cache.get("Coleman", 1L, () -> counted(searches, employees(2)));
+        List<Employee> result = cache.get("coleman", 1L, () -> counted(searches, employees(2)));
+
+        assertEquals(2, result.size());
+        assertEquals(1, searches.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("cache.gets")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("get - should search again once the data version moves")
+    void get_shouldMissAfterVersionChange() {
+        EmployeeSearchCache cache = new EmployeeSearchCache(meterRegistry, true, DataSize.ofMegabytes(1));
+        AtomicInteger searches = new AtomicInteger();
+
+        cache.get("coleman", 1L, () -> counted(searches, employees(2)));
+        List<Employee> result = cache.get("coleman", 2L, () -> counted(searches, employees(3)));
+
+        assertEquals(3, result.size());
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    @DisplayName("weigh - should grow with the size of the result")
+    void weigh_shouldReflectResultSize() {
+        int small = EmployeeSearchCache.weigh("a", new EmployeeSearchCache.SearchResult(1L, employees(1)));
+        int large = EmployeeSearchCache.weigh("a", new EmployeeSearchCache.SearchResult(1L, employees(1000)));
+
+        assertTrue(large > small * 500, "small=" + small + ", large=" + large);
+    }
+
+    private static List<Employee> counted(AtomicInteger searches, List<Employee> result) {
+        searches.incrementAndGet();
+        return result;
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Employee " + i)
+                    .salary(50000)
+                    .age(30)
+                    .title("Developer")
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -9,6 +9,7 @@ import com.reliaquest.api.model.Response;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-@SpringBootTest(properties = {"spring.retry.enabled=true"})
+@SpringBootTest(properties = {"spring.retry.enabled=true", "employee.api.warm-up.enabled=false"})
 @DisplayName("EmployeeService Retry Integration Tests")
 class EmployeeServiceRetryTest {
 
@@ -30,6 +31,24 @@ class EmployeeServiceRetryTest {
     @Autowired
     private EmployeeService employeeService;
 
+    /*
+     * Reading the list first asks the Mock API for its capabilities and data version; both answer normally so that
+     * only the list call is rate limited.
+     */
+    @BeforeEach
+    void stubDataVersion() {
+        Response<List<String>> capabilities = new Response<>();
+        capabilities.setData(List.of("data-version"));
+        when(restTemplate.exchange(
+                        eq("/capabilities"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(capabilities));
+
+        Response<Long> version = new Response<>();
+        version.setData(7L);
+        when(restTemplate.exchange(eq("/version"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(version));
+    }
+
     @Test
     @DisplayName("getAllEmployees - should retry on 429 TooManyRequests and succeed on subsequent attempt")
     void getAllEmployees_shouldRetryOn429AndSucceed() {
@@ -4,13 +4,20 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.model.BulkItemResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.model.Response;
+import com.reliaquest.api.service.UpstreamCapabilities.QueryCapability;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,8 +27,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +40,39 @@ class EmployeeServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private EmployeePageFetcher pageFetcher;
+
+    @Mock
+    private UpstreamCapabilities capabilities;
+
+    @Mock
+    private EmployeeShards shards;
+
+    @Mock
+    private RequestHedger hedger;
+
+    @Mock
+    private EmployeeDataVersion dataVersion;
+
+    @Mock
+    private UnknownEmployeeIds unknownIds;
+
+    @Mock
+    private EmployeeSearchCache searchCache;
+
+    @Mock
+    private EmployeeSnapshotCache snapshots;
+
+    @Mock
+    private SalaryAnalytics analytics;
+
+    @Mock
+    private EmployeeTypeahead typeahead;
+
+    @Mock
+    private EmployeeBulkWriter bulkWriter;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -101,6 +144,30 @@ class EmployeeServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("getAllEmployees - should pass a field projection on to the Mock API when it supports one")
+    void getAllEmployees_shouldPushProjectionDown() {
+        Employee projected = Employee.builder()
+                .id(employee1.getId())
+                .name(employee1.getName())
+                .build();
+        Response<List<Employee>> response = new Response<>();
+        response.setData(List.of(projected));
+
+        when(capabilities.supports(QueryCapability.FIELD_PROJECTION)).thenReturn(true);
+        when(restTemplate.exchange(
+                        eq("?fields={fields}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq("id,name")))
+                .thenReturn(ResponseEntity.ok(response));
+
+        List<Employee> result = employeeService.getAllEmployees(EnumSet.of(EmployeeField.NAME, EmployeeField.ID));
+
+        assertEquals(List.of(projected), result);
+    }
+
     @Test
     @DisplayName("getEmployeeById - should return employee when found")
     void getEmployeeById_shouldReturnEmployee() {
@@ -119,6 +186,28 @@ class EmployeeServiceTest {
         assertEquals(75000, result.getSalary());
     }
 
+    @Test
+    @DisplayName("getEmployeeById - should answer known missing ids without calling the API")
+    void getEmployeeById_shouldRejectKnownMissingIdLocally() {
+        String id = UUID.randomUUID().toString();
+        when(unknownIds.isKnownMissing(id)).thenReturn(true);
+
+        assertThrows(HttpClientErrorException.NotFound.class, () -> employeeService.getEmployeeById(id));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("getEmployeeById - should remember ids the API does not know")
+    void getEmployeeById_shouldRecordMiss() {
+        String id = UUID.randomUUID().toString();
+        when(restTemplate.exchange(
+                        eq("/{id}"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class), eq(id)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThrows(HttpClientErrorException.NotFound.class, () -> employeeService.getEmployeeById(id));
+        verify(unknownIds).missed(id);
+    }
+
     @Test
     @DisplayName("getEmployeesByNameSearch - should return employees matching search string (case-insensitive)")
     void getEmployeesByNameSearch_shouldReturnMatchingEmployees() {
@@ -193,6 +282,113 @@ class EmployeeServiceTest {
         assertEquals("Coleman Feest", result.get(2));
     }
 
+    @Test
+    @DisplayName("getTopTenHighestEarningEmployeeNames - should rank the cached snapshot when it is enabled")
+    void getTopTenHighestEarningEmployeeNames_shouldUseSnapshot() {
+        Response<List<Employee>> response = new Response<>();
+        response.setData(employees);
+        when(restTemplate.exchange(eq(""), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(response));
+        when(dataVersion.current()).thenReturn(4L);
+        when(snapshots.isEnabled()).thenReturn(true);
+        when(snapshots.get(eq(4L), any()))
+                .thenAnswer(invocation -> EmployeeSnapshot.of(
+                        invocation.<Supplier<List<Employee>>>getArgument(1).get()));
+
+        List<String> result = employeeService.getTopTenHighestEarningEmployeeNames();
+
+        assertEquals(List.of("John Coleman", "Mel Howell", "Coleman Feest"), result);
+        verify(unknownIds).allKnown(employees, 4L);
+    }
+
+    @Test
+    @DisplayName("getEmployeesByNameSearch - should push the search down when the server supports it")
+    void getEmployeesByNameSearch_shouldUseServerSearchWhenSupported() {
+        Response<List<Employee>> response = new Response<>();
+        response.setData(Arrays.asList(employee1, employee3));
+
+        when(capabilities.supports(QueryCapability.NAME_SEARCH)).thenReturn(true);
+        when(restTemplate.exchange(
+                        eq("/search/{searchString}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq("coleman")))
+                .thenReturn(ResponseEntity.ok(response));
+
+        List<Employee> result = employeeService.getEmployeesByNameSearch("coleman");
+
+        assertEquals(2, result.size());
+        verify(restTemplate, never())
+                .exchange(eq(""), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @DisplayName("getHighestSalary - should push the aggregation down when the server supports it")
+    void getHighestSalary_shouldUseServerAggregateWhenSupported() {
+        Response<Integer> response = new Response<>();
+        response.setData(95000);
+
+        when(capabilities.supports(QueryCapability.HIGHEST_SALARY)).thenReturn(true);
+        when(restTemplate.exchange(
+                        eq("/highestSalary"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(response));
+
+        Integer result = employeeService.getHighestSalary();
+
+        assertEquals(95000, result);
+        verify(restTemplate, never())
+                .exchange(eq(""), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @DisplayName("getTopTenHighestEarningEmployeeNames - should request the top ten from the server when supported")
+    void getTopTenHighestEarningEmployeeNames_shouldUseServerTopEarnersWhenSupported() {
+        Response<List<Employee>> response = new Response<>();
+        response.setData(Arrays.asList(employee3, employee2, employee1));
+
+        when(capabilities.supports(QueryCapability.TOP_EARNERS)).thenReturn(true);
+        when(restTemplate.exchange(
+                        eq("/topEarners?limit={limit}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq(10)))
+                .thenReturn(ResponseEntity.ok(response));
+
+        List<String> result = employeeService.getTopTenHighestEarningEmployeeNames();
+
+        assertEquals(Arrays.asList("John Coleman", "Mel Howell", "Coleman Feest"), result);
+    }
+
+    @Test
+    @DisplayName("getTopTenHighestEarningEmployeeNames - should merge the top earners of every shard")
+    void getTopTenHighestEarningEmployeeNames_shouldMergeShardTopEarners() {
+        RestTemplate firstShard = mock(RestTemplate.class);
+        RestTemplate secondShard = mock(RestTemplate.class);
+        stubAllEmployees(firstShard, employee1, employee3);
+        stubAllEmployees(secondShard, employee2);
+        stubShards(firstShard, secondShard);
+
+        List<String> result = employeeService.getTopTenHighestEarningEmployeeNames();
+
+        assertEquals(Arrays.asList("John Coleman", "Mel Howell", "Coleman Feest"), result);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("getHighestSalary - should take the highest salary across shards")
+    void getHighestSalary_shouldAggregateAcrossShards() {
+        RestTemplate firstShard = mock(RestTemplate.class);
+        RestTemplate secondShard = mock(RestTemplate.class);
+        stubAllEmployees(firstShard, employee1);
+        stubAllEmployees(secondShard, employee3, employee2);
+        stubShards(firstShard, secondShard);
+
+        assertEquals(95000, employeeService.getHighestSalary());
+        assertEquals(3, employeeService.getAllEmployees().size());
+    }
+
     @Test
     @DisplayName("createEmployee - should create and return new employee")
     void createEmployee_shouldReturnCreatedEmployee() {
@@ -247,6 +443,8 @@ class EmployeeServiceTest {
         String result = employeeService.deleteEmployeeById(id);
 
         assertEquals("Coleman Feest", result);
+        verify(analytics).deleted(employee1, 0L);
+        verify(typeahead).deleted(employee1, 0L);
     }
 
     @Test
@@ -272,4 +470,104 @@ class EmployeeServiceTest {
 
         assertNull(result);
     }
+
+    @Test
+    @DisplayName("createEmployees - should send the inputs to the bulk endpoint and record each created employee")
+    void createEmployees_shouldUseBulkEndpoint() {
+        EmployeeInput input = new EmployeeInput();
+        input.setName("Coleman Feest");
+        input.setSalary(75000);
+        input.setAge(30);
+        input.setTitle("Software Engineer");
+
+        Response<List<BulkItemResult<Employee>>> response = new Response<>();
+        response.setData(List.of(BulkItemResult.of(employee1), BulkItemResult.failed("name must not be blank")));
+
+        when(capabilities.supports(QueryCapability.BULK)).thenReturn(true);
+        when(bulkWriter.getChunkSize()).thenReturn(1000);
+        stubBulkWriter();
+        when(restTemplate.exchange(
+                        eq("/bulk"), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(response));
+
+        List<BulkItemResult<Employee>> results = employeeService.createEmployees(List.of(input, new EmployeeInput()));
+
+        assertEquals(employee1, results.get(0).getData());
+        assertEquals("name must not be blank", results.get(1).getError());
+        verify(bulkWriter).write(anyList(), eq(1000), any());
+        verify(unknownIds).created(employee1.getId(), 0L);
+        verify(analytics).created(employee1, 0L);
+        verify(typeahead).created(employee1, 0L);
+        verifyNoMoreInteractions(analytics, typeahead);
+    }
+
+    @Test
+    @DisplayName("deleteEmployeesById - should delete one by one without a bulk endpoint and report unknown ids")
+    void deleteEmployeesById_shouldFallBackToSingleDeletes() {
+        String id = employee1.getId().toString();
+        String unknownId = UUID.randomUUID().toString();
+
+        Response<Employee> getResponse = new Response<>();
+        getResponse.setData(employee1);
+
+        Response<Boolean> deleteResponse = new Response<>();
+        deleteResponse.setData(true);
+
+        stubBulkWriter();
+        when(restTemplate.exchange(
+                        eq("/{id}"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class), eq(id)))
+                .thenReturn(ResponseEntity.ok(getResponse));
+        when(restTemplate.exchange(
+                        eq("/{id}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        any(ParameterizedTypeReference.class),
+                        eq(unknownId)))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+        when(restTemplate.exchange(
+                        eq(""), eq(HttpMethod.DELETE), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(deleteResponse));
+
+        List<BulkItemResult<String>> results = employeeService.deleteEmployeesById(List.of(id, unknownId));
+
+        assertEquals("Coleman Feest", results.get(0).getData());
+        assertEquals("Employee not found", results.get(1).getError());
+        verify(bulkWriter).write(anyList(), eq(1), any());
+        verify(analytics).deleted(employee1, 0L);
+        verify(typeahead).deleted(employee1, 0L);
+    }
+
+    /*
+     * Runs the bulk writer's chunks one after another on the calling thread.
+     */
+    private void stubBulkWriter() {
+        when(bulkWriter.write(anyList(), anyInt(), any())).thenAnswer(invocation -> {
+            List<Object> items = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+            Function<List<Object>, ResponseEntity<Response<List<Object>>>> send = invocation.getArgument(2);
+            List<Object> results = new ArrayList<>();
+            for (int from = 0; from < items.size(); from += size) {
+                List<Object> chunk = items.subList(from, Math.min(from + size, items.size()));
+                results.addAll(send.apply(chunk).getBody().getData());
+            }
+            return results;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubShards(RestTemplate... shardTemplates) {
+        when(shards.isEnabled()).thenReturn(true);
+        when(shards.onAllShards(any())).thenAnswer(invocation -> {
+            Function<RestTemplate, Object> call = invocation.getArgument(0);
+            return Arrays.stream(shardTemplates).map(call).toList();
+        });
+    }
+
+    private static void stubAllEmployees(RestTemplate shard, Employee... shardEmployees) {
+        Response<List<Employee>> response = new Response<>();
+        response.setData(Arrays.asList(shardEmployees));
+        when(shard.exchange(eq(""), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(response));
+    }
 }
@@ -0,0 +1,142 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.UpstreamCallScheduler;
+import com.reliaquest.api.config.UpstreamCallScheduler.ClassPolicy;
+import com.reliaquest.api.config.UpstreamCallScheduler.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class EmployeeShardsTest {
+
+    private static final List<String> SHARD_URLS = List.of(
+            "http://localhost:8112/api/v1/employee",
+            "http://localhost:8113/api/v1/employee",
+            "http://localhost:8114/api/v1/employee");
+
+    private ExecutorService executor;
+    private EmployeeShards shards;
+    private List<RestTemplate> shardTemplates;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        shards = new EmployeeShards(new RestTemplateBuilder(), schedulers(null), SHARD_URLS, executor);
+        shardTemplates = shards.onAllShards(shard -> shard);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("onShardFor - should place keys consistently and spread them over every shard")
+    void onShardFor_shouldBeConsistentAndBalanced() {
+        Map<RestTemplate, Integer> placements = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String name = "Employee " + i;
+            RestTemplate shard = shards.onShardFor(name, template -> template);
+            assertSame(shard, shards.onShardFor(name, template -> template));
+            placements.merge(shard, 1, Integer::sum);
+        }
+
+        assertEquals(3, placements.size());
+        placements.values().forEach(count -> assertTrue(count > 600, "unbalanced ring: " + placements));
+    }
+
+    @Test
+    @DisplayName("onOwnerOf - should ask every shard once and then go straight to the owner")
+    void onOwnerOf_shouldRememberOwner() {
+        AtomicInteger calls = new AtomicInteger();
+        RestTemplate owner = shardTemplates.get(2);
+
+        for (int i = 0; i < 2; i++) {
+            String result = shards.onOwnerOf("id-1", shard -> {
+                calls.incrementAndGet();
+                if (shard != owner) {
+                    throw notFound();
+                }
+                return "found";
+            });
+            assertEquals("found", result);
+        }
+
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("onOwnerOf - should throw not found when no shard owns the id")
+    void onOwnerOf_shouldThrowWhenNoShardOwnsId() {
+        assertThrows(
+                HttpClientErrorException.NotFound.class,
+                () -> shards.onOwnerOf("missing", shard -> {
+                    throw notFound();
+                }));
+    }
+
+    @Test
+    @DisplayName("isEnabled - should be off with a single upstream")
+    void isEnabled_shouldBeOffForSingleUpstream() {
+        EmployeeShards single =
+                new EmployeeShards(new RestTemplateBuilder(), schedulers(null), SHARD_URLS.subList(0, 1), executor);
+
+        assertFalse(single.isEnabled());
+        assertTrue(shards.isEnabled());
+    }
+
+    @Test
+    @DisplayName("onAllShards - should send every shard call through the scheduler with the caller's priority")
+    void onAllShards_shouldUseSchedulerAndPriority() {
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(
+                1,
+                Map.of(
+                        Priority.INTERACTIVE, new ClassPolicy(8, Duration.ofSeconds(1)),
+                        Priority.WRITE, new ClassPolicy(4, Duration.ofSeconds(1)),
+                        Priority.BACKGROUND, new ClassPolicy(1, Duration.ofSeconds(1))),
+                false,
+                Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+        EmployeeShards scheduled =
+                new EmployeeShards(new RestTemplateBuilder(), schedulers(scheduler), SHARD_URLS, executor);
+
+        List<Priority> priorities = UpstreamCallScheduler.callAs(
+                Priority.BACKGROUND,
+                () -> scheduled.onAllShards(shard -> {
+                    assertTrue(shard.getInterceptors().contains(scheduler));
+                    return UpstreamCallScheduler.currentPriority();
+                }));
+
+        assertEquals(List.of(Priority.BACKGROUND, Priority.BACKGROUND, Priority.BACKGROUND), priorities);
+    }
+
+    private static ObjectProvider<UpstreamCallScheduler> schedulers(UpstreamCallScheduler scheduler) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (scheduler != null) {
+            beanFactory.addBean("upstreamCallScheduler", scheduler);
+        }
+        return beanFactory.getBeanProvider(UpstreamCallScheduler.class);
+    }
+
+    private static HttpClientErrorException notFound() {
+        return HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotCacheTest {
+
+    private final EmployeeSnapshotCache cache =
+            new EmployeeSnapshotCache(true, EmployeeSnapshotCache.Storage.ON_HEAP, ForkJoinPool.commonPool(), 100_000);
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    @DisplayName("get - should build once per version")
+    void get_shouldReuseSnapshotForSameVersion() {
+        EmployeeSnapshot first = cache.get(1, () -> fetch("Jane Doe"));
+        EmployeeSnapshot second = cache.get(1, () -> fetch("John Smith"));
+
+        assertSame(first, second);
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    @DisplayName("get - should keep a newer snapshot when asked for an older version")
+    void get_shouldNotReplaceNewerSnapshot() {
+        EmployeeSnapshot newer = cache.get(5, () -> fetch("Jane Doe"));
+
+        EmployeeSnapshot returned = cache.get(4, () -> fetch("John Smith"));
+
+        assertSame(newer, returned);
+        assertSame(newer, cache.latest());
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    @DisplayName("get - should rebuild once the version moves past the cached one")
+    void get_shouldRebuildForNewerVersion() {
+        EmployeeSnapshot older = cache.get(1, () -> fetch("Jane Doe"));
+
+        EmployeeSnapshot newer = cache.get(2, () -> fetch("John Smith"));
+
+        assertNotSame(older, newer);
+        assertEquals("John Smith", newer.employee(0).getName());
+        assertEquals(2, fetches.get());
+    }
+
+    private List<Employee> fetch(String name) {
+        fetches.incrementAndGet();
+        return List.of(Employee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build());
+    }
+}
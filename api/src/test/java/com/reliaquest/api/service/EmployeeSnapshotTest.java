@@ -0,0 +1,154 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+    @Test
+    @DisplayName("employee - should rebuild every field, including missing ones")
+    void employee_shouldRoundTripFields() {
+        List<Employee> employees = List.of(
+                employee("Coleman Feest", 75000, "Software Engineer", "coleman@company.com"),
+                employee("Mel Howell", 85000, "Software Engineer", "howell@company.com"),
+                employee("John Coleman", 95000, "Tech Lead", "john@other.org"),
+                new Employee(null, null, null, null, null, null));
+
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(employees);
+
+        assertEquals(employees, snapshot.asList());
+        assertEquals(2, snapshot.titleDictionarySize());
+    }
+
+    @Test
+    @DisplayName("highestSalary - should skip missing salaries and return 0 when there are none")
+    void highestSalary_shouldIgnoreMissingSalaries() {
+        Employee unpaid = employee("Jane Doe", null, "Intern", "jane@company.com");
+
+        assertEquals(
+                95000,
+                EmployeeSnapshot.of(List.of(unpaid, employee("John Coleman", 95000, "Tech Lead", "j@company.com")))
+                        .highestSalary());
+        assertEquals(0, EmployeeSnapshot.of(List.of(unpaid)).highestSalary());
+    }
+
+    @Test
+    @DisplayName("topEarners - should rank like a stable sort by salary descending")
+    void topEarners_shouldMatchStableSort() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(employee("Employee " + i, (i * 7919) % 50 * 1000, "Title " + i % 5, i + "@company.com"));
+        }
+        employees.add(employee(null, 1_000_000, "Ghost", "ghost@company.com"));
+
+        List<Employee> expected = employees.stream()
+                .filter(employee -> employee.getName() != null && employee.getSalary() != null)
+                .sorted((e1, e2) -> e2.getSalary().compareTo(e1.getSalary()))
+                .limit(10)
+                .toList();
+
+        assertEquals(expected, EmployeeSnapshot.of(employees).topEarners(10));
+    }
+
+    @Test
+    @DisplayName("searchByName - should match names case-insensitively")
+    void searchByName_shouldMatchIgnoringCase() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(List.of(
+                employee("Coleman Feest", 75000, "Software Engineer", "coleman@company.com"),
+                employee("Mel Howell", 85000, "Senior Engineer", "howell@company.com"),
+                employee("John Coleman", 95000, "Tech Lead", "john@company.com")));
+
+        assertEquals(
+                List.of("Coleman Feest", "John Coleman"),
+                snapshot.searchByName("coleman").stream().map(Employee::getName).toList());
+    }
+
+    @Test
+    @DisplayName("asList - should set only the projected fields, in both storage modes")
+    void asList_shouldProjectFields() {
+        Employee coleman = employee("Coleman Feest", 75000, "Software Engineer", "coleman@company.com");
+        List<Employee> employees = List.of(coleman, new Employee(null, null, null, null, null, null));
+        Set<EmployeeField> fields = EnumSet.of(EmployeeField.ID, EmployeeField.NAME);
+        List<Employee> expected = List.of(
+                Employee.builder().id(coleman.getId()).name("Coleman Feest").build(),
+                new Employee(null, null, null, null, null, null));
+
+        assertEquals(expected, EmployeeSnapshot.of(employees).asList(fields));
+        assertEquals(expected, new OffHeapEmployeeSnapshot(employees).asList(fields));
+    }
+
+    @Test
+    @DisplayName("offHeap - should store the same rows and answer the same queries as the on-heap snapshot")
+    void offHeap_shouldMatchOnHeapSnapshot() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            employees.add(employee("Employee " + i, (i * 7919) % 50 * 1000, "Title " + i % 5, i + "@company.com"));
+        }
+        employees.add(employee("Zo\u00eb \u00c5ngstr\u00f6m", 60000, "Designer", "zoe@company.com"));
+        employees.add(employee("\u00c9MILE COLEMAN", 61000, null, null));
+        employees.add(new Employee(null, null, null, null, null, null));
+
+        EmployeeSnapshot onHeap = EmployeeSnapshot.of(employees);
+        EmployeeSnapshot offHeap = new OffHeapEmployeeSnapshot(employees);
+
+        assertEquals(employees, offHeap.asList());
+        assertEquals(onHeap.highestSalary(), offHeap.highestSalary());
+        assertEquals(onHeap.topEarners(10), offHeap.topEarners(10));
+        List<String> searches =
+                List.of("employee 4", "o\u00eb", "\u00e5ngstr\u00f6m", "\u00e9mile", "coleman", "missing");
+        for (String search : searches) {
+            assertEquals(onHeap.searchByName(search), offHeap.searchByName(search), search);
+        }
+    }
+
+    @Test
+    @DisplayName("parallelAbove - should return exactly what the sequential scan returns")
+    void parallelAbove_shouldMatchSequentialResults() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            String name = i % 7 == 0 ? null : "Employee " + i;
+            Integer salary = i % 11 == 0 ? null : (i * 7919) % 300 * 1000;
+            employees.add(employee(name, salary, "Title " + i % 5, i + "@company.com"));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<EmployeeSnapshot> sequential =
+                    List.of(EmployeeSnapshot.of(employees), new OffHeapEmployeeSnapshot(employees));
+            List<EmployeeSnapshot> parallel = List.of(
+                    EmployeeSnapshot.of(employees).parallelAbove(1, pool),
+                    new OffHeapEmployeeSnapshot(employees).parallelAbove(1, pool));
+
+            for (int i = 0; i < sequential.size(); i++) {
+                assertEquals(sequential.get(i).highestSalary(), parallel.get(i).highestSalary());
+                assertEquals(sequential.get(i).topEarners(10), parallel.get(i).topEarners(10));
+                assertEquals(sequential.get(i).topEarners(1000), parallel.get(i).topEarners(1000));
+                assertEquals(
+                        sequential.get(i).searchByName("employee 4"),
+                        parallel.get(i).searchByName("employee 4"));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Employee employee(String name, Integer salary, String title, String email) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title(title)
+                .email(email)
+                .build();
+    }
+}
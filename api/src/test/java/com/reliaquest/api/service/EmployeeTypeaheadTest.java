@@ -0,0 +1,97 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeTypeahead.Ranking;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeTypeaheadTest {
+
+    private final List<Employee> employees = new ArrayList<>();
+    private final AtomicInteger reads = new AtomicInteger();
+    private final Supplier<List<Employee>> source = () -> {
+        reads.incrementAndGet();
+        return List.copyOf(employees);
+    };
+    private final List<Runnable> queuedRebuilds = new ArrayList<>();
+
+    private boolean rebuildInline = true;
+    private EmployeeTypeahead typeahead;
+
+    @BeforeEach
+    void setUp() {
+        typeahead = new EmployeeTypeahead(10, Ranking.NAME, task -> {
+            if (rebuildInline) {
+                task.run();
+            } else {
+                queuedRebuilds.add(task);
+            }
+        });
+        employees.add(employee("Jane Doe"));
+        employees.add(employee("John Smith"));
+    }
+
+    @Test
+    @DisplayName("complete - should wait for the first build")
+    void complete_shouldBuildFirstTrie() {
+        assertEquals(List.of("Jane Doe", "John Smith"), typeahead.complete(1, source, "j", 10, null));
+        assertEquals(List.of("Jane Doe", "John Smith"), typeahead.complete(1, source, "J", 10, null));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    @DisplayName("complete - should serve the previous trie while a single rebuild runs in the background")
+    void complete_shouldServePreviousTrieDuringRebuild() {
+        typeahead.complete(1, source, "j", 10, null);
+        employees.add(employee("Jake Ray"));
+        rebuildInline = false;
+
+        assertEquals(List.of("Jane Doe", "John Smith"), typeahead.complete(2, source, "j", 10, null));
+        assertEquals(List.of("Jane Doe", "John Smith"), typeahead.complete(2, source, "j", 10, null));
+        assertEquals(1, queuedRebuilds.size());
+
+        queuedRebuilds.remove(0).run();
+
+        assertEquals(List.of("Jake Ray", "Jane Doe", "John Smith"), typeahead.complete(2, source, "j", 10, null));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    @DisplayName("complete - should not let a slower rebuild of an older version replace a newer trie")
+    void complete_shouldKeepNewerTrie() {
+        typeahead.complete(1, source, "j", 10, null);
+        rebuildInline = false;
+        employees.add(employee("Jake Ray"));
+        typeahead.complete(2, source, "j", 10, null);
+        employees.add(employee("Jill Hart"));
+        typeahead.complete(3, source, "j", 10, null);
+        assertEquals(2, queuedRebuilds.size());
+
+        queuedRebuilds.remove(1).run();
+        employees.remove(employees.size() - 1);
+        queuedRebuilds.remove(0).run();
+
+        assertEquals(
+                List.of("Jake Ray", "Jane Doe", "Jill Hart", "John Smith"),
+                typeahead.complete(3, source, "j", 10, null));
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build();
+    }
+}
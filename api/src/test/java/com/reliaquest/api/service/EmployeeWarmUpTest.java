@@ -0,0 +1,101 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWarmUpTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeSnapshotCache snapshots;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private ExecutorService executor;
+    private EmployeeWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        warmUp = new EmployeeWarmUp(
+                employeeService, snapshots, restTemplate, executor, new ObjectMapper(), true, 3, Duration.ZERO, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("health - should stay out of service until the warm-up has run")
+    void health_shouldReportReadyOnlyAfterWarmUp() {
+        List<Employee> employees = List.of(Employee.builder()
+                .id(UUID.randomUUID())
+                .name("Coleman Feest")
+                .salary(75000)
+                .age(30)
+                .title("Software Engineer")
+                .email("coleman@company.com")
+                .build());
+        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(snapshots.latest()).thenReturn(EmployeeSnapshot.of(employees));
+
+        assertEquals(Status.OUT_OF_SERVICE, warmUp.health().getStatus());
+        warmUp.warmUp();
+
+        assertEquals(Status.UP, warmUp.health().getStatus());
+        assertNotNull(warmUp.health().getDetails().get("timeToReadyMs"));
+        verify(restTemplate, times(3)).getForEntity("/version", String.class);
+        verify(employeeService, times(1)).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("health - should report ready even when the upstream fails during warm-up")
+    void health_shouldReportReadyAfterFailedWarmUp() {
+        when(restTemplate.getForEntity(anyString(), eq(String.class)))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+        when(employeeService.getAllEmployees()).thenThrow(new IllegalStateException("Mock API unavailable"));
+
+        warmUp.warmUp();
+
+        assertEquals(Status.UP, warmUp.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("health - should report ready at once when warm-up is disabled")
+    void health_shouldBeUpWhenDisabled() {
+        EmployeeWarmUp disabled = new EmployeeWarmUp(
+                employeeService, snapshots, restTemplate, executor, new ObjectMapper(), false, 3, Duration.ZERO, 5);
+
+        disabled.start();
+
+        assertEquals(Status.UP, disabled.health().getStatus());
+        verifyNoInteractions(employeeService, restTemplate);
+    }
+}
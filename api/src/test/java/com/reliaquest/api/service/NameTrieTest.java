@@ -0,0 +1,93 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeTypeahead.Ranking;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NameTrieTest {
+
+    private static final List<Employee> EMPLOYEES = List.of(
+            employee("Coleman Feest", 75000),
+            employee("Mel Howell", 85000),
+            employee("John Coleman", 95000),
+            employee("Colette  Coles", 65000),
+            employee("Jane Doe", null));
+
+    @Test
+    @DisplayName("complete - should match any name token, ignoring case, ranked by salary or name")
+    void complete_shouldMatchTokensInRankOrder() {
+        NameTrie trie = new NameTrie(10);
+        trie.addAll(EMPLOYEES);
+
+        assertEquals(
+                List.of("John Coleman", "Coleman Feest", "Colette  Coles"), trie.complete("COL", 10, Ranking.SALARY));
+        assertEquals(
+                List.of("Coleman Feest", "Colette  Coles", "John Coleman"), trie.complete("col", 10, Ranking.NAME));
+        assertEquals(List.of("John Coleman"), trie.complete("col", 1, Ranking.SALARY));
+        assertEquals(List.of("Colette  Coles"), trie.complete("colette c", 10, Ranking.SALARY));
+        assertEquals(List.of("Jane Doe"), trie.complete("do", 10, Ranking.SALARY));
+        assertEquals(List.of(), trie.complete("colx", 10, Ranking.SALARY));
+    }
+
+    @Test
+    @DisplayName("add and remove - should keep completions equal to a trie built from scratch")
+    void addAndRemove_shouldMatchRebuild() {
+        Random random = new Random(7);
+        String[] first = {"Ann", "Anna", "Andrew", "Bob", "Bobby", "Carl", "Carla", "Dee"};
+        String[] last = {"Anders", "Bobson", "Carlsen", "Annan", "Dee", "Anderson"};
+        List<Employee> live = new ArrayList<>();
+        NameTrie trie = new NameTrie(3);
+        for (int i = 0; i < 2000; i++) {
+            if (!live.isEmpty() && random.nextInt(3) == 0) {
+                Employee removed = live.remove(random.nextInt(live.size()));
+                assertTrue(trie.remove(removed));
+            } else {
+                Employee added = employee(
+                        first[random.nextInt(first.length)] + " " + last[random.nextInt(last.length)],
+                        random.nextInt(20) * 1000);
+                live.add(added);
+                trie.add(added);
+            }
+        }
+
+        NameTrie rebuilt = new NameTrie(3);
+        rebuilt.addAll(live);
+        for (String prefix : List.of("", "a", "an", "ann", "anna a", "b", "bobby", "carl", "d", "dee dee", "x")) {
+            for (Ranking ranking : Ranking.values()) {
+                assertEquals(
+                        rebuilt.complete(prefix, 3, ranking),
+                        trie.complete(prefix, 3, ranking),
+                        prefix + " " + ranking);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("remove - should return false for an employee that is not in the trie")
+    void remove_shouldReportMissingEmployee() {
+        NameTrie trie = new NameTrie(10);
+        trie.addAll(EMPLOYEES);
+
+        assertFalse(trie.remove(employee("Coleman Feest", 75000)));
+        assertTrue(trie.remove(EMPLOYEES.get(0)));
+        assertEquals(List.of("John Coleman", "Colette  Coles"), trie.complete("col", 10, Ranking.SALARY));
+    }
+
+    private static Employee employee(String name, Integer salary) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.UpstreamCallScheduler;
+import com.reliaquest.api.config.UpstreamCallScheduler.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RequestHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("execute - should return the hedge when the first attempt is slow")
+    void execute_shouldReturnHedgeWhenPrimaryIsSlow() {
+        RequestHedger hedger = hedger(10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.execute(() -> {
+            if (attempts.getAndIncrement() == 0) {
+                sleep(2000);
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(new RequestHedger.HedgingStats(1, 1, 1), hedger.stats());
+        assertEquals(
+                1, meterRegistry.get("employee.hedging.wins").functionCounter().count());
+        assertEquals(1, meterRegistry.get("employee.hedging.win.rate").gauge().value());
+    }
+
+    @Test
+    @DisplayName("execute - should run the first attempt and the hedge with the caller's priority")
+    void execute_shouldKeepCallerPriority() {
+        RequestHedger hedger = hedger(10);
+        List<Priority> priorities = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        UpstreamCallScheduler.callAs(
+                Priority.BACKGROUND,
+                () -> hedger.execute(() -> {
+                    priorities.add(UpstreamCallScheduler.currentPriority());
+                    if (attempts.getAndIncrement() == 0) {
+                        sleep(500);
+                    }
+                    return "done";
+                }));
+
+        assertEquals(List.of(Priority.BACKGROUND, Priority.BACKGROUND), priorities);
+    }
+
+    @Test
+    @DisplayName("execute - should not hedge fast reads")
+    void execute_shouldNotHedgeFastReads() {
+        RequestHedger hedger = hedger(10);
+
+        assertEquals("fast", hedger.execute(() -> "fast"));
+        assertEquals(0, hedger.stats().hedged());
+    }
+
+    @Test
+    @DisplayName("execute - should stop hedging once the budget is spent")
+    void execute_shouldRespectBudget() {
+        RequestHedger hedger = hedger(0);
+
+        for (int i = 0; i < 15; i++) {
+            hedger.execute(() -> {
+                sleep(20);
+                return "slow";
+            });
+        }
+
+        assertEquals(10, hedger.stats().hedged());
+        assertEquals(
+                10,
+                meterRegistry.get("employee.hedging.hedges").functionCounter().count());
+        assertEquals(
+                10.0 / 15, meterRegistry.get("employee.hedging.rate").gauge().value(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("execute - should fall back to the hedge when the first attempt fails")
+    void execute_shouldUseHedgeWhenPrimaryFails() {
+        RequestHedger hedger = hedger(10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.execute(() -> {
+            if (attempts.getAndIncrement() == 0) {
+                sleep(50);
+                throw new IllegalStateException("primary failed");
+            }
+            sleep(100);
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+    }
+
+    @Test
+    @DisplayName("execute - should propagate the failure when no hedge was sent")
+    void execute_shouldPropagateFailure() {
+        RequestHedger hedger = hedger(10);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> hedger.execute(() -> {
+                    throw new IllegalArgumentException("bad id");
+                }));
+    }
+
+    private RequestHedger hedger(int budgetPercent) {
+        return new RequestHedger(
+                meterRegistry, executor, true, 0.95, budgetPercent, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryHistogramBucket;
+import com.reliaquest.api.model.TitleSalaryStatistics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SalaryAnalyticsTest {
+
+    private final List<Employee> employees = new ArrayList<>();
+    private final AtomicInteger reads = new AtomicInteger();
+    private final Supplier<List<Employee>> source = () -> {
+        reads.incrementAndGet();
+        return List.copyOf(employees);
+    };
+
+    private SalaryAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new SalaryAnalytics(0.01, 25_000);
+        employees.add(employee("Coleman Feest", 75_000, "Software Engineer"));
+        employees.add(employee("Mel Howell", 85_000, "Software Engineer"));
+        employees.add(employee("John Coleman", 95_000, "Tech Lead"));
+        employees.add(employee("Jane Doe", null, "Intern"));
+    }
+
+    @Test
+    @DisplayName("histogram and titles - should count salaries exactly and skip employees without one")
+    void histogramAndTitles_shouldBeExact() {
+        assertEquals(List.of(new SalaryHistogramBucket(75_000, 100_000, 3)), analytics.histogram(1, source));
+        assertEquals(
+                List.of(
+                        new TitleSalaryStatistics("Software Engineer", 2, 80_000, 85_000),
+                        new TitleSalaryStatistics("Tech Lead", 1, 95_000, 95_000)),
+                analytics.titles(1, source));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    @DisplayName("created and deleted - should update the statistics without reading the list again")
+    void createdAndDeleted_shouldApplyIncrementally() {
+        analytics.percentiles(1, source, List.of(0.5));
+        Employee hired = employee("Ann Lee", 130_000, "Tech Lead");
+        analytics.created(hired, 2);
+        analytics.deleted(employees.get(0), 3);
+
+        assertEquals(
+                List.of(new SalaryHistogramBucket(75_000, 100_000, 2), new SalaryHistogramBucket(125_000, 150_000, 1)),
+                analytics.histogram(3, source));
+        assertEquals(
+                List.of(
+                        new TitleSalaryStatistics("Software Engineer", 1, 85_000, 85_000),
+                        new TitleSalaryStatistics("Tech Lead", 2, 112_500, 130_000)),
+                analytics.titles(3, source));
+        assertEquals(130_000, analytics.percentiles(3, source, List.of(1.0)).get(0), 1300);
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    @DisplayName("deleted - should rebuild when a title loses its highest salary")
+    void deleted_shouldRebuildWhenTitleMaximumIsRemoved() {
+        analytics.titles(1, source);
+        Employee highest = employees.remove(1);
+
+        analytics.deleted(highest, 2);
+
+        assertEquals(
+                new TitleSalaryStatistics("Software Engineer", 1, 75_000, 75_000),
+                analytics.titles(2, source).get(0));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    @DisplayName("percentiles - should rebuild when the data version moved elsewhere")
+    void percentiles_shouldRebuildOnForeignChange() {
+        analytics.percentiles(1, source, List.of(0.5));
+        employees.add(employee("Ann Lee", 130_000, "Tech Lead"));
+
+        List<Integer> percentiles = analytics.percentiles(2, source, List.of(0.0, 1.0));
+
+        assertEquals(75_000, percentiles.get(0), 750);
+        assertEquals(130_000, percentiles.get(1), 1300);
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    @DisplayName("query - should let concurrent queries share one rebuild")
+    void query_shouldRebuildOnceForConcurrentQueries() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<Employee>> slowSource = () -> {
+            reads.incrementAndGet();
+            await(release);
+            return List.copyOf(employees);
+        };
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            results.add(callers.submit(() -> analytics.percentiles(1, slowSource, List.of(1.0))));
+            while (reads.get() == 0) {
+                Thread.onSpinWait();
+            }
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(() -> analytics.percentiles(1, slowSource, List.of(1.0))));
+            }
+            release.countDown();
+
+            for (Future<List<Integer>> result : results) {
+                assertEquals(95_000, result.get(5, TimeUnit.SECONDS).get(0), 950);
+            }
+            assertEquals(1, reads.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("query - should answer a query for an older version from the newer state")
+    void query_shouldNotRebuildForOlderVersion() {
+        analytics.percentiles(2, source, List.of(0.5));
+
+        analytics.histogram(1, source);
+
+        assertEquals(1, reads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Employee employee(String name, Integer salary, String title) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title(title)
+                .email(name.toLowerCase().replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
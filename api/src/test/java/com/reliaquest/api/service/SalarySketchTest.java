@@ -0,0 +1,68 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SalarySketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    @Test
+    @DisplayName("quantile - should stay within the relative accuracy of the exact value at the same rank")
+    void quantile_shouldBeWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        int[] salaries = new int[100_000];
+        SalarySketch sketch = new SalarySketch(ACCURACY);
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = 20_000 + (int) Math.abs(random.nextGaussian() * 60_000);
+            sketch.add(salaries[i]);
+        }
+        Arrays.sort(salaries);
+
+        for (double quantile : new double[] {0, 0.01, 0.25, 0.5, 0.9, 0.99, 0.999, 1}) {
+            int exact = salaries[(int) (quantile * (salaries.length - 1))];
+            assertEquals(exact, sketch.quantile(quantile), exact * ACCURACY + 1, "quantile " + quantile);
+        }
+    }
+
+    @Test
+    @DisplayName("remove - should take counts away again so quantiles follow deletes")
+    void remove_shouldUndoAdd() {
+        SalarySketch sketch = new SalarySketch(ACCURACY);
+        sketch.add(50_000);
+        sketch.add(60_000);
+        sketch.add(1_000_000);
+
+        sketch.remove(1_000_000);
+
+        assertEquals(2, sketch.count());
+        assertEquals(60_000, sketch.quantile(1), 600);
+    }
+
+    @Test
+    @DisplayName("merge - should count the salaries of both sketches")
+    void merge_shouldAddCounts() {
+        SalarySketch left = new SalarySketch(ACCURACY);
+        SalarySketch right = new SalarySketch(ACCURACY);
+        left.add(40_000);
+        right.add(80_000);
+        right.add(0);
+
+        left.merge(right);
+
+        assertEquals(3, left.count());
+        assertEquals(0, left.quantile(0));
+        assertEquals(80_000, left.quantile(1), 800);
+        assertThrows(IllegalArgumentException.class, () -> left.merge(new SalarySketch(0.05)));
+    }
+
+    @Test
+    @DisplayName("quantile - should return 0 when nothing is counted")
+    void quantile_shouldBeZeroWhenEmpty() {
+        assertEquals(0, new SalarySketch(ACCURACY).quantile(0.5));
+    }
+}
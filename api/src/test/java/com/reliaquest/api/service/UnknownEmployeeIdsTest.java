@@ -0,0 +1,96 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UnknownEmployeeIdsTest {
+
+    @Mock
+    private EmployeeDataVersion dataVersion;
+
+    private UnknownEmployeeIds unknownIds;
+
+    @BeforeEach
+    void setUp() {
+        unknownIds = new UnknownEmployeeIds(dataVersion, true, Duration.ofSeconds(30), 1000, 0.01);
+    }
+
+    @Test
+    @DisplayName("isKnownMissing - should remember a miss until the data version moves")
+    void isKnownMissing_shouldRememberMissForCurrentVersion() {
+        String id = UUID.randomUUID().toString();
+        when(dataVersion.current()).thenReturn(3L);
+
+        unknownIds.missed(id);
+
+        assertTrue(unknownIds.isKnownMissing(id));
+        when(dataVersion.current()).thenReturn(4L);
+        assertFalse(unknownIds.isKnownMissing(id));
+    }
+
+    @Test
+    @DisplayName("isKnownMissing - should rule out ids absent from the full list")
+    void isKnownMissing_shouldUseBloomFilterOverFullList() {
+        List<Employee> employees = employees(5000);
+        when(dataVersion.current()).thenReturn(1L);
+
+        unknownIds.allKnown(employees, 1L);
+
+        employees.forEach(employee ->
+                assertFalse(unknownIds.isKnownMissing(employee.getId().toString())));
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!unknownIds.isKnownMissing(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("created - should keep the Bloom filter current for ids created through the service")
+    void created_shouldAddIdToBloomFilter() {
+        unknownIds.allKnown(employees(10), 1L);
+        UUID created = UUID.randomUUID();
+
+        unknownIds.created(created, 2L);
+
+        when(dataVersion.current()).thenReturn(2L);
+        assertFalse(unknownIds.isKnownMissing(created.toString()));
+        assertTrue(unknownIds.isKnownMissing(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    @DisplayName("isKnownMissing - should not trust a Bloom filter from an older data version")
+    void isKnownMissing_shouldIgnoreStaleBloomFilter() {
+        unknownIds.allKnown(employees(10), 1L);
+        when(dataVersion.current()).thenReturn(2L);
+
+        assertFalse(unknownIds.isKnownMissing(UUID.randomUUID().toString()));
+        assertFalse(unknownIds.isKnownMissing("not-a-uuid"));
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Employee " + i)
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.Response;
+import com.reliaquest.api.service.UpstreamCapabilities.QueryCapability;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class UpstreamCapabilitiesTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Test
+    @DisplayName("supports - should report advertised capabilities and cache the advertisement")
+    void supports_shouldReportAdvertisedCapabilities() {
+        Response<List<String>> response = new Response<>();
+        response.setData(List.of("search", "highest-salary"));
+        when(restTemplate.exchange(
+                        eq("/capabilities"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(response));
+
+        UpstreamCapabilities capabilities = new UpstreamCapabilities(restTemplate, true, Duration.ofMinutes(5));
+
+        assertTrue(capabilities.supports(QueryCapability.NAME_SEARCH));
+        assertTrue(capabilities.supports(QueryCapability.HIGHEST_SALARY));
+        assertFalse(capabilities.supports(QueryCapability.TOP_EARNERS));
+        verify(restTemplate, times(1))
+                .exchange(eq("/capabilities"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @DisplayName("supports - should report nothing when the server has no capabilities endpoint")
+    void supports_shouldReportNothingWhenEndpointMissing() {
+        when(restTemplate.exchange(
+                        eq("/capabilities"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(mock(HttpClientErrorException.NotFound.class));
+
+        UpstreamCapabilities capabilities = new UpstreamCapabilities(restTemplate, true, Duration.ofMinutes(5));
+
+        assertFalse(capabilities.supports(QueryCapability.NAME_SEARCH));
+    }
+
+    @Test
+    @DisplayName("supports - should report nothing when the client returns no response")
+    void supports_shouldReportNothingWithoutResponse() {
+        UpstreamCapabilities capabilities = new UpstreamCapabilities(restTemplate, true, Duration.ofMinutes(5));
+
+        assertFalse(capabilities.supports(QueryCapability.DATA_VERSION));
+    }
+
+    @Test
+    @DisplayName("supports - should ask again soon after a failed read instead of waiting the full interval")
+    void supports_shouldRetrySoonAfterFailure() throws InterruptedException {
+        Response<List<String>> response = new Response<>();
+        response.setData(List.of("search"));
+        when(restTemplate.exchange(
+                        eq("/capabilities"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null))
+                .thenReturn(ResponseEntity.ok(response));
+
+        // The retry delay is capped by the refresh interval, which keeps the test short
+        UpstreamCapabilities capabilities = new UpstreamCapabilities(restTemplate, true, Duration.ofMillis(20));
+
+        assertFalse(capabilities.supports(QueryCapability.NAME_SEARCH));
+        Thread.sleep(30);
+        assertTrue(capabilities.supports(QueryCapability.NAME_SEARCH));
+    }
+
+    @Test
+    @DisplayName("supports - should not ask again within the back-off after a failed read")
+    void supports_shouldNotRetryBeforeBackOff() {
+        when(restTemplate.exchange(
+                        eq("/capabilities"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null));
+
+        UpstreamCapabilities capabilities = new UpstreamCapabilities(restTemplate, true, Duration.ofMinutes(5));
+
+        assertFalse(capabilities.supports(QueryCapability.NAME_SEARCH));
+        assertFalse(capabilities.supports(QueryCapability.NAME_SEARCH));
+        verify(restTemplate, times(1))
+                .exchange(eq("/capabilities"), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @DisplayName("supports - should never call the server when pushdown is disabled")
+    void supports_shouldNotProbeWhenDisabled() {
+        UpstreamCapabilities capabilities = new UpstreamCapabilities(restTemplate, false, Duration.ofMinutes(5));
+
+        assertFalse(capabilities.supports(QueryCapability.TOP_EARNERS));
+        verifyNoInteractions(restTemplate);
+    }
+}
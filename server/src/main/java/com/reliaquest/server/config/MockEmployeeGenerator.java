@@ -0,0 +1,106 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates mock employees in parallel and reproducibly.
+ *
+ * <p>Datafaker is only used to fill small pools of first names, last names, titles and user names, each chunk of a
+ * pool with its own seeded {@link Faker} since instances are not thread-safe. Employees are then assembled from the
+ * pools in fixed-size chunks, each driven by a {@link Random} derived from the seed and the chunk index, so the
+ * dataset for a given seed is identical however many threads build it.
+ */
+final class MockEmployeeGenerator {
+
+    private static final int CHUNK_SIZE = 10_000;
+    private static final int POOL_CHUNK_SIZE = 500;
+    private static final int NAME_POOL_SIZE = 4_000;
+    private static final int TITLE_POOL_SIZE = 2_000;
+    private static final int USER_NAME_POOL_SIZE = 8_000;
+
+    private final long seed;
+    private final Locale locale;
+
+    MockEmployeeGenerator(long seed, Locale locale) {
+        this.seed = seed;
+        this.locale = locale;
+    }
+
+    List<MockEmployee> generate(int count) {
+        final var firstNames = pool(NAME_POOL_SIZE, 1, faker -> faker.name().firstName());
+        final var lastNames = pool(NAME_POOL_SIZE, 2, faker -> faker.name().lastName());
+        final var titles = pool(TITLE_POOL_SIZE, 3, faker -> faker.job().title());
+        final var userNames =
+                pool(USER_NAME_POOL_SIZE, 4, faker -> faker.twitter().userName().toLowerCase(Locale.ROOT));
+
+        final var chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final var generated = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    final var random = new Random(chunkSeed(0, chunk));
+                    final var size = Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE);
+                    final var employees = new MockEmployee[size];
+                    for (int i = 0; i < size; i++) {
+                        employees[i] = MockEmployee.builder()
+                                .id(randomUuid(random))
+                                .name(pick(firstNames, random) + " " + pick(lastNames, random))
+                                .salary(random.nextInt(30000, 500000))
+                                .age(random.nextInt(16, 70))
+                                .title(pick(titles, random))
+                                .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(pick(userNames, random)))
+                                .build();
+                    }
+                    return employees;
+                })
+                .toList();
+
+        final var mockEmployees = new ArrayList<MockEmployee>(count);
+        generated.forEach(chunk -> mockEmployees.addAll(Arrays.asList(chunk)));
+        return mockEmployees;
+    }
+
+    private String[] pool(int size, int stream, Function<Faker, String> value) {
+        final var chunks = (size + POOL_CHUNK_SIZE - 1) / POOL_CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    final var faker = new Faker(locale, new Random(chunkSeed(stream, chunk)));
+                    return IntStream.range(0, Math.min(POOL_CHUNK_SIZE, size - chunk * POOL_CHUNK_SIZE))
+                            .mapToObj(ignored -> value.apply(faker));
+                })
+                .flatMap(Function.identity())
+                .toArray(String[]::new);
+    }
+
+    /*
+     * SplitMix64 finaliser over the seed, stream and chunk index; neighbouring chunks get unrelated random sequences.
+     */
+    private long chunkSeed(int stream, int chunk) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) stream << 32) + chunk + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String pick(String[] pool, Random random) {
+        return pool[random.nextInt(pool.length)];
+    }
+
+    /*
+     * Version 4 UUID drawn from the chunk's random sequence rather than SecureRandom, to keep it reproducible.
+     */
+    private static UUID randomUuid(Random random) {
+        final var mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final var leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
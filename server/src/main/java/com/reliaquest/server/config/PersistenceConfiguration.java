@@ -0,0 +1,36 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.persistence.EmployeeStorePersistence;
+import com.reliaquest.server.persistence.SnapshotScheduler;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Optional durability for the mock employee store. When disabled, every start generates a new dataset as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+public class PersistenceConfiguration {
+
+    @Bean
+    public EmployeeStorePersistence employeeStorePersistence(
+            @Value("${mock.persistence.directory:./mock-employee-data}") String directory,
+            @Value("${mock.persistence.fsync:true}") boolean fsync)
+            throws IOException {
+        return new EmployeeStorePersistence(Path.of(directory), fsync);
+    }
+
+    @Bean
+    public SnapshotScheduler snapshotScheduler(
+            EmployeeStorePersistence employeeStorePersistence,
+            MockEmployeeService mockEmployeeService,
+            @Value("${mock.persistence.snapshot-interval:PT5M}") Duration snapshotInterval) {
+        return new SnapshotScheduler(employeeStorePersistence, mockEmployeeService, snapshotInterval);
+    }
+}
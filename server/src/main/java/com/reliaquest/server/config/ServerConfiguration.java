@@ -1,59 +1,183 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.GeneratedDatasetCache;
+import com.reliaquest.server.service.MockEmployeeJournal;
+import com.reliaquest.server.web.FaultInjectionFilter;
+import com.reliaquest.server.web.FaultProfiles;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import com.reliaquest.server.web.RandomRequestLimiter;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import com.reliaquest.server.web.RateLimitWebFilter;
+import com.reliaquest.server.web.RequestLimiter;
+import com.reliaquest.server.web.RequestMetricsFilter;
+import com.reliaquest.server.web.ServerMetrics;
+import com.reliaquest.server.web.SlidingWindowRequestLimiter;
+import com.reliaquest.server.web.TokenBucketRequestLimiter;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final ServerMetrics serverMetrics;
+
+    @Value("${mock.rate-limit.profile:random}")
+    private String rateLimitProfile;
+
+    @Value("${mock.rate-limit.limit:10}")
+    private int rateLimit;
+
+    @Value("${mock.rate-limit.period:PT1S}")
+    private Duration rateLimitPeriod;
+
+    @Value("${mock.rate-limit.per-client:false}")
+    private boolean rateLimitPerClient;
+
+    @Value("${mock.rate-limit.client-header:X-Client-Id}")
+    private String rateLimitClientHeader;
+
+    @Value("${mock.rate-limit.max-clients:10000}")
+    private int rateLimitMaxClients;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This list is modifiable by design for CRUD operations. It stays empty when the store is recovered from disk.
+     * A configured seed makes the dataset reproducible and, with a cache directory, lets later starts load it from
+     * disk instead of generating it again.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public List<MockEmployee> mockEmployees(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.cache-directory:}") String cacheDirectory,
+            ObjectProvider<MockEmployeeJournal> journal) {
+        if (journal.getIfAvailable(() -> MockEmployeeJournal.NONE).hasRecoveredState()) {
+            return new ArrayList<>();
+        }
+
+        final var started = System.nanoTime();
+        final var locale = Locale.getDefault();
+        final var cache = seed != null && !cacheDirectory.isBlank()
+                ? new GeneratedDatasetCache(Path.of(cacheDirectory), seed, maxEmployees, locale.toLanguageTag())
+                : null;
+        final var cached = cache != null ? cache.load() : Optional.<List<MockEmployee>>empty();
+        if (cached.isPresent()) {
+            log.info(
+                    "Loaded {} employees from dataset cache in {} ms",
+                    cached.get().size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return cached.get();
+        }
+
+        final var effectiveSeed =
+                seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        final var mockEmployees = new MockEmployeeGenerator(effectiveSeed, locale).generate(maxEmployees);
+        log.info(
+                "Generated {} employees with seed {} in {} ms",
+                mockEmployees.size(),
+                effectiveSeed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (cache != null) {
+            cache.store(mockEmployees);
+        }
+        return mockEmployees;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(serverMetrics.countingAdmissions(requestLimitInterceptor()))
+                .excludePathPatterns("/admin/**");
+    }
+
+    /*
+     * Runs just outside fault injection, so measured latency includes injected delays the way a client sees them.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter() {
+        final var registration = new FilterRegistrationBean<>(new RequestMetricsFilter(serverMetrics));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    /*
+     * Only the employee api gets faults; the admin endpoints that switch them must keep working.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter(
+            FaultProfiles faultProfiles, ObjectMapper objectMapper) {
+        final var registration = new FilterRegistrationBean<>(new FaultInjectionFilter(faultProfiles, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    /*
+     * The reactive profile serves the api from Reactor Netty. Tomcat stays on the classpath for the servlet mode, and
+     * Spring Boot would otherwise prefer it for the reactive server too.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /*
+     * Like the servlet interceptors, the random profile answers a 429 with Retry-After only.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public RateLimitWebFilter rateLimitWebFilter() {
+        return new RateLimitWebFilter(
+                requestLimiter(), rateLimitPerClient, rateLimitClientHeader, !"random".equals(rateLimitProfile));
+    }
+
+    private HandlerInterceptor requestLimitInterceptor() {
+        return "random".equals(rateLimitProfile)
+                ? new RandomRequestLimitInterceptor()
+                : new RateLimitInterceptor(requestLimiter(), rateLimitPerClient, rateLimitClientHeader);
+    }
+
+    /*
+     * "random" keeps the original behaviour: a randomly sized budget followed by a randomly long lockout.
+     */
+    private RequestLimiter requestLimiter() {
+        return switch (rateLimitProfile) {
+            case "random" -> new RandomRequestLimiter();
+            case "token-bucket" -> new TokenBucketRequestLimiter(rateLimit, rateLimitPeriod, rateLimitMaxClients);
+            case "sliding-window" -> new SlidingWindowRequestLimiter(rateLimit, rateLimitPeriod, rateLimitMaxClients);
+            default -> throw new IllegalArgumentException("Unknown mock.rate-limit.profile: " + rateLimitProfile);
+        };
     }
 }
@@ -0,0 +1,89 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.FaultProfile;
+import com.reliaquest.server.web.FaultProfiles;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Lets a load harness script degradation scenarios: list the fault profiles, switch the active one, and define or
+ * remove profiles while the server runs. Faults and rate limits apply to {@code /api} only, so these calls always get
+ * through.
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FaultInjectionController {
+
+    private final FaultProfiles faultProfiles;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping()
+    public ResponseEntity<Response<FaultState>> getFaults() {
+        return ResponseEntity.ok(Response.handledWith(state()));
+    }
+
+    @PutMapping("/active/{name}")
+    public ResponseEntity<Response<FaultState>> activate(@PathVariable("name") String name) {
+        try {
+            faultProfiles.activate(name);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.error(e.getMessage()));
+        }
+        return ResponseEntity.ok(Response.handledWith(state()));
+    }
+
+    /*
+     * The body is bound here rather than by Spring so that an invalid profile is a 400 with the reason, not a 500.
+     */
+    @PutMapping("/profiles/{name}")
+    public ResponseEntity<Response<FaultState>> define(
+            @PathVariable("name") String name,
+            @RequestParam(name = "activate", defaultValue = "false") boolean activate,
+            @RequestBody JsonNode body) {
+        try {
+            faultProfiles.define(name, objectMapper.treeToValue(body, FaultProfile.class));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+        if (activate) {
+            faultProfiles.activate(name);
+        }
+        return ResponseEntity.ok(Response.handledWith(state()));
+    }
+
+    @DeleteMapping("/profiles/{name}")
+    public ResponseEntity<Response<FaultState>> remove(@PathVariable("name") String name) {
+        try {
+            if (!faultProfiles.remove(name)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Response.error("Unknown fault profile: " + name));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+        return ResponseEntity.ok(Response.handledWith(state()));
+    }
+
+    private FaultState state() {
+        return new FaultState(faultProfiles.activeName(), faultProfiles.all());
+    }
+
+    public record FaultState(String active, Map<String, FaultProfile> profiles) {}
+}
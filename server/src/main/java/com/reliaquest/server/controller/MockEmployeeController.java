@@ -1,34 +1,135 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.BulkItemResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeesInput;
+import com.reliaquest.server.model.EmployeeField;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeListResponseCache;
+import com.reliaquest.server.web.EmployeeProjectionWriter;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class MockEmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String WATERMARK_HEADER = "X-Cursor-Watermark";
+    public static final int MAX_PAGE_LIMIT = 10_000;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final List<String> QUERY_CAPABILITIES =
+            List.of("search", "highest-salary", "top-earners", "data-version", "fields", "bulk");
+
+    static final String BATCH_TOO_LARGE = "At most " + MAX_BATCH_SIZE + " items per request";
+
     private final MockEmployeeService mockEmployeeService;
+    private final EmployeeListResponseCache listResponseCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
+    /*
+     * Without any paging parameter the full list is returned, as before, from bytes encoded once per store version.
+     * Otherwise the response holds a single page and the X-Next-Cursor header carries the cursor of the following one.
+     * Either can be projected to a few fields with fields=id,name, written straight from the stored employees.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<?> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "until", required = false) Long until,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Set<EmployeeField> projection = null;
+        if (fields != null) {
+            try {
+                projection = EmployeeField.parse(fields);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+            }
+        }
+
+        if (limit == null && cursor == null && until == null) {
+            if (projection != null) {
+                return projected(mockEmployeeService.getMockEmployees(), projection, new HttpHeaders());
+            }
+            if (!listResponseCache.isEnabled()) {
+                return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getMockEmployees()));
+            }
+            return encodedList(listResponseCache.get(), acceptsGzip(acceptEncoding));
+        }
+
+        final var page = mockEmployeeService.findPage(
+                cursor == null ? 0L : cursor,
+                until == null ? Long.MAX_VALUE : until,
+                limit == null ? MAX_PAGE_LIMIT : Math.min(Math.max(limit, 1), MAX_PAGE_LIMIT));
+        final var headers = new HttpHeaders();
+        headers.set(WATERMARK_HEADER, String.valueOf(page.watermark()));
+        if (page.nextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        if (projection != null) {
+            return projected(page.employees(), projection, headers);
+        }
+        return ResponseEntity.ok().headers(headers).body(Response.handledWith(page.employees()));
+    }
+
+    /*
+     * Lets clients discover which of the query endpoints below this server supports.
+     */
+    @GetMapping("/capabilities")
+    public Response<List<String>> getCapabilities() {
+        return Response.handledWith(QUERY_CAPABILITIES);
+    }
+
+    /*
+     * Changes after every create or delete, so clients can tell whether anything they cached is still current.
+     */
+    @GetMapping("/version")
+    public Response<Long> getVersion() {
+        return Response.handledWith(mockEmployeeService.getVersion());
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Response<List<MockEmployee>> searchEmployees(@PathVariable("searchString") String searchString) {
+        return Response.handledWith(mockEmployeeService.searchByName(searchString));
+    }
+
+    @GetMapping("/highestSalary")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.findHighestSalary());
+    }
+
+    @GetMapping("/topEarners")
+    public Response<List<MockEmployee>> getTopEarners(@RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.findTopEarners(Math.min(Math.max(limit, 1), MAX_PAGE_LIMIT)));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +149,147 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Creates up to MAX_BATCH_SIZE employees in one request, counted once by the rate limiter. Each item is validated
+     * on its own: invalid items are reported at their position and the others are still created, together.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Response<List<BulkItemResult<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error(BATCH_TOO_LARGE));
+        }
+        return ResponseEntity.ok(Response.handledWith(createAll(mockEmployeeService, validator, inputs)));
+    }
+
+    /*
+     * Deletes up to MAX_BATCH_SIZE employees by id or by name in one request. Names are matched like single deletes;
+     * items that match no employee are reported as not found.
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Response<List<BulkItemResult<MockEmployee>>>> deleteEmployees(
+            @RequestBody DeleteMockEmployeesInput input) {
+        final var invalid = invalidBatch(input);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(Response.error(invalid));
+        }
+        return ResponseEntity.ok(Response.handledWith(deleteAll(mockEmployeeService, input)));
+    }
+
+    private ResponseEntity<byte[]> projected(
+            List<MockEmployee> employees, Set<EmployeeField> projection, HttpHeaders headers) {
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(EmployeeProjectionWriter.write(objectMapper.getFactory(), employees, projection));
+    }
+
+    private static String violations(Validator validator, CreateMockEmployeeInput input) {
+        if (input == null) {
+            return "employee must not be null";
+        }
+        final var violations = validator.validate(input);
+        return violations.isEmpty()
+                ? null
+                : violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+    }
+
+    static List<BulkItemResult<MockEmployee>> createAll(
+            MockEmployeeService mockEmployeeService, Validator validator, List<CreateMockEmployeeInput> inputs) {
+        return bulk(inputs, input -> violations(validator, input), mockEmployeeService::createAll);
+    }
+
+    static String invalidBatch(DeleteMockEmployeesInput input) {
+        if ((input.getIds() == null) == (input.getNames() == null)) {
+            return "Exactly one of ids and names is required";
+        }
+        final var size = input.getIds() != null
+                ? input.getIds().size()
+                : input.getNames().size();
+        return size > MAX_BATCH_SIZE ? BATCH_TOO_LARGE : null;
+    }
+
+    static List<BulkItemResult<MockEmployee>> deleteAll(
+            MockEmployeeService mockEmployeeService, DeleteMockEmployeesInput input) {
+        return input.getIds() != null
+                ? bulk(
+                        input.getIds(),
+                        MockEmployeeController::invalidId,
+                        ids -> mockEmployeeService.deleteAllById(
+                                ids.stream().map(UUID::fromString).toList()))
+                : bulk(
+                        input.getNames(),
+                        name -> name == null || name.isBlank() ? "name must not be blank" : null,
+                        mockEmployeeService::deleteAllByName);
+    }
+
+    private static String invalidId(String id) {
+        try {
+            UUID.fromString(id);
+            return null;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return "id must be a UUID";
+        }
+    }
+
+    /*
+     * Items that fail the check are reported at their position; the rest are applied together. An item the service
+     * returns no employee for matched none.
+     */
+    private static <I> List<BulkItemResult<MockEmployee>> bulk(
+            List<I> items, Function<I, String> check, Function<List<I>, List<MockEmployee>> apply) {
+        final var errors = new String[items.size()];
+        final var valid = new ArrayList<I>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            errors[i] = check.apply(items.get(i));
+            if (errors[i] == null) {
+                valid.add(items.get(i));
+            }
+        }
+
+        final var applied = apply.apply(valid).iterator();
+        final var results = new ArrayList<BulkItemResult<MockEmployee>>(items.size());
+        for (final var error : errors) {
+            if (error != null) {
+                results.add(BulkItemResult.failed(error));
+            } else {
+                final var mockEmployee = applied.next();
+                results.add(
+                        mockEmployee != null
+                                ? BulkItemResult.of(mockEmployee)
+                                : BulkItemResult.failed("Employee not found"));
+            }
+        }
+        return results;
+    }
+
+    /*
+     * Content-Encoding is set for the gzip variant, so the container's own response compression leaves it untouched.
+     */
+    private static ResponseEntity<byte[]> encodedList(EmployeeListResponseCache.EncodedList encoded, boolean gzip) {
+        final var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return response.body(encoded.json());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final var coding : acceptEncoding.split(",")) {
+            final var parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
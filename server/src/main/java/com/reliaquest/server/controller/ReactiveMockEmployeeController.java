@@ -0,0 +1,208 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.BulkItemResult;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeesInput;
+import com.reliaquest.server.model.EmployeeField;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeListResponseCache;
+import com.reliaquest.server.web.StreamingEmployeeListWriter;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The employee api of {@link MockEmployeeController} for the reactive server, with the same routes, parameters,
+ * headers and response envelope. Reads bounded by a limit or an index are answered on the event loop from the
+ * in-memory store. Creates and deletes run on the bounded elastic scheduler, since they may wait for a checkpoint or
+ * for the journal to reach the disk, and so do reads that walk the whole store: copying the full list, a search the
+ * name index cannot narrow, and the first encoding of the full list after a change.
+ *
+ * <p>List responses are streamed: the cached full list is sent straight from its encoded bytes, and pages, projections
+ * and uncached lists are encoded batch by batch as the connection drains.
+ */
+@RestController
+@RequestMapping("/api/v1/employee")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMockEmployeeController {
+
+    private final MockEmployeeService mockEmployeeService;
+    private final EmployeeListResponseCache listResponseCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @GetMapping()
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "until", required = false) Long until,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServerHttpResponse response) {
+        final var buffers = response.bufferFactory();
+        Set<EmployeeField> projection = null;
+        if (fields != null) {
+            try {
+                projection = EmployeeField.parse(fields);
+            } catch (IllegalArgumentException e) {
+                return Mono.just(ResponseEntity.badRequest()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(json(buffers, Response.error(e.getMessage()))));
+            }
+        }
+
+        if (limit == null && cursor == null && until == null) {
+            if (projection != null || !listResponseCache.isEnabled()) {
+                final var fieldsToWrite = projection;
+                return offEventLoop(mockEmployeeService::getMockEmployees)
+                        .map(employees -> streamed(buffers, employees, fieldsToWrite, new HttpHeaders()));
+            }
+            final var current = listResponseCache.getIfCurrent();
+            final var encoded = current != null ? Mono.just(current) : offEventLoop(listResponseCache::get);
+            final var gzip = MockEmployeeController.acceptsGzip(acceptEncoding);
+            return encoded.map(list -> encodedList(buffers, list, gzip));
+        }
+
+        final var page = mockEmployeeService.findPage(
+                cursor == null ? 0L : cursor,
+                until == null ? Long.MAX_VALUE : until,
+                limit == null
+                        ? MockEmployeeController.MAX_PAGE_LIMIT
+                        : Math.min(Math.max(limit, 1), MockEmployeeController.MAX_PAGE_LIMIT));
+        final var headers = new HttpHeaders();
+        headers.set(MockEmployeeController.WATERMARK_HEADER, String.valueOf(page.watermark()));
+        if (page.nextCursor() != null) {
+            headers.set(MockEmployeeController.NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return Mono.just(streamed(buffers, page.employees(), projection, headers));
+    }
+
+    @GetMapping("/capabilities")
+    public Response<List<String>> getCapabilities() {
+        return Response.handledWith(MockEmployeeController.QUERY_CAPABILITIES);
+    }
+
+    @GetMapping("/version")
+    public Response<Long> getVersion() {
+        return Response.handledWith(mockEmployeeService.getVersion());
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<Response<List<MockEmployee>>> searchEmployees(@PathVariable("searchString") String searchString) {
+        return offEventLoop(() -> Response.handledWith(mockEmployeeService.searchByName(searchString)));
+    }
+
+    @GetMapping("/highestSalary")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.findHighestSalary());
+    }
+
+    @GetMapping("/topEarners")
+    public Response<List<MockEmployee>> getTopEarners(@RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.findTopEarners(
+                Math.min(Math.max(limit, 1), MockEmployeeController.MAX_PAGE_LIMIT)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .findById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    @PostMapping()
+    public Mono<Response<MockEmployee>> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
+        return offEventLoop(() -> Response.handledWith(mockEmployeeService.create(input)));
+    }
+
+    @DeleteMapping()
+    public Mono<Response<Boolean>> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
+        return offEventLoop(() -> Response.handledWith(mockEmployeeService.delete(input)));
+    }
+
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<Response<List<BulkItemResult<MockEmployee>>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MockEmployeeController.MAX_BATCH_SIZE) {
+            return Mono.just(ResponseEntity.badRequest().body(Response.error(MockEmployeeController.BATCH_TOO_LARGE)));
+        }
+        return offEventLoop(() -> ResponseEntity.ok(
+                Response.handledWith(MockEmployeeController.createAll(mockEmployeeService, validator, inputs))));
+    }
+
+    @DeleteMapping("/bulk")
+    public Mono<ResponseEntity<Response<List<BulkItemResult<MockEmployee>>>>> deleteEmployees(
+            @RequestBody DeleteMockEmployeesInput input) {
+        final var invalid = MockEmployeeController.invalidBatch(input);
+        if (invalid != null) {
+            return Mono.just(ResponseEntity.badRequest().body(Response.error(invalid)));
+        }
+        return offEventLoop(() ->
+                ResponseEntity.ok(Response.handledWith(MockEmployeeController.deleteAll(mockEmployeeService, input))));
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> streamed(
+            DataBufferFactory buffers,
+            List<MockEmployee> employees,
+            Set<EmployeeField> projection,
+            HttpHeaders headers) {
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StreamingEmployeeListWriter.write(buffers, objectMapper, employees, projection));
+    }
+
+    private Flux<DataBuffer> json(DataBufferFactory buffers, Object body) {
+        return Mono.fromCallable(() -> buffers.wrap(objectMapper.writeValueAsBytes(body)))
+                .flux();
+    }
+
+    /*
+     * The encoded bytes are wrapped, not copied, and shared by every response until the next change.
+     */
+    private static ResponseEntity<Flux<DataBuffer>> encodedList(
+            DataBufferFactory buffers, EmployeeListResponseCache.EncodedList encoded, boolean gzip) {
+        final var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        final var body = gzip ? encoded.gzip() : encoded.json();
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.contentLength(body.length).body(Flux.just(buffers.wrap(body)));
+    }
+
+    private static <T> Mono<T> offEventLoop(Callable<T> action) {
+        return Mono.fromCallable(action).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.ServerMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the request metrics of {@code /api} for correlating with client-side measurements. Like the other admin
+ * endpoints it is neither rate limited nor counted itself; {@code DELETE} clears the metrics at the start of a run.
+ */
+@RestController
+@RequestMapping("/admin/metrics")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServerMetricsController {
+
+    private final ServerMetrics serverMetrics;
+    private final MockEmployeeService mockEmployeeService;
+
+    @GetMapping()
+    public ResponseEntity<Response<ServerMetrics.Snapshot>> getMetrics() {
+        return ResponseEntity.ok(Response.handledWith(
+                serverMetrics.read(mockEmployeeService.getSize(), mockEmployeeService.getVersion())));
+    }
+
+    @DeleteMapping()
+    public ResponseEntity<Response<Void>> resetMetrics() {
+        serverMetrics.reset();
+        return ResponseEntity.ok(Response.handled());
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk request, at the same position as the item. Exactly one of the two is set.
+ *
+ * @param data the created or deleted employee
+ * @param error why the item was not applied
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult<T>(T data, String error) {
+
+    public static <T> BulkItemResult<T> of(T data) {
+        return new BulkItemResult<>(data, null);
+    }
+
+    public static <T> BulkItemResult<T> failed(String error) {
+        return new BulkItemResult<>(null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Employees to delete in one request, either by id or, like a single delete, by name. Exactly one list is given.
+ */
+@Data
+public class DeleteMockEmployeesInput {
+
+    private List<String> ids;
+
+    private List<String> names;
+}
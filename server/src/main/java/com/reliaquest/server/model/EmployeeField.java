@@ -0,0 +1,57 @@
+package com.reliaquest.server.model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * An employee field that a list can be projected to with {@code fields=}. Fields are named as in the JSON
+ * ({@code employee_name}) or without the prefix ({@code name}), and always written in declaration order.
+ */
+public enum EmployeeField {
+    ID("id"),
+    NAME("employee_name"),
+    SALARY("employee_salary"),
+    AGE("employee_age"),
+    TITLE("employee_title"),
+    EMAIL("employee_email");
+
+    private final String jsonName;
+
+    EmployeeField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated field list such as {@code id,name}.
+     *
+     * @throws IllegalArgumentException if a name is unknown or no field is given
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        final var parsed = EnumSet.noneOf(EmployeeField.class);
+        for (final var name : fields.split(",")) {
+            final var trimmed = name.trim().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                parsed.add(named(trimmed));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("No employee fields given");
+        }
+        return parsed;
+    }
+
+    private static EmployeeField named(String name) {
+        for (final var field : values()) {
+            if (field.jsonName.equals(name)
+                    || field.name().toLowerCase(Locale.ROOT).equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown employee field: " + name);
+    }
+}
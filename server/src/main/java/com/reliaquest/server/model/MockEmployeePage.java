@@ -0,0 +1,13 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Slice of the employee store returned for a cursor request.
+ *
+ * @param employees employees positioned after the requested cursor, in insertion order
+ * @param nextCursor cursor to request the following page with, or {@code null} when the requested range is exhausted
+ * @param watermark cursor up to which every created employee was stored when the page was read; the page holds no
+ *     employee above it
+ */
+public record MockEmployeePage(List<MockEmployee> employees, Long nextCursor, long watermark) {}
@@ -0,0 +1,95 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary encoding of a single employee shared by the write-ahead log and snapshots. Layout: a presence flag byte,
+ * the id as two longs, salary and age as ints, then name, title and email as length-prefixed UTF-8 (-1 for null).
+ */
+final class EmployeeRecordCodec {
+
+    private static final byte HAS_ID = 1;
+    private static final byte HAS_SALARY = 1 << 1;
+    private static final byte HAS_AGE = 1 << 2;
+
+    private EmployeeRecordCodec() {}
+
+    static ByteBuffer encode(MockEmployee mockEmployee) {
+        final var name = bytes(mockEmployee.getName());
+        final var title = bytes(mockEmployee.getTitle());
+        final var email = bytes(mockEmployee.getEmail());
+        final var buffer = ByteBuffer.allocate(1
+                + 2 * Long.BYTES
+                + 2 * Integer.BYTES
+                + 3 * Integer.BYTES
+                + length(name)
+                + length(title)
+                + length(email));
+
+        byte flags = 0;
+        if (mockEmployee.getId() != null) {
+            flags |= HAS_ID;
+        }
+        if (mockEmployee.getSalary() != null) {
+            flags |= HAS_SALARY;
+        }
+        if (mockEmployee.getAge() != null) {
+            flags |= HAS_AGE;
+        }
+        buffer.put(flags);
+        buffer.putLong(mockEmployee.getId() != null ? mockEmployee.getId().getMostSignificantBits() : 0L);
+        buffer.putLong(mockEmployee.getId() != null ? mockEmployee.getId().getLeastSignificantBits() : 0L);
+        buffer.putInt(mockEmployee.getSalary() != null ? mockEmployee.getSalary() : 0);
+        buffer.putInt(mockEmployee.getAge() != null ? mockEmployee.getAge() : 0);
+        putString(buffer, name);
+        putString(buffer, title);
+        putString(buffer, email);
+        return buffer.flip();
+    }
+
+    static MockEmployee decode(ByteBuffer source) {
+        final var flags = source.get();
+        final var mostSignificantBits = source.getLong();
+        final var leastSignificantBits = source.getLong();
+        final var salary = source.getInt();
+        final var age = source.getInt();
+        return MockEmployee.builder()
+                .id((flags & HAS_ID) != 0 ? new UUID(mostSignificantBits, leastSignificantBits) : null)
+                .salary((flags & HAS_SALARY) != 0 ? salary : null)
+                .age((flags & HAS_AGE) != 0 ? age : null)
+                .name(getString(source))
+                .title(getString(source))
+                .email(getString(source))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer source) {
+        final var length = source.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var value = new byte[length];
+        source.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,162 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeJournal;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable journal for the mock employee store: a write-ahead log of creates and deletes plus periodic snapshots.
+ *
+ * <p>On construction the latest snapshot is loaded and every log segment written after it is replayed on top; the
+ * log then continues in a fresh segment. A checkpoint writes a new snapshot and drops the segments it covers.
+ */
+@Slf4j
+public class EmployeeStorePersistence implements MockEmployeeJournal, Closeable {
+
+    private static final String SNAPSHOT_FILE = "employees.snapshot";
+
+    private final Path directory;
+    private final WriteAheadLog writeAheadLog;
+    private final boolean restored;
+
+    private volatile RecoveredStore recovered;
+
+    public EmployeeStorePersistence(Path directory, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+
+        final var started = System.nanoTime();
+        final var snapshot = directory.resolve(SNAPSHOT_FILE);
+        final var contents = Files.exists(snapshot)
+                ? SnapshotFile.read(snapshot)
+                : new SnapshotFile.Contents(0, 0, new ConcurrentSkipListMap<>());
+        final var snapshotLoaded = System.nanoTime();
+
+        final var employees = contents.employees();
+        final var sequence = new long[] {contents.sequence()};
+        final var records = WriteAheadLog.replay(
+                directory,
+                contents.firstSegment(),
+                (cursor, mockEmployee) -> {
+                    employees.put(cursor, mockEmployee);
+                    sequence[0] = Math.max(sequence[0], cursor);
+                },
+                cursor -> {
+                    employees.remove(cursor);
+                    sequence[0] = Math.max(sequence[0], cursor);
+                });
+        final var finished = System.nanoTime();
+
+        this.restored = Files.exists(snapshot) || records > 0;
+        if (restored) {
+            recovered = new RecoveredStore(employees, sequence[0]);
+            log.info(
+                    "Recovered {} employees in {} ms (snapshot {} ms, {} log records replayed in {} ms)",
+                    employees.size(),
+                    TimeUnit.NANOSECONDS.toMillis(finished - started),
+                    TimeUnit.NANOSECONDS.toMillis(snapshotLoaded - started),
+                    records,
+                    TimeUnit.NANOSECONDS.toMillis(finished - snapshotLoaded));
+        } else {
+            log.info("No persisted employee store found in {}", directory);
+        }
+
+        this.writeAheadLog =
+                new WriteAheadLog(directory, WriteAheadLog.nextSegment(directory, contents.firstSegment()), fsync);
+    }
+
+    @Override
+    public void created(long cursor, MockEmployee mockEmployee) {
+        writeAheadLog.appendCreate(cursor, mockEmployee).join();
+    }
+
+    @Override
+    public void deleted(long cursor) {
+        writeAheadLog.appendDelete(cursor).join();
+    }
+
+    /*
+     * Every record is queued before waiting on any of them, so the writer thread syncs the batch in a few group
+     * commits rather than one per employee.
+     */
+    @Override
+    public void createdAll(long firstCursor, List<MockEmployee> mockEmployees) {
+        final var appends = new ArrayList<CompletableFuture<Void>>(mockEmployees.size());
+        for (int i = 0; i < mockEmployees.size(); i++) {
+            appends.add(writeAheadLog.appendCreate(firstCursor + i, mockEmployees.get(i)));
+        }
+        appends.forEach(CompletableFuture::join);
+    }
+
+    @Override
+    public void deletedAll(List<Long> cursors) {
+        final var appends = new ArrayList<CompletableFuture<Void>>(cursors.size());
+        for (final var cursor : cursors) {
+            appends.add(writeAheadLog.appendDelete(cursor));
+        }
+        appends.forEach(CompletableFuture::join);
+    }
+
+    @Override
+    public Optional<RecoveredStore> recover() {
+        final var store = recovered;
+        recovered = null;
+        return Optional.ofNullable(store);
+    }
+
+    @Override
+    public boolean hasRecoveredState() {
+        return recovered != null;
+    }
+
+    /**
+     * Whether the store was rebuilt from disk at startup, as opposed to starting from a freshly generated dataset that
+     * is not durable until the first checkpoint.
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    /**
+     * Starts a new log segment. Must be called while no mutation is in progress, so that every mutation in an earlier
+     * segment is already visible in the store that the following {@link #checkpoint} reads.
+     */
+    public long rotate() {
+        return writeAheadLog.rotate();
+    }
+
+    /**
+     * Writes a snapshot of {@code entries} and removes the log segments before {@code firstSegment}. Mutations logged
+     * in {@code firstSegment} or later are replayed over the snapshot on recovery, so {@code entries} may already
+     * include some of them.
+     */
+    public void checkpoint(long firstSegment, long sequence, Iterable<Map.Entry<Long, MockEmployee>> entries) {
+        try {
+            final var started = System.nanoTime();
+            final var count = SnapshotFile.write(directory.resolve(SNAPSHOT_FILE), firstSegment, sequence, entries);
+            writeAheadLog.deleteSegmentsBefore(firstSegment);
+            log.info(
+                    "Wrote snapshot of {} employees in {} ms",
+                    count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write employee snapshot", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeAheadLog.close();
+    }
+}
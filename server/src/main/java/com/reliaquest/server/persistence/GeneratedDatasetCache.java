@@ -0,0 +1,51 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binary cache of a generated dataset, stored in the snapshot format so it loads through the same memory-mapped path.
+ * The file name encodes every input of the generation, so a changed seed, size or locale never reads a stale file.
+ */
+@Slf4j
+public final class GeneratedDatasetCache {
+
+    private final Path file;
+
+    public GeneratedDatasetCache(Path directory, long seed, int count, String locale) {
+        this.file = directory.resolve("employees-%d-%d-%s.dataset".formatted(seed, count, locale));
+    }
+
+    public Optional<List<MockEmployee>> load() {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            final var mockEmployees = new ArrayList<MockEmployee>();
+            SnapshotFile.read(file, (cursor, mockEmployee) -> mockEmployees.add(mockEmployee));
+            return Optional.of(mockEmployees);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable dataset cache {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void store(List<MockEmployee> mockEmployees) {
+        try {
+            Files.createDirectories(file.getParent());
+            SnapshotFile.write(file, 0, mockEmployees.size(), () -> IntStream.range(0, mockEmployees.size())
+                    .mapToObj(i -> Map.entry((long) i + 1, mockEmployees.get(i)))
+                    .iterator());
+        } catch (IOException e) {
+            log.warn("Failed to write dataset cache {}: {}", file, e.getMessage());
+        }
+    }
+}
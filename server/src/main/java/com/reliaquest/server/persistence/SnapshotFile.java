@@ -0,0 +1,112 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact point-in-time copy of the employee store, written and read through memory-mapped windows.
+ *
+ * <p>Layout: a fixed header (magic, format version, first write-ahead log segment to replay on top of the snapshot,
+ * highest cursor handed out and record count) followed by one record per employee: payload length, cursor and the
+ * encoded employee. Snapshots are written to a temporary file and atomically renamed into place.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x52515353;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + 3 * Long.BYTES;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final long WINDOW_BYTES = 64L * 1024 * 1024;
+
+    record Header(long firstSegment, long sequence, long count) {}
+
+    record Contents(long firstSegment, long sequence, ConcurrentSkipListMap<Long, MockEmployee> employees) {}
+
+    private SnapshotFile() {}
+
+    static long write(Path file, long firstSegment, long sequence, Iterable<Map.Entry<Long, MockEmployee>> entries)
+            throws IOException {
+        final var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        long count = 0;
+        try (final var channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long windowStart = HEADER_BYTES;
+            var window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, WINDOW_BYTES);
+            for (final var entry : entries) {
+                final var employee = EmployeeRecordCodec.encode(entry.getValue());
+                final var recordBytes = RECORD_HEADER_BYTES + employee.remaining();
+                if (window.remaining() < recordBytes) {
+                    window.force();
+                    windowStart += window.position();
+                    window = channel.map(
+                            FileChannel.MapMode.READ_WRITE, windowStart, Math.max(WINDOW_BYTES, recordBytes));
+                }
+                window.putInt(employee.remaining()).putLong(entry.getKey()).put(employee);
+                count++;
+            }
+            window.force();
+            channel.truncate(windowStart + window.position());
+
+            final var header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(firstSegment)
+                    .putLong(sequence)
+                    .putLong(count);
+            channel.write(header.flip(), 0);
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    static Contents read(Path file) throws IOException {
+        final var employees = new ConcurrentSkipListMap<Long, MockEmployee>();
+        final var header = read(file, employees::put);
+        return new Contents(header.firstSegment(), header.sequence(), employees);
+    }
+
+    /**
+     * Streams every record of the snapshot to {@code consumer} in cursor order.
+     */
+    static Header read(Path file, BiConsumer<Long, MockEmployee> consumer) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            long windowStart = 0;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, WINDOW_BYTES));
+            if (size < HEADER_BYTES || window.getInt() != MAGIC || window.getInt() != VERSION) {
+                throw new IOException("Unrecognised employee snapshot: " + file);
+            }
+            final var header = new Header(window.getLong(), window.getLong(), window.getLong());
+
+            for (long i = 0; i < header.count(); i++) {
+                if (window.remaining() < RECORD_HEADER_BYTES
+                        || window.remaining() < RECORD_HEADER_BYTES + window.getInt(window.position())) {
+                    windowStart += window.position();
+                    window = channel.map(
+                            FileChannel.MapMode.READ_ONLY, windowStart, Math.min(size - windowStart, WINDOW_BYTES));
+                }
+                final var length = window.getInt();
+                final var cursor = window.getLong();
+                final var record = window.slice(window.position(), length);
+                window.position(window.position() + length);
+                consumer.accept(cursor, EmployeeRecordCodec.decode(record));
+            }
+            return header;
+        }
+    }
+}
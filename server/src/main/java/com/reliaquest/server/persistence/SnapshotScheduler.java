@@ -0,0 +1,59 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Periodically checkpoints the employee store so recovery only has to replay a short write-ahead log tail. A freshly
+ * generated store is checkpointed right away, and a final checkpoint is taken on shutdown.
+ */
+@Slf4j
+public class SnapshotScheduler implements Closeable {
+
+    private final EmployeeStorePersistence persistence;
+    private final MockEmployeeService mockEmployeeService;
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mock-employee-snapshot-"));
+
+    public SnapshotScheduler(
+            EmployeeStorePersistence persistence, MockEmployeeService mockEmployeeService, Duration interval) {
+        this.persistence = persistence;
+        this.mockEmployeeService = mockEmployeeService;
+        if (!persistence.isRestored()) {
+            executor.execute(this::checkpoint);
+        }
+        executor.scheduleWithFixedDelay(
+                this::checkpoint, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void checkpoint() {
+        try {
+            final var sequence = new long[1];
+            final var firstSegment = mockEmployeeService.withMutationsPaused(() -> {
+                sequence[0] = mockEmployeeService.getLastCursor();
+                return persistence.rotate();
+            });
+            persistence.checkpoint(firstSegment, sequence[0], mockEmployeeService.entries());
+        } catch (RuntimeException e) {
+            log.error("Failed to checkpoint employee store", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                checkpoint();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of store mutations, split into numbered segment files.
+ *
+ * <p>Writers enqueue encoded records and wait on a future. A single writer thread drains everything queued so far,
+ * writes it and issues one fsync for the whole batch (group commit), so concurrent writers share the cost of a sync.
+ *
+ * <p>Record layout: payload length, CRC32 of the payload, then the payload itself: a type byte, the cursor and, for
+ * creates, the encoded employee. A segment is forced to disk before the next one is started, so only the newest
+ * segment can end in a torn record; replay truncates that away and fails on a bad record anywhere else.
+ *
+ * <p>If a write fails, the segment is cut back to the end of the last synced batch so that replay cannot bring back a
+ * record whose writer was told it failed. If even that fails, the log stops accepting writes.
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{12})\\.log");
+    private static final int MAX_BATCH = 4096;
+    private static final byte CREATE = 1;
+    private static final byte DELETE = 2;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private final Object acceptLock = new Object();
+
+    private boolean accepting = true;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+    private FileChannel channel;
+    private volatile long segment;
+    // End of the last synced batch in the current segment; only the writer thread uses it
+    private long committed;
+
+    WriteAheadLog(Path directory, long firstSegment, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.segment = firstSegment;
+        this.channel = openSegment(firstSegment);
+        this.committed = channel.size();
+        this.writerThread = new Thread(this::writeLoop, "mock-employee-wal");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    CompletableFuture<Void> appendCreate(long cursor, MockEmployee mockEmployee) {
+        final var employee = EmployeeRecordCodec.encode(mockEmployee);
+        final var payload = ByteBuffer.allocate(1 + Long.BYTES + employee.remaining());
+        payload.put(CREATE).putLong(cursor).put(employee);
+        return enqueue(frame(payload.flip()));
+    }
+
+    CompletableFuture<Void> appendDelete(long cursor) {
+        final var payload = ByteBuffer.allocate(1 + Long.BYTES);
+        payload.put(DELETE).putLong(cursor);
+        return enqueue(frame(payload.flip()));
+    }
+
+    /**
+     * Closes the current segment and starts the next one. Returns the number of the new segment; every record
+     * appended after this call returns lands in it or a later one. Throws if the log is closed or has failed.
+     */
+    long rotate() {
+        enqueue(null).join();
+        return segment;
+    }
+
+    void deleteSegmentsBefore(long firstSegment) throws IOException {
+        for (final var path : segments(directory)) {
+            if (segmentNumber(path) < firstSegment) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Replays every segment numbered {@code firstSegment} or higher, in order. A torn record at the tail of the newest
+     * segment is truncated away; a bad record anywhere else fails with an {@link IOException}, since replaying the
+     * segments after it would apply mutations on top of a gap. Returns the number of records replayed.
+     */
+    static long replay(
+            Path directory, long firstSegment, BiConsumer<Long, MockEmployee> onCreate, LongConsumer onDelete)
+            throws IOException {
+        final var replayed = segments(directory).stream()
+                .filter(path -> segmentNumber(path) >= firstSegment)
+                .toList();
+        long records = 0;
+        for (int i = 0; i < replayed.size(); i++) {
+            records += replaySegment(replayed.get(i), i == replayed.size() - 1, onCreate, onDelete);
+        }
+        return records;
+    }
+
+    /**
+     * Returns the number one above the highest segment present, or {@code minimum} if that is larger.
+     */
+    static long nextSegment(Path directory, long minimum) throws IOException {
+        long next = minimum;
+        for (final var path : segments(directory)) {
+            next = Math.max(next, segmentNumber(path) + 1);
+        }
+        return next;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (acceptLock) {
+            accepting = false;
+        }
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failQueued();
+        channel.close();
+    }
+
+    /*
+     * Accepting is checked and the write queued under one lock, so once accepting is cleared nothing more can be queued
+     * and failQueued() completes everything that is left.
+     */
+    private CompletableFuture<Void> enqueue(ByteBuffer record) {
+        final var write = new PendingWrite(record, new CompletableFuture<>());
+        synchronized (acceptLock) {
+            if (accepting) {
+                queue.add(write);
+                return write.completion();
+            }
+        }
+        write.completion().completeExceptionally(unavailable());
+        return write.completion();
+    }
+
+    private void writeLoop() {
+        final var batch = new ArrayList<PendingWrite>(MAX_BATCH);
+        try {
+            while ((running || !queue.isEmpty()) && failure == null) {
+                final var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (acceptLock) {
+                accepting = false;
+            }
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            write.completion().completeExceptionally(unavailable());
+        }
+    }
+
+    private IllegalStateException unavailable() {
+        final var cause = failure;
+        return cause != null
+                ? new IllegalStateException("Write-ahead log failed", cause)
+                : new IllegalStateException("Write-ahead log is closed");
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        final var written = new ArrayList<PendingWrite>(batch.size());
+        try {
+            for (final var write : batch) {
+                if (write.record() == null) {
+                    sync(written);
+                    startNextSegment();
+                    write.completion().complete(null);
+                    continue;
+                }
+                while (write.record().hasRemaining()) {
+                    channel.write(write.record());
+                }
+                written.add(write);
+            }
+            sync(written);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to append to write-ahead log segment {}", segment, e);
+            batch.forEach(write -> write.completion().completeExceptionally(e));
+            discardUnsynced(e);
+        }
+    }
+
+    private void sync(List<PendingWrite> written) throws IOException {
+        if (!written.isEmpty()) {
+            if (fsync) {
+                channel.force(false);
+            }
+            committed = channel.position();
+        }
+        written.forEach(write -> write.completion().complete(null));
+        written.clear();
+    }
+
+    /*
+     * The next segment is opened before the current one is given up, so a failure here leaves the log appending to
+     * the current segment. The current segment is forced even without fsync: replay only tolerates a torn tail in the
+     * newest segment.
+     */
+    private void startNextSegment() throws IOException {
+        final var next = openSegment(segment + 1);
+        final var previous = channel;
+        try {
+            previous.force(false);
+        } catch (IOException e) {
+            next.close();
+            throw e;
+        }
+        channel = next;
+        segment++;
+        committed = 0;
+        previous.close();
+    }
+
+    /*
+     * Part of a failed batch may already be in the segment. Cutting it back to the last synced batch keeps replay from
+     * applying writes whose callers were told they failed; a log that cannot be cut back stops accepting writes.
+     */
+    private void discardUnsynced(Exception cause) {
+        try {
+            if (!running) {
+                throw new IOException("Write-ahead log closed while recovering from a failed write");
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+            channel = openSegment(segment);
+            channel.truncate(committed);
+            channel.force(true);
+        } catch (IOException e) {
+            e.addSuppressed(cause);
+            failure = e;
+            log.error(
+                    "Could not cut write-ahead log segment {} back to byte {}; no further writes are accepted",
+                    segment,
+                    committed,
+                    e);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(
+                directory.resolve("wal-%012d.log".formatted(number)),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static ByteBuffer frame(ByteBuffer payload) {
+        final var crc = new CRC32();
+        crc.update(payload.duplicate());
+        final var record = ByteBuffer.allocate(2 * Integer.BYTES + payload.remaining());
+        record.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload);
+        return record.flip();
+    }
+
+    /*
+     * A record is torn, rather than corrupt, when it is the last thing in the file: its header or payload runs past
+     * the end, its checksum fails and it ends exactly at the end, or it starts a run of zeros to the end.
+     */
+    private static long replaySegment(
+            Path path, boolean newest, BiConsumer<Long, MockEmployee> onCreate, LongConsumer onDelete)
+            throws IOException {
+        long records = 0;
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final var crc = new CRC32();
+            while (buffer.hasRemaining()) {
+                final var start = buffer.position();
+                if (buffer.remaining() < 2 * Integer.BYTES) {
+                    truncateTornTail(channel, path, start, newest);
+                    break;
+                }
+                final var length = buffer.getInt();
+                final var checksum = buffer.getInt();
+                if (length > buffer.remaining() || (length <= 0 && isZeroFilled(buffer, start))) {
+                    truncateTornTail(channel, path, start, newest);
+                    break;
+                }
+                if (length <= 0) {
+                    throw corrupt(path, start);
+                }
+                final var payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    if (buffer.position() + length != buffer.limit()) {
+                        throw corrupt(path, start);
+                    }
+                    truncateTornTail(channel, path, start, newest);
+                    break;
+                }
+                buffer.position(buffer.position() + length);
+
+                final var type = payload.get();
+                final var cursor = payload.getLong();
+                if (type == CREATE) {
+                    onCreate.accept(cursor, EmployeeRecordCodec.decode(payload));
+                } else if (type == DELETE) {
+                    onDelete.accept(cursor);
+                }
+                records++;
+            }
+        }
+        return records;
+    }
+
+    private static void truncateTornTail(FileChannel channel, Path path, long position, boolean newest)
+            throws IOException {
+        if (!newest) {
+            throw corrupt(path, position);
+        }
+        log.warn("Truncating torn tail of {} at byte {}", path.getFileName(), position);
+        channel.truncate(position);
+        channel.force(true);
+    }
+
+    private static boolean isZeroFilled(ByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IOException corrupt(Path path, long position) {
+        return new IOException("Corrupt record in %s at byte %d".formatted(path.getFileName(), position));
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path ->
+                            SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        final var matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private record PendingWrite(ByteBuffer record, CompletableFuture<Void> completion) {}
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+
+/**
+ * Receives every mutation of the employee store before it becomes visible, so the store can be rebuilt after a
+ * restart. Implementations must not return until the mutation is durable.
+ */
+public interface MockEmployeeJournal {
+
+    MockEmployeeJournal NONE = new MockEmployeeJournal() {
+        @Override
+        public void created(long cursor, MockEmployee mockEmployee) {}
+
+        @Override
+        public void deleted(long cursor) {}
+    };
+
+    void created(long cursor, MockEmployee mockEmployee);
+
+    void deleted(long cursor);
+
+    /**
+     * Journals a batch of creates with consecutive cursors starting at {@code firstCursor}. Implementations may make
+     * the whole batch durable at once instead of one employee at a time.
+     */
+    default void createdAll(long firstCursor, List<MockEmployee> mockEmployees) {
+        for (int i = 0; i < mockEmployees.size(); i++) {
+            created(firstCursor + i, mockEmployees.get(i));
+        }
+    }
+
+    /**
+     * Journals a batch of deletes; like {@link #createdAll} it may be made durable at once.
+     */
+    default void deletedAll(List<Long> cursors) {
+        cursors.forEach(this::deleted);
+    }
+
+    /**
+     * Hands over the store rebuilt from durable state, if there was any. The state is only returned once.
+     */
+    default Optional<RecoveredStore> recover() {
+        return Optional.empty();
+    }
+
+    default boolean hasRecoveredState() {
+        return false;
+    }
+
+    /**
+     * @param employees employees keyed by cursor
+     * @param sequence highest cursor ever handed out, including deleted employees
+     */
+    record RecoveredStore(ConcurrentNavigableMap<Long, MockEmployee> employees, long sequence) {}
+}
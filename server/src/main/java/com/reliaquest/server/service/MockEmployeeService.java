@@ -4,32 +4,181 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MockEmployeeService {
 
     private final Faker faker;
+    private final MockEmployeeJournal journal;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    /*
+     * Employees keyed by their insertion sequence. Sequences are never reused, which keeps cursors stable while
+     * employees are concurrently created or deleted.
+     */
+    private final ConcurrentNavigableMap<Long, MockEmployee> mockEmployees;
+    private final AtomicLong sequence;
+
+    /*
+     * Highest cursor up to which every handed-out cursor has been stored (or has failed for good). Cursors are taken
+     * before the employee is journaled and stored, so a later cursor can land first; pages stop at this watermark so
+     * that none of them closes over a cursor that is still being written. Finished ranges above it wait in
+     * unpublished, keyed by first cursor, until the ranges below them are done.
+     */
+    private final AtomicLong published;
+    private final ConcurrentNavigableMap<Long, Long> unpublished = new ConcurrentSkipListMap<>();
+
+    /*
+     * Bumped after every applied create or delete. Derived views read it before reading the store, so a view tagged
+     * with a version never holds older data than that version.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /*
+     * Secondary indexes over the store. They are updated after the store itself, so lookups re-read each employee by
+     * cursor and skip entries that are no longer present.
+     */
+    private final Map<UUID, Long> idIndex = new ConcurrentHashMap<>();
+    private final NavigableSet<SalaryEntry> salaryIndex = new ConcurrentSkipListSet<>();
+    private final NameTrigramIndex nameIndex = new NameTrigramIndex();
+
+    /*
+     * Mutations share the read side so they run concurrently; the write side lets a checkpoint find a moment where no
+     * mutation is half journaled and half applied.
+     */
+    private final ReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+    /*
+     * A batch is applied to the store under the write side, so readers that walk many employees see all of it or none
+     * of it. Those readers validate an optimistic stamp and only take the read side when a batch was published while
+     * they read. Single creates and deletes change one entry and do not need it.
+     */
+    private final StampedLock publishLock = new StampedLock();
+
+    public MockEmployeeService(
+            Faker faker, List<MockEmployee> mockEmployees, ObjectProvider<MockEmployeeJournal> journal) {
+        this.faker = faker;
+        this.journal = journal.getIfAvailable(() -> MockEmployeeJournal.NONE);
+
+        final var recovered = this.journal.recover();
+        if (recovered.isPresent()) {
+            final var started = System.nanoTime();
+            this.mockEmployees = recovered.get().employees();
+            this.sequence = new AtomicLong(recovered.get().sequence());
+            this.published = new AtomicLong(recovered.get().sequence());
+            this.mockEmployees.forEach(this::index);
+            log.info(
+                    "Indexed {} recovered employees in {} ms",
+                    this.mockEmployees.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } else {
+            this.mockEmployees = new ConcurrentSkipListMap<>();
+            this.sequence = new AtomicLong();
+            mockEmployees.forEach(mockEmployee -> put(sequence.incrementAndGet(), mockEmployee));
+            this.published = new AtomicLong(sequence.get());
+        }
+    }
+
+    public List<MockEmployee> getMockEmployees() {
+        return readPublished(() -> new ArrayList<>(mockEmployees.values()));
+    }
+
+    /**
+     * Reads up to {@code limit} employees whose cursor is greater than {@code cursor} and not greater than
+     * {@code until} or the page's watermark. The limit must be positive.
+     */
+    public MockEmployeePage findPage(long cursor, long until, int limit) {
+        return readPublished(() -> readPage(cursor, until, limit));
+    }
+
+    private MockEmployeePage readPage(long cursor, long until, int limit) {
+        final var watermark = published.get();
+        final var range = mockEmployees.subMap(cursor, false, Math.max(cursor, Math.min(until, watermark)), true);
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        Long lastCursor = null;
+        for (final var entry : range.entrySet()) {
+            if (employees.size() == limit) {
+                return new MockEmployeePage(employees, lastCursor, watermark);
+            }
+            employees.add(entry.getValue());
+            lastCursor = entry.getKey();
+        }
+        return new MockEmployeePage(employees, null, watermark);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return Optional.ofNullable(idIndex.get(uuid)).map(mockEmployees::get);
+    }
+
+    /**
+     * Case-insensitive substring search over employee names, in insertion order.
+     */
+    public List<MockEmployee> searchByName(@NonNull String searchString) {
+        final var normalized = searchString.toLowerCase(Locale.ROOT);
+        return readPublished(() -> {
+            final var candidates = nameIndex.candidates(searchString);
+            final var matches = candidates == null
+                    ? mockEmployees.values().stream()
+                    : Arrays.stream(candidates).mapToObj(mockEmployees::get).filter(Objects::nonNull);
+            return matches.filter(mockEmployee -> Objects.nonNull(mockEmployee.getName())
+                            && mockEmployee.getName().toLowerCase(Locale.ROOT).contains(normalized))
+                    .toList();
+        });
+    }
+
+    public int findHighestSalary() {
+        return salaryIndex.stream().findFirst().map(SalaryEntry::salary).orElse(0);
+    }
+
+    /**
+     * Returns the {@code limit} best paid employees, highest salary first. Equal salaries keep insertion order.
+     */
+    public List<MockEmployee> findTopEarners(int limit) {
+        return readPublished(() -> readTopEarners(limit));
+    }
+
+    private List<MockEmployee> readTopEarners(int limit) {
+        final var topEarners = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        for (final var entry : salaryIndex) {
+            if (topEarners.size() == limit) {
+                break;
+            }
+            final var mockEmployee = mockEmployees.get(entry.cursor());
+            if (mockEmployee != null) {
+                topEarners.add(mockEmployee);
+            }
+        }
+        return topEarners;
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +186,276 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        mutationLock.readLock().lock();
+        try {
+            final var cursor = sequence.incrementAndGet();
+            try {
+                journal.created(cursor, mockEmployee);
+                put(cursor, mockEmployee);
+                version.incrementAndGet();
+            } finally {
+                publish(cursor, cursor);
+            }
+        } finally {
+            mutationLock.readLock().unlock();
+        }
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
+        final var mockEmployee = mockEmployees.entrySet().stream()
+                .filter(entry -> Objects.nonNull(entry.getValue().getName())
+                        && entry.getValue().getName().equalsIgnoreCase(input.getName()))
                 .findFirst();
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+            mutationLock.readLock().lock();
+            try {
+                journal.deleted(mockEmployee.get().getKey());
+                if (mockEmployees.remove(
+                        mockEmployee.get().getKey(), mockEmployee.get().getValue())) {
+                    unindex(mockEmployee.get().getKey(), mockEmployee.get().getValue());
+                    version.incrementAndGet();
+                    log.debug("Removed employee: {}", mockEmployee.get().getValue());
+                    return true;
+                }
+            } finally {
+                mutationLock.readLock().unlock();
+            }
         }
 
         return false;
     }
+
+    /**
+     * Creates every employee in one step: the batch is journaled together and published at once under a single
+     * version, so readers never see part of it and derived views such as the encoded list are rebuilt once per batch
+     * rather than once per employee. Cursors within the batch are consecutive and follow the order of {@code inputs}.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var created = new ArrayList<MockEmployee>(inputs.size());
+        for (final var input : inputs) {
+            created.add(MockEmployee.from(
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()),
+                    input));
+        }
+        if (created.isEmpty()) {
+            return created;
+        }
+        mutationLock.readLock().lock();
+        try {
+            final var firstCursor = sequence.getAndAdd(created.size()) + 1;
+            try {
+                journal.createdAll(firstCursor, created);
+                final var stamp = publishLock.writeLock();
+                try {
+                    for (int i = 0; i < created.size(); i++) {
+                        put(firstCursor + i, created.get(i));
+                    }
+                    version.incrementAndGet();
+                } finally {
+                    publishLock.unlockWrite(stamp);
+                }
+            } finally {
+                publish(firstCursor, firstCursor + created.size() - 1);
+            }
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        log.debug("Added {} employees", created.size());
+        return created;
+    }
+
+    /**
+     * Deletes, for each name, the first employee with that name (ignoring case) that an earlier name in the batch has
+     * not already taken, which is what the same deletes made one at a time would remove. The store is scanned once for
+     * the whole batch. Returns the deleted employee, or {@code null}, at the position of each name.
+     */
+    public List<MockEmployee> deleteAllByName(@NonNull List<String> names) {
+        final var wanted = new HashMap<String, Integer>();
+        names.forEach(name -> wanted.merge(name.toLowerCase(Locale.ROOT), 1, Integer::sum));
+
+        final var matches = new HashMap<String, Deque<Map.Entry<Long, MockEmployee>>>();
+        var unmatched = names.size();
+        for (final var entry : mockEmployees.entrySet()) {
+            if (unmatched == 0) {
+                break;
+            }
+            final var name = entry.getValue().getName();
+            final var count = name != null ? wanted.get(name.toLowerCase(Locale.ROOT)) : null;
+            if (count == null) {
+                continue;
+            }
+            final var found = matches.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayDeque<>());
+            if (found.size() < count) {
+                found.add(entry);
+                unmatched--;
+            }
+        }
+
+        final var targets = new ArrayList<Map.Entry<Long, MockEmployee>>(names.size());
+        for (final var name : names) {
+            final var found = matches.get(name.toLowerCase(Locale.ROOT));
+            targets.add(found != null ? found.poll() : null);
+        }
+        return deleteAll(targets);
+    }
+
+    /**
+     * Deletes the employees with the given ids. Returns the deleted employee, or {@code null}, at the position of each
+     * id.
+     */
+    public List<MockEmployee> deleteAllById(@NonNull List<UUID> ids) {
+        final var targets = new ArrayList<Map.Entry<Long, MockEmployee>>(ids.size());
+        for (final var id : ids) {
+            final var cursor = idIndex.get(id);
+            final var mockEmployee = cursor != null ? mockEmployees.get(cursor) : null;
+            targets.add(mockEmployee != null ? Map.entry(cursor, mockEmployee) : null);
+        }
+        return deleteAll(targets);
+    }
+
+    /**
+     * Runs {@code action} while no create or delete is in progress.
+     */
+    public <T> T withMutationsPaused(Supplier<T> action) {
+        mutationLock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Live, weakly consistent view of the store keyed by cursor.
+     */
+    public Iterable<Map.Entry<Long, MockEmployee>> entries() {
+        return Collections.unmodifiableNavigableMap(mockEmployees).entrySet();
+    }
+
+    public long getLastCursor() {
+        return sequence.get();
+    }
+
+    /**
+     * Number of employees, read from the id index rather than counted in the store.
+     */
+    public int getSize() {
+        return readPublished(idIndex::size);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /*
+     * Like create, a batch of deletes is journaled together and published under a single version.
+     */
+    private List<MockEmployee> deleteAll(List<Map.Entry<Long, MockEmployee>> targets) {
+        final var deleted = new ArrayList<MockEmployee>(targets.size());
+        final var cursors =
+                targets.stream().filter(Objects::nonNull).map(Map.Entry::getKey).toList();
+        if (cursors.isEmpty()) {
+            targets.forEach(target -> deleted.add(null));
+            return deleted;
+        }
+        var removed = 0;
+        mutationLock.readLock().lock();
+        try {
+            journal.deletedAll(cursors);
+            final var stamp = publishLock.writeLock();
+            try {
+                for (final var target : targets) {
+                    if (target != null && mockEmployees.remove(target.getKey(), target.getValue())) {
+                        unindex(target.getKey(), target.getValue());
+                        deleted.add(target.getValue());
+                        removed++;
+                    } else {
+                        deleted.add(null);
+                    }
+                }
+                if (removed > 0) {
+                    version.incrementAndGet();
+                }
+            } finally {
+                publishLock.unlockWrite(stamp);
+            }
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+        log.debug("Removed {} employees", removed);
+        return deleted;
+    }
+
+    /*
+     * Runs a read that walks many employees against one published state. The read is retried under the read side when
+     * a batch was published meanwhile, which is rare and cheap next to locking every read.
+     */
+    private <T> T readPublished(Supplier<T> read) {
+        final var optimistic = publishLock.tryOptimisticRead();
+        if (optimistic != 0L) {
+            final var result = read.get();
+            if (publishLock.validate(optimistic)) {
+                return result;
+            }
+        }
+        final var stamp = publishLock.readLock();
+        try {
+            return read.get();
+        } finally {
+            publishLock.unlockRead(stamp);
+        }
+    }
+
+    /*
+     * Marks cursors first..last as finished and moves the watermark over every range that is now contiguous with it.
+     * Whichever writer finishes the range just above the watermark carries it past the ranges finished before it.
+     */
+    private void publish(long first, long last) {
+        unpublished.put(first, last);
+        synchronized (unpublished) {
+            Long next;
+            while ((next = unpublished.remove(published.get() + 1)) != null) {
+                published.set(next);
+            }
+        }
+    }
+
+    private void put(long cursor, MockEmployee mockEmployee) {
+        mockEmployees.put(cursor, mockEmployee);
+        index(cursor, mockEmployee);
+    }
+
+    private void index(long cursor, MockEmployee mockEmployee) {
+        if (mockEmployee.getId() != null) {
+            idIndex.put(mockEmployee.getId(), cursor);
+        }
+        if (mockEmployee.getSalary() != null) {
+            salaryIndex.add(new SalaryEntry(mockEmployee.getSalary(), cursor));
+        }
+        nameIndex.add(cursor, mockEmployee.getName());
+    }
+
+    private void unindex(long cursor, MockEmployee mockEmployee) {
+        if (mockEmployee.getId() != null) {
+            idIndex.remove(mockEmployee.getId(), cursor);
+        }
+        if (mockEmployee.getSalary() != null) {
+            salaryIndex.remove(new SalaryEntry(mockEmployee.getSalary(), cursor));
+        }
+        nameIndex.remove(cursor, mockEmployee.getName());
+    }
+
+    private record SalaryEntry(int salary, long cursor) implements Comparable<SalaryEntry> {
+
+        private static final Comparator<SalaryEntry> ORDER =
+                Comparator.comparingInt(SalaryEntry::salary).reversed().thenComparingLong(SalaryEntry::cursor);
+
+        @Override
+        public int compareTo(SalaryEntry other) {
+            return ORDER.compare(this, other);
+        }
+    }
 }
@@ -0,0 +1,163 @@
+package com.reliaquest.server.service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index from lower-cased name trigrams to employee cursors. A substring query of three or more characters can
+ * only match names containing every trigram of the query, so the smallest posting list bounds the candidates that
+ * need to be checked.
+ *
+ * <p>Each posting list is a sorted {@code long[]}, about 8 bytes per entry where a set of boxed cursors costs well over
+ * 50, which is what keeps the index affordable with millions of employees. Cursors are handed out in increasing order,
+ * so adding one is almost always an append.
+ */
+class NameTrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+
+    void add(long cursor, String name) {
+        for (final var gram : grams(name)) {
+            postings.compute(gram, (ignored, cursors) -> {
+                final var updated = cursors == null ? new PostingList() : cursors;
+                updated.add(cursor);
+                return updated;
+            });
+        }
+    }
+
+    void remove(long cursor, String name) {
+        for (final var gram : grams(name)) {
+            postings.computeIfPresent(gram, (ignored, cursors) -> cursors.remove(cursor) ? null : cursors);
+        }
+    }
+
+    /**
+     * Returns cursors of names that may contain {@code query}, in ascending order, or {@code null} when the query is
+     * too short to be answered from the index. Callers must still verify each candidate.
+     */
+    long[] candidates(String query) {
+        final var normalized = query.toLowerCase(Locale.ROOT);
+        if (normalized.length() < GRAM_LENGTH) {
+            return null;
+        }
+
+        PostingList smallest = null;
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            final var cursors = postings.get(normalized.substring(i, i + GRAM_LENGTH));
+            if (cursors == null) {
+                return new long[0];
+            }
+            if (smallest == null || cursors.size() < smallest.size()) {
+                smallest = cursors;
+            }
+        }
+        return smallest.toArray();
+    }
+
+    private static Set<String> grams(String name) {
+        if (name == null) {
+            return Set.of();
+        }
+        final var normalized = name.toLowerCase(Locale.ROOT);
+        final var grams = new HashSet<String>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /*
+     * Sorted cursors with lazy removal: a removed cursor is negated in place, which keeps the order by absolute value,
+     * and the array is compacted once half of it is removed entries. Cursors start at 1, so none is ever zero.
+     */
+    static final class PostingList {
+
+        private long[] cursors = new long[4];
+        private int length;
+        private int removed;
+
+        synchronized void add(long cursor) {
+            final var index = indexOf(cursor);
+            if (index >= 0) {
+                if (cursors[index] < 0) {
+                    cursors[index] = cursor;
+                    removed--;
+                }
+                return;
+            }
+            final var insertAt = -index - 1;
+            if (length == cursors.length) {
+                cursors = Arrays.copyOf(cursors, length + (length >> 1) + 1);
+            }
+            System.arraycopy(cursors, insertAt, cursors, insertAt + 1, length - insertAt);
+            cursors[insertAt] = cursor;
+            length++;
+        }
+
+        /**
+         * Returns whether the list is empty afterwards.
+         */
+        synchronized boolean remove(long cursor) {
+            final var index = indexOf(cursor);
+            if (index >= 0 && cursors[index] > 0) {
+                cursors[index] = -cursor;
+                removed++;
+                if (removed * 2 > length) {
+                    compact();
+                }
+            }
+            return length == removed;
+        }
+
+        synchronized int size() {
+            return length - removed;
+        }
+
+        synchronized long[] toArray() {
+            if (removed == 0) {
+                return Arrays.copyOf(cursors, length);
+            }
+            final var live = new long[length - removed];
+            var next = 0;
+            for (int i = 0; i < length; i++) {
+                if (cursors[i] > 0) {
+                    live[next++] = cursors[i];
+                }
+            }
+            return live;
+        }
+
+        private void compact() {
+            cursors = toArray();
+            length = cursors.length;
+            removed = 0;
+        }
+
+        /*
+         * Binary search by absolute value; like Arrays.binarySearch, returns (-(insertion point) - 1) when absent.
+         */
+        private int indexOf(long cursor) {
+            var low = 0;
+            var high = length - 1;
+            while (low <= high) {
+                final var mid = (low + high) >>> 1;
+                final var value = Math.abs(cursors[mid]);
+                if (value < cursor) {
+                    low = mid + 1;
+                } else if (value > cursor) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the full employee list response already encoded as JSON and as gzip. The encoding is tagged with the store
+ * version it was built from and rebuilt on the first request after a create or delete, so an unchanged list is served
+ * by copying bytes instead of serializing and compressing it again.
+ */
+@Slf4j
+@Component
+public class EmployeeListResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final MockEmployeeService mockEmployeeService;
+    private final boolean enabled;
+
+    private volatile EncodedList current;
+
+    public EmployeeListResponseCache(
+            ObjectMapper objectMapper,
+            MockEmployeeService mockEmployeeService,
+            @Value("${mock.response-cache.enabled:true}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.mockEmployeeService = mockEmployeeService;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the encoding of the current store version, building it first if a mutation made the last one stale.
+     * Concurrent callers wait for a single rebuild rather than each encoding the list.
+     */
+    public EncodedList get() {
+        final var version = mockEmployeeService.getVersion();
+        final var cached = current;
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        synchronized (this) {
+            final var latest = mockEmployeeService.getVersion();
+            if (current != null && current.version() == latest) {
+                return current;
+            }
+            current = encode(latest);
+            return current;
+        }
+    }
+
+    /**
+     * Returns the encoding of the current store version if it is already built, or {@code null}, without waiting.
+     */
+    public EncodedList getIfCurrent() {
+        final var cached = current;
+        return cached != null && cached.version() == mockEmployeeService.getVersion() ? cached : null;
+    }
+
+    private EncodedList encode(long version) {
+        final var started = System.nanoTime();
+        try {
+            final var json =
+                    objectMapper.writeValueAsBytes(Response.handledWith(mockEmployeeService.getMockEmployees()));
+            final var buffer = new ByteArrayOutputStream(Math.max(json.length / 4, 64));
+            try (final var gzip = new GZIPOutputStream(buffer, 64 * 1024)) {
+                gzip.write(json);
+            }
+            final var encoded = new EncodedList(version, json, buffer.toByteArray());
+            log.debug(
+                    "Encoded employee list version {} ({} bytes, {} gzipped) in {} ms",
+                    version,
+                    encoded.json().length,
+                    encoded.gzip().length,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return encoded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode employee list", e);
+        }
+    }
+
+    public record EncodedList(long version, byte[] json, byte[] gzip) {}
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.reliaquest.server.model.EmployeeField;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a projected employee list in the usual response envelope with a streaming generator, reading the requested
+ * fields straight off the stored employees, so no projected copy of an employee or of the list is built.
+ */
+public final class EmployeeProjectionWriter {
+
+    private static final SerializableString[] NAMES = new SerializableString[EmployeeField.values().length];
+
+    static {
+        for (final var field : EmployeeField.values()) {
+            NAMES[field.ordinal()] = new SerializedString(field.getJsonName());
+        }
+    }
+
+    private EmployeeProjectionWriter() {}
+
+    public static byte[] write(JsonFactory factory, List<MockEmployee> employees, Set<EmployeeField> fields) {
+        final var out = new ByteArrayOutputStream(Math.max(employees.size() * 24 * fields.size(), 64));
+        try (final var json = factory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("data");
+            for (final var employee : employees) {
+                writeEmployee(json, employee, fields);
+            }
+            json.writeEndArray();
+            json.writeStringField("status", Response.Status.HANDLED.getValue());
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode projected employee list", e);
+        }
+        return out.toByteArray();
+    }
+
+    static void writeEmployee(JsonGenerator json, MockEmployee employee, Set<EmployeeField> fields) throws IOException {
+        json.writeStartObject();
+        for (final var field : fields) {
+            json.writeFieldName(NAMES[field.ordinal()]);
+            writeValue(json, employee, field);
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator json, MockEmployee employee, EmployeeField field) throws IOException {
+        switch (field) {
+            case ID -> json.writeString(
+                    employee.getId() != null ? employee.getId().toString() : null);
+            case NAME -> json.writeString(employee.getName());
+            case SALARY -> writeNumber(json, employee.getSalary());
+            case AGE -> writeNumber(json, employee.getAge());
+            case TITLE -> json.writeString(employee.getTitle());
+            case EMAIL -> json.writeString(employee.getEmail());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator json, Integer value) throws IOException {
+        if (value != null) {
+            json.writeNumber(value);
+        } else {
+            json.writeNull();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Injects the faults of the active {@link FaultProfile} into requests: it first waits the sampled latency, then may
+ * answer with an injected error instead of handling the request. Otherwise the request is handled as usual, and for
+ * a dropped connection or slow drip the response body is buffered and then written out in part or in chunks.
+ *
+ * <p>A dropped connection declares the full Content-Length, sends half the body and closes, which the client sees as
+ * the connection going away mid-response; the servlet API offers no way to send a TCP reset itself. Injected faults
+ * are applied before the rate limiter, so they do not spend its budget.
+ */
+@Slf4j
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private final FaultProfiles profiles;
+    private final ObjectMapper objectMapper;
+
+    public FaultInjectionFilter(FaultProfiles profiles, ObjectMapper objectMapper) {
+        this.profiles = profiles;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var profile = profiles.active();
+        if (profile == FaultProfile.NONE) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var random = ThreadLocalRandom.current();
+        final var method = request.getMethod();
+        final var path =
+                request.getRequestURI().substring(request.getContextPath().length());
+        if (profile.latency() != null && !sleep(profile.latency().sampleNanos(random))) {
+            return;
+        }
+
+        final var status = profile.errorStatus(method, path, random);
+        if (status != 0) {
+            writeError(response, status);
+            return;
+        }
+
+        final var reset = profile.resets(method, path, random);
+        final var drip = profile.dripFor(method, path);
+        if (!reset && drip == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, buffered);
+        final var body = buffered.getContentAsByteArray();
+        if (reset) {
+            log.debug("Dropping the connection half way through {} {}", method, path);
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            response.setContentLength(Math.max(1, body.length));
+            response.getOutputStream().write(body, 0, body.length / 2);
+            response.flushBuffer();
+            return;
+        }
+
+        response.setContentLength(body.length);
+        final var out = response.getOutputStream();
+        for (int offset = 0; offset < body.length; offset += drip.chunkBytes()) {
+            if (offset > 0 && !sleep(drip.interval().toNanos())) {
+                return;
+            }
+            out.write(body, offset, Math.min(drip.chunkBytes(), body.length - offset));
+            response.flushBuffer();
+        }
+    }
+
+    /*
+     * Injected errors look like the server's own: a JSON error body, and Retry-After for the statuses that carry one.
+     */
+    private void writeError(HttpServletResponse response, int status) throws IOException {
+        response.setStatus(status);
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(Response.error("Injected fault " + status)));
+    }
+
+    /**
+     * @return false if the thread was interrupted, in which case the request is abandoned
+     */
+    private static boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import java.time.Duration;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * A named set of faults the mock server injects into {@code /api} requests: a latency added before every request,
+ * error responses and dropped connections for matching endpoints at a given rate, and slow-drip bodies. Endpoints are
+ * matched by method (any when absent) and Ant path pattern such as {@code /api/v1/employee/**} (any when absent).
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record FaultProfile(LatencyDistribution latency, List<ErrorRule> errors, List<ResetRule> resets, SlowDrip drip) {
+
+    public static final FaultProfile NONE = new FaultProfile(null, List.of(), List.of(), null);
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    public FaultProfile {
+        errors = errors != null ? List.copyOf(errors) : List.of();
+        resets = resets != null ? List.copyOf(resets) : List.of();
+    }
+
+    /**
+     * The status of the error to answer {@code method path} with instead of handling it, or 0 for none.
+     */
+    int errorStatus(String method, String path, RandomGenerator random) {
+        for (int i = 0; i < errors.size(); i++) {
+            final var rule = errors.get(i);
+            if (matches(rule.method(), rule.path(), method, path) && random.nextDouble() < rule.rate()) {
+                return rule.status();
+            }
+        }
+        return 0;
+    }
+
+    boolean resets(String method, String path, RandomGenerator random) {
+        for (int i = 0; i < resets.size(); i++) {
+            final var rule = resets.get(i);
+            if (matches(rule.method(), rule.path(), method, path) && random.nextDouble() < rule.rate()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    SlowDrip dripFor(String method, String path) {
+        return drip != null && matches(drip.method(), drip.path(), method, path) ? drip : null;
+    }
+
+    private static boolean matches(String ruleMethod, String rulePath, String method, String path) {
+        return (ruleMethod == null || ruleMethod.equalsIgnoreCase(method))
+                && (rulePath == null || PATHS.match(rulePath, path));
+    }
+
+    private static double checkRate(double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException("Fault rate must be between 0 and 1, got " + rate);
+        }
+        return rate;
+    }
+
+    private static Duration checkPositive(Duration duration, String name) {
+        if (duration == null || duration.isNegative()) {
+            throw new IllegalArgumentException(name + " must be zero or positive");
+        }
+        return duration;
+    }
+
+    /**
+     * Answers matching requests with {@code status} at {@code rate}; 429 and 503 come with {@code Retry-After: 1}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ErrorRule(String method, String path, double rate, int status) {
+        public ErrorRule {
+            rate = checkRate(rate);
+            if (status < 400 || status > 599) {
+                throw new IllegalArgumentException("Injected error status must be 4xx or 5xx, got " + status);
+            }
+        }
+    }
+
+    /**
+     * Closes the connection half way through the response body of matching requests at {@code rate}, so the client
+     * sees the connection drop before the response is complete.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ResetRule(String method, String path, double rate) {
+        public ResetRule {
+            rate = checkRate(rate);
+        }
+    }
+
+    /**
+     * Writes matching response bodies {@code chunkBytes} at a time, {@code interval} apart.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record SlowDrip(String method, String path, int chunkBytes, Duration interval) {
+        public SlowDrip {
+            if (chunkBytes < 1) {
+                throw new IllegalArgumentException("Drip chunk size must be at least 1 byte");
+            }
+            interval = checkPositive(interval, "Drip interval");
+        }
+    }
+
+    /**
+     * Where the latency added to each request is drawn from. Samples are capped at {@link #MAX_DELAY}.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+    @JsonSubTypes({
+        @JsonSubTypes.Type(value = Fixed.class, name = "fixed"),
+        @JsonSubTypes.Type(value = LogNormal.class, name = "lognormal"),
+        @JsonSubTypes.Type(value = Bimodal.class, name = "bimodal")
+    })
+    public sealed interface LatencyDistribution {
+
+        Duration MAX_DELAY = Duration.ofMinutes(1);
+
+        long sampleNanos(RandomGenerator random);
+    }
+
+    public record Fixed(Duration delay) implements LatencyDistribution {
+        public Fixed {
+            delay = checkPositive(delay, "Fixed delay");
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return Math.min(delay.toNanos(), MAX_DELAY.toNanos());
+        }
+    }
+
+    /**
+     * Half the requests are faster than {@code median}; {@code sigma} is the spread of the log of the latency, so
+     * about one request in a hundred takes longer than {@code median * e^(2.33 * sigma)}.
+     */
+    public record LogNormal(Duration median, double sigma) implements LatencyDistribution {
+        public LogNormal {
+            median = checkPositive(median, "Lognormal median");
+            if (!(sigma >= 0)) {
+                throw new IllegalArgumentException("Lognormal sigma must be zero or positive");
+            }
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            final var sample = median.toNanos() * Math.exp(sigma * random.nextGaussian());
+            return (long) Math.min(sample, MAX_DELAY.toNanos());
+        }
+    }
+
+    /**
+     * Draws from {@code slow} for a {@code slowFraction} of requests and from {@code fast} for the rest, as when a
+     * few requests hit a cold cache or a paused JVM.
+     */
+    public record Bimodal(LatencyDistribution fast, LatencyDistribution slow, double slowFraction)
+            implements LatencyDistribution {
+        public Bimodal {
+            if (fast == null || slow == null) {
+                throw new IllegalArgumentException("Bimodal latency needs a fast and a slow distribution");
+            }
+            slowFraction = checkRate(slowFraction);
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return (random.nextDouble() < slowFraction ? slow : fast).sampleNanos(random);
+        }
+    }
+}
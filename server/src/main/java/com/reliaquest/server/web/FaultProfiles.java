@@ -0,0 +1,137 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The fault profiles the mock server knows and the one that is active. A few profiles are built in; more can be read
+ * from a JSON file at startup ({@code {"name": profile, ...}}) or defined at runtime through the admin endpoint, which
+ * also switches between them.
+ */
+@Slf4j
+@Component
+public class FaultProfiles {
+
+    public static final String NONE = "none";
+
+    private final NavigableMap<String, FaultProfile> profiles = new ConcurrentSkipListMap<>();
+
+    /*
+     * Name and profile change together, so requests read both with one volatile load.
+     */
+    private volatile Active active = new Active(NONE, FaultProfile.NONE);
+
+    public FaultProfiles(
+            ObjectMapper objectMapper,
+            @Value("${mock.faults.profile:none}") String profile,
+            @Value("${mock.faults.profiles-file:}") String profilesFile) {
+        profiles.put(NONE, FaultProfile.NONE);
+        profiles.put(
+                "slow", new FaultProfile(new FaultProfile.LogNormal(Duration.ofMillis(50), 0.5), null, null, null));
+        profiles.put(
+                "slow-tail",
+                new FaultProfile(
+                        new FaultProfile.Bimodal(
+                                new FaultProfile.LogNormal(Duration.ofMillis(10), 0.3),
+                                new FaultProfile.Fixed(Duration.ofSeconds(1)),
+                                0.05),
+                        null,
+                        null,
+                        null));
+        profiles.put(
+                "flaky",
+                new FaultProfile(
+                        null,
+                        List.of(new FaultProfile.ErrorRule(null, "/api/**", 0.05, 503)),
+                        List.of(new FaultProfile.ResetRule(null, "/api/**", 0.01)),
+                        null));
+        profiles.put(
+                "slow-drip",
+                new FaultProfile(
+                        null,
+                        null,
+                        null,
+                        new FaultProfile.SlowDrip("GET", "/api/v1/employee", 1024, Duration.ofMillis(50))));
+        if (!profilesFile.isBlank()) {
+            try {
+                final Map<String, FaultProfile> loaded =
+                        objectMapper.readValue(Path.of(profilesFile).toFile(), new TypeReference<>() {});
+                loaded.forEach(this::define);
+                log.info("Loaded {} fault profiles from {}", loaded.size(), profilesFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read fault profiles from " + profilesFile, e);
+            }
+        }
+        activate(profile);
+    }
+
+    public String activeName() {
+        return active.name();
+    }
+
+    FaultProfile active() {
+        return active.profile();
+    }
+
+    public Map<String, FaultProfile> all() {
+        return Collections.unmodifiableMap(new TreeMap<>(profiles));
+    }
+
+    /**
+     * @throws IllegalArgumentException if no profile has this name
+     */
+    public synchronized void activate(String name) {
+        final var profile = profiles.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown fault profile: " + name);
+        }
+        active = new Active(name, profile);
+        log.info("Fault profile {} is active", name);
+    }
+
+    /**
+     * Adds or replaces a profile; replacing the active one takes effect immediately.
+     */
+    public synchronized void define(String name, FaultProfile profile) {
+        if (NONE.equals(name)) {
+            throw new IllegalArgumentException("The " + NONE + " profile cannot be redefined");
+        }
+        profiles.put(name, profile);
+        if (active.name().equals(name)) {
+            active = new Active(name, profile);
+        }
+    }
+
+    /**
+     * Removes a profile; removing the active one switches back to {@value #NONE}.
+     *
+     * @return whether the profile existed
+     */
+    public synchronized boolean remove(String name) {
+        if (NONE.equals(name)) {
+            throw new IllegalArgumentException("The " + NONE + " profile cannot be removed");
+        }
+        if (profiles.remove(name) == null) {
+            return false;
+        }
+        if (active.name().equals(name)) {
+            activate(NONE);
+        }
+        return true;
+    }
+
+    private record Active(String name, FaultProfile profile) {}
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+/**
+ * The original limiter of the mock server: a randomly sized budget of requests and, once it is spent, a randomly long
+ * lockout counted from the last admitted request. Both are drawn once per server start. The budget is not advertised,
+ * so admitted requests report no reset time.
+ */
+public class RandomRequestLimiter implements RequestLimiter {
+
+    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
+    private static final long REQUEST_BACKOFF_NANOS =
+            TimeUnit.SECONDS.toNanos(RandomGenerator.getDefault().nextInt(30, 90));
+
+    private final AtomicReference<RequestLimit> requestLimit =
+            new AtomicReference<>(RequestLimit.init(System.nanoTime()));
+
+    @Override
+    public Decision tryAcquire(String key, long nowNanos) {
+        while (true) {
+            final var current = requestLimit.get();
+            if (current.count() >= REQUEST_LIMIT) {
+                final var retryAfter = current.lastRequested() + REQUEST_BACKOFF_NANOS - nowNanos;
+                if (retryAfter > 0) {
+                    return Decision.reject(REQUEST_LIMIT, retryAfter, retryAfter);
+                }
+            }
+
+            // Counting and resetting go through one compare-and-set, so concurrent requests cannot over-admit
+            final var next = current.count() >= REQUEST_LIMIT
+                    ? RequestLimit.init(nowNanos)
+                    : new RequestLimit(current.count() + 1, nowNanos);
+            if (requestLimit.compareAndSet(current, next)) {
+                return Decision.allow(REQUEST_LIMIT, REQUEST_LIMIT - next.count(), 0);
+            }
+        }
+    }
+
+    private record RequestLimit(int count, long lastRequested) {
+        public static RequestLimit init(long nowNanos) {
+            return new RequestLimit(0, nowNanos);
+        }
+    }
+}
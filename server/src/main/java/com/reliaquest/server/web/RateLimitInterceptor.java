@@ -0,0 +1,58 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies a {@link RequestLimiter} to every request and advertises the outcome through the {@code RateLimit-*}
+ * headers; rejected requests also get {@code Retry-After}, so clients can wait exactly as long as needed instead of
+ * retrying blindly.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RequestLimiter limiter;
+    private final boolean perClient;
+    private final String clientHeader;
+
+    /**
+     * @param perClient account requests per client instead of against one shared budget
+     * @param clientHeader header identifying the client; the remote address is used when it is absent
+     */
+    public RateLimitInterceptor(RequestLimiter limiter, boolean perClient, String clientHeader) {
+        this.limiter = limiter;
+        this.perClient = perClient;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var decision = limiter.tryAcquire(perClient ? clientKey(request) : null, System.nanoTime());
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSeconds(decision.resetNanos())));
+        if (decision.allowed()) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, toSeconds(decision.retryAfterNanos()))));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return false;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        final var client = request.getHeader(clientHeader);
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+
+    static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
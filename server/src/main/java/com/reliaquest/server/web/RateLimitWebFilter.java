@@ -0,0 +1,73 @@
+package com.reliaquest.server.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive counterpart of {@link RateLimitInterceptor} and {@link RandomRequestLimitInterceptor}. Every
+ * {@link RequestLimiter} decides with compare-and-set and never waits, so the decision is made on the event loop and a
+ * rejected request is answered without reaching a handler. Admin paths are not limited, as in the servlet mode.
+ */
+public class RateLimitWebFilter implements WebFilter {
+
+    private final RequestLimiter limiter;
+    private final boolean perClient;
+    private final String clientHeader;
+    private final boolean advertiseLimits;
+
+    /**
+     * @param perClient account requests per client instead of against one shared budget
+     * @param clientHeader header identifying the client; the remote address is used when it is absent
+     * @param advertiseLimits send the {@code RateLimit-*} headers; {@code Retry-After} is always sent with a 429
+     */
+    public RateLimitWebFilter(RequestLimiter limiter, boolean perClient, String clientHeader, boolean advertiseLimits) {
+        this.limiter = limiter;
+        this.perClient = perClient;
+        this.clientHeader = clientHeader;
+        this.advertiseLimits = advertiseLimits;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final var request = exchange.getRequest();
+        if (request.getPath().pathWithinApplication().value().startsWith("/admin/")) {
+            return chain.filter(exchange);
+        }
+
+        final var decision = limiter.tryAcquire(perClient ? clientKey(request) : null, System.nanoTime());
+        final var response = exchange.getResponse();
+        final var headers = response.getHeaders();
+        if (advertiseLimits) {
+            headers.set(RateLimitInterceptor.LIMIT_HEADER, String.valueOf(decision.limit()));
+            headers.set(RateLimitInterceptor.REMAINING_HEADER, String.valueOf(decision.remaining()));
+            headers.set(
+                    RateLimitInterceptor.RESET_HEADER,
+                    String.valueOf(RateLimitInterceptor.toSeconds(decision.resetNanos())));
+        }
+        if (decision.allowed()) {
+            return chain.filter(exchange);
+        }
+
+        headers.set(
+                HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, RateLimitInterceptor.toSeconds(decision.retryAfterNanos()))));
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        return response.setComplete();
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+        final var client = request.getHeaders().getFirst(clientHeader);
+        if (client != null && !client.isBlank()) {
+            return client;
+        }
+        final var remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null
+                ? remote.getAddress().getHostAddress()
+                : String.valueOf(remote);
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.server.web;
+
+/**
+ * Decides whether a request may proceed. Implementations must be safe to call concurrently without locking.
+ */
+public interface RequestLimiter {
+
+    /**
+     * @param key client the request is accounted to
+     * @param nowNanos current {@link System#nanoTime()}, read once per request by the caller
+     */
+    Decision tryAcquire(String key, long nowNanos);
+
+    /**
+     * @param limit requests allowed per period
+     * @param remaining requests still allowed right now
+     * @param resetNanos time until the full limit is available again
+     * @param retryAfterNanos time until the next request would be allowed; zero when this one was
+     */
+    record Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+
+        static Decision allow(int limit, int remaining, long resetNanos) {
+            return new Decision(true, limit, remaining, resetNanos, 0);
+        }
+
+        static Decision reject(int limit, long resetNanos, long retryAfterNanos) {
+            return new Decision(false, limit, 0, resetNanos, retryAfterNanos);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times each request and counts the body bytes it writes, for {@link ServerMetrics}. Requests are grouped by method
+ * and matched route rather than by path, so the number of endpoints stays small however many ids are looked up.
+ * Bodies are counted as written to the servlet output stream, which is how every endpoint here writes them. The body
+ * write time runs from the moment the body is handed to its message converter, as marked in
+ * {@link #BODY_WRITE_STARTED}, until the response is complete.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String BODY_WRITE_STARTED = RequestMetricsFilter.class.getName() + ".bodyWriteStarted";
+
+    private final ServerMetrics metrics;
+
+    public RequestMetricsFilter(ServerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var started = System.nanoTime();
+        final var counting = new CountingResponse(response);
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            final var finished = System.nanoTime();
+            final var route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            final var bodyWriteStarted = request.getAttribute(BODY_WRITE_STARTED);
+            metrics.record(
+                    request.getMethod() + " " + (route != null ? route : ServerMetrics.UNMATCHED),
+                    counting.getStatus(),
+                    finished - started,
+                    counting.bytes(),
+                    bodyWriteStarted instanceof Long startedWriting ? finished - startedWriting : 0);
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private CountingOutputStream out;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (out == null) {
+                out = new CountingOutputStream(super.getOutputStream());
+            }
+            return out;
+        }
+
+        private long bytes() {
+            return out != null ? out.bytes : 0;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private long bytes;
+
+        private CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            bytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
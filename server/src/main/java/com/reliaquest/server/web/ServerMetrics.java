@@ -0,0 +1,192 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Request metrics for benchmark runs against the mock server, kept cheap enough to leave on: per endpoint, latency
+ * and body write time go into HdrHistogram recorders, which writers update without locking, and counts and bytes into
+ * {@link LongAdder}s. Reading the metrics folds the recorders into running totals. {@link #reset} starts a new run.
+ *
+ * <p>Latency is measured from the moment the request reaches the server's filters until the response is complete, so
+ * it includes rate limiting, injected faults and writing the body. The body write time starts when the controller's
+ * result is handed to its message converter, so for JSON responses it is serializing and sending the body.
+ */
+@Component
+public class ServerMetrics {
+
+    static final String UNMATCHED = "(unmatched)";
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    // Guarded by this
+    private long startedNanos = System.nanoTime();
+    private long lastReadNanos = startedNanos;
+    private long lastReadVersion = -1;
+
+    /**
+     * @param endpoint method and matched route, such as {@code GET /api/v1/employee/{id}}
+     * @param bodyWriteNanos time from handing the body to its converter until the response was complete, or 0 when no
+     *     converter wrote it
+     */
+    void record(String endpoint, int status, long latencyNanos, long bodyBytes, long bodyWriteNanos) {
+        final var metrics = endpoints.computeIfAbsent(endpoint, ignored -> new Endpoint());
+        metrics.requests.increment();
+        metrics.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        metrics.bytes.add(bodyBytes);
+        if (bodyWriteNanos > 0) {
+            metrics.bodyWrite.recordValue(TimeUnit.NANOSECONDS.toMicros(bodyWriteNanos));
+        }
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            metrics.rateLimited.increment();
+        } else if (status >= 500) {
+            metrics.serverErrors.increment();
+        } else if (status >= 400) {
+            metrics.clientErrors.increment();
+        }
+    }
+
+    /**
+     * Wraps the request limiter so that every request it admits or turns away is counted.
+     */
+    public HandlerInterceptor countingAdmissions(HandlerInterceptor limiter) {
+        return new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+                    throws Exception {
+                final var allowed = limiter.preHandle(request, response, handler);
+                (allowed ? admitted : rateLimited).increment();
+                return allowed;
+            }
+        };
+    }
+
+    /**
+     * @param storeSize employees in the store now
+     * @param storeVersion the store version now, which moves once per create, delete or batch
+     */
+    public synchronized Snapshot read(int storeSize, long storeVersion) {
+        final var now = System.nanoTime();
+        final var sinceLastRead = Math.max(1, now - lastReadNanos);
+        final var mutationsPerSecond = lastReadVersion < 0
+                ? 0
+                : (storeVersion - lastReadVersion) * (double) TimeUnit.SECONDS.toNanos(1) / sinceLastRead;
+        lastReadNanos = now;
+        lastReadVersion = storeVersion;
+
+        final var summaries = new TreeMap<String, EndpointSummary>();
+        endpoints.forEach((name, endpoint) -> summaries.put(name, endpoint.summarize()));
+        return new Snapshot(
+                TimeUnit.NANOSECONDS.toMillis(now - startedNanos),
+                admitted.sum(),
+                rateLimited.sum(),
+                new StoreSummary(storeSize, storeVersion, mutationsPerSecond),
+                summaries);
+    }
+
+    public synchronized void reset() {
+        endpoints.values().forEach(Endpoint::reset);
+        admitted.reset();
+        rateLimited.reset();
+        startedNanos = System.nanoTime();
+        lastReadNanos = startedNanos;
+        lastReadVersion = -1;
+    }
+
+    /**
+     * @param sinceMillis time since the server started or the metrics were last reset
+     * @param admitted requests the limiter let through
+     * @param rateLimited requests the limiter answered with 429
+     */
+    public record Snapshot(
+            long sinceMillis,
+            long admitted,
+            long rateLimited,
+            StoreSummary store,
+            Map<String, EndpointSummary> endpoints) {}
+
+    /**
+     * @param mutationsPerSecond store versions per second since the previous read
+     */
+    public record StoreSummary(int size, long version, double mutationsPerSecond) {}
+
+    /**
+     * @param rateLimited responses with 429, whether from the limiter or injected
+     * @param responseBytes body bytes written, before any transfer compression
+     */
+    public record EndpointSummary(
+            long requests,
+            long rateLimited,
+            long clientErrors,
+            long serverErrors,
+            long responseBytes,
+            HistogramSummary latencyMicros,
+            HistogramSummary bodyWriteMicros) {}
+
+    public record HistogramSummary(long count, double mean, long p50, long p90, long p99, long p999, long max) {
+
+        static HistogramSummary of(Histogram histogram) {
+            return new HistogramSummary(
+                    histogram.getTotalCount(),
+                    histogram.getMean(),
+                    histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(90),
+                    histogram.getValueAtPercentile(99),
+                    histogram.getValueAtPercentile(99.9),
+                    histogram.getMaxValue());
+        }
+    }
+
+    private static final class Endpoint {
+        private final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+        private final Recorder bodyWrite = new Recorder(SIGNIFICANT_DIGITS);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        // Guarded by the enclosing ServerMetrics
+        private final Histogram latencyTotal = new Histogram(SIGNIFICANT_DIGITS);
+        private final Histogram bodyWriteTotal = new Histogram(SIGNIFICANT_DIGITS);
+
+        private EndpointSummary summarize() {
+            latencyTotal.add(latency.getIntervalHistogram());
+            bodyWriteTotal.add(bodyWrite.getIntervalHistogram());
+            return new EndpointSummary(
+                    requests.sum(),
+                    rateLimited.sum(),
+                    clientErrors.sum(),
+                    serverErrors.sum(),
+                    bytes.sum(),
+                    HistogramSummary.of(latencyTotal),
+                    HistogramSummary.of(bodyWriteTotal));
+        }
+
+        private void reset() {
+            latency.reset();
+            bodyWrite.reset();
+            latencyTotal.reset();
+            bodyWriteTotal.reset();
+            requests.reset();
+            rateLimited.reset();
+            clientErrors.reset();
+            serverErrors.reset();
+            bytes.reset();
+        }
+    }
+}
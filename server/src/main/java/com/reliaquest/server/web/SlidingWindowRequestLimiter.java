@@ -0,0 +1,87 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sliding window counter: the count of the current fixed window plus the previous window's count weighted by how
+ * much of it still overlaps the sliding window. Windows roll over with a compare-and-set and requests are counted
+ * with an atomic increment that is undone on rejection.
+ */
+public class SlidingWindowRequestLimiter implements RequestLimiter {
+
+    private static final long UNSTARTED = Long.MIN_VALUE;
+
+    private final int limit;
+    private final long windowNanos;
+    private final int maxKeys;
+    private final AtomicReference<Window> sharedWindow = new AtomicReference<>(new Window(UNSTARTED, 0));
+    private final Map<String, AtomicReference<Window>> windows = new ConcurrentHashMap<>();
+
+    public SlidingWindowRequestLimiter(int limit, Duration window, int maxKeys) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, long nowNanos) {
+        final var window = roll(key == null ? sharedWindow : window(key, nowNanos), nowNanos);
+        final var elapsed = (double) (nowNanos - window.start()) / windowNanos;
+        final var weightedPrevious = window.previous() * (1 - elapsed);
+        final var count = window.current().incrementAndGet();
+        final var resetNanos = window.start() + windowNanos - nowNanos;
+        if (weightedPrevious + count <= limit) {
+            return Decision.allow(limit, (int) (limit - weightedPrevious - count), resetNanos);
+        }
+
+        window.current().decrementAndGet();
+        // Earliest point at which the decaying previous window leaves room for one more request
+        final var room = limit - (count - 1) - 1;
+        final var retryAfterNanos = room >= 0 && window.previous() > 0
+                ? (long) ((1 - (double) room / window.previous() - elapsed) * windowNanos)
+                : resetNanos;
+        return Decision.reject(limit, resetNanos, Math.max(1, Math.min(retryAfterNanos, resetNanos)));
+    }
+
+    private Window roll(AtomicReference<Window> reference, long nowNanos) {
+        while (true) {
+            final var window = reference.get();
+            final var started = window.start() != UNSTARTED;
+            if (started && nowNanos - window.start() < windowNanos) {
+                return window;
+            }
+            final var start = started ? nowNanos - (nowNanos - window.start()) % windowNanos : nowNanos;
+            final var previous = started && nowNanos - window.start() < 2 * windowNanos
+                    ? window.current().get()
+                    : 0;
+            final var next = new Window(start, previous);
+            if (reference.compareAndSet(window, next)) {
+                return next;
+            }
+        }
+    }
+
+    private AtomicReference<Window> window(String key, long nowNanos) {
+        final var window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= maxKeys) {
+            windows.values()
+                    .removeIf(idle -> idle.get().start() == UNSTARTED
+                            || nowNanos - idle.get().start() >= 2 * windowNanos);
+        }
+        return windows.computeIfAbsent(key, ignored -> new AtomicReference<>(new Window(UNSTARTED, 0)));
+    }
+
+    private record Window(long start, int previous, AtomicInteger current) {
+
+        Window(long start, int previous) {
+            this(start, previous, new AtomicInteger());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.server.model.EmployeeField;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+/**
+ * Writes an employee list in the usual response envelope as a stream of buffers, {@link #BATCH_SIZE} employees each.
+ * A batch is encoded only when the connection asks for more, so a large list is held as employees plus the batches
+ * still being sent, never as one encoded body. Employees are written whole, or projected to the requested fields as
+ * in {@link EmployeeProjectionWriter}.
+ */
+public final class StreamingEmployeeListWriter {
+
+    static final int BATCH_SIZE = 256;
+
+    private static final byte[] PREFIX = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX =
+            ("],\"status\":\"" + Response.Status.HANDLED.getValue() + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    // Rough size of an encoded employee, to size each batch's buffer
+    private static final int EMPLOYEE_BYTES = 256;
+
+    private StreamingEmployeeListWriter() {}
+
+    /**
+     * @param fields the fields to write, or {@code null} for whole employees
+     */
+    public static Flux<DataBuffer> write(
+            DataBufferFactory buffers,
+            ObjectMapper objectMapper,
+            List<MockEmployee> employees,
+            Set<EmployeeField> fields) {
+        final var writer =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final var batches = (employees.size() + BATCH_SIZE - 1) / BATCH_SIZE;
+        // One more than there are batches: the last buffer closes the envelope
+        return Flux.range(0, batches + 1)
+                .map(batch -> encode(buffers, writer, employees, fields, batch, batches))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static DataBuffer encode(
+            DataBufferFactory buffers,
+            ObjectWriter writer,
+            List<MockEmployee> employees,
+            Set<EmployeeField> fields,
+            int batch,
+            int batches) {
+        // The closing batch starts past the end, so it holds no employees
+        final var from = Math.min(batch * BATCH_SIZE, employees.size());
+        final var to = Math.min(from + BATCH_SIZE, employees.size());
+        final var buffer = buffers.allocateBuffer((to - from) * EMPLOYEE_BYTES + PREFIX.length + SUFFIX.length);
+        try {
+            final var out = buffer.asOutputStream();
+            if (batch == 0) {
+                out.write(PREFIX);
+            }
+            if (from < to) {
+                try (final var json = writer.getFactory().createGenerator(out)) {
+                    // The employees are array elements of the envelope, so they are separated by commas
+                    json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    json.setRootValueSeparator(null);
+                    for (int i = from; i < to; i++) {
+                        if (i > 0) {
+                            json.writeRaw(',');
+                        }
+                        if (fields != null) {
+                            EmployeeProjectionWriter.writeEmployee(json, employees.get(i), fields);
+                        } else {
+                            writer.writeValue(json, employees.get(i));
+                        }
+                    }
+                }
+            }
+            if (batch == batches) {
+                out.write(SUFFIX);
+            }
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException("Failed to encode employee list", e);
+        }
+    }
+}
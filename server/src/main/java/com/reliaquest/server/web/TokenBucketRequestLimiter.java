@@ -0,0 +1,57 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket expressed as the generic cell rate algorithm: each client keeps a single "theoretical arrival time"
+ * that every admitted request pushes forward by one emission interval. A request is rejected when that time is more
+ * than a full bucket ahead of now. Admission is one compare-and-set, with no lock and no refill thread.
+ */
+public class TokenBucketRequestLimiter implements RequestLimiter {
+
+    private final int capacity;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final AtomicLong sharedArrival = new AtomicLong(Long.MIN_VALUE);
+    private final Map<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+    public TokenBucketRequestLimiter(int capacity, Duration period, int maxKeys) {
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, long nowNanos) {
+        final var arrival = key == null ? sharedArrival : arrival(key, nowNanos);
+        while (true) {
+            final var current = arrival.get();
+            final var start = Math.max(current, nowNanos);
+            final var next = start + emissionIntervalNanos;
+            final var allowAt = next - burstNanos;
+            if (nowNanos < allowAt) {
+                return Decision.reject(capacity, start - nowNanos, allowAt - nowNanos);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return Decision.allow(capacity, (int) ((nowNanos - allowAt) / emissionIntervalNanos), next - nowNanos);
+            }
+        }
+    }
+
+    private AtomicLong arrival(String key, long nowNanos) {
+        final var arrival = arrivals.get(key);
+        if (arrival != null) {
+            return arrival;
+        }
+        if (arrivals.size() >= maxKeys) {
+            // Clients whose bucket has refilled carry no state worth keeping
+            arrivals.values().removeIf(idle -> idle.get() <= nowNanos);
+        }
+        return arrivals.computeIfAbsent(key, ignored -> new AtomicLong(Long.MIN_VALUE));
+    }
+}
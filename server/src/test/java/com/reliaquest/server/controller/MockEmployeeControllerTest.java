@@ -0,0 +1,149 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.BulkItemResult;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeesInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeJournal;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeListResponseCache;
+import jakarta.validation.Validation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+
+class MockEmployeeControllerTest {
+
+    private MockEmployeeService mockEmployeeService;
+    private MockEmployeeController controller;
+
+    @BeforeEach
+    void setUp() {
+        final var objectMapper = new ObjectMapper();
+        mockEmployeeService = new MockEmployeeService(
+                new Faker(),
+                List.of(employee("Jane Doe"), employee("John Smith")),
+                new StaticListableBeanFactory().getBeanProvider(MockEmployeeJournal.class));
+        controller = new MockEmployeeController(
+                mockEmployeeService,
+                new EmployeeListResponseCache(objectMapper, mockEmployeeService, false),
+                objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    @DisplayName("createEmployees - should report invalid items at their position and create the others")
+    void createEmployees_shouldMapResultsToPositions() {
+        final var invalid = input("Ann Lee");
+        invalid.setAge(12);
+        invalid.setTitle(" ");
+
+        final var response = controller.createEmployees(Arrays.asList(input("Bob Ray"), invalid, null, input("Cy Ng")));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final var results = response.getBody().data();
+        assertEquals(4, results.size());
+        assertEquals("Bob Ray", results.get(0).data().getName());
+        assertNull(results.get(0).error());
+        assertEquals(
+                BulkItemResult.failed("age must be greater than or equal to 16, title must not be blank"),
+                results.get(1));
+        assertEquals(BulkItemResult.failed("employee must not be null"), results.get(2));
+        assertEquals("Cy Ng", results.get(3).data().getName());
+        assertEquals(
+                List.of("Jane Doe", "John Smith", "Bob Ray", "Cy Ng"),
+                mockEmployeeService.getMockEmployees().stream()
+                        .map(MockEmployee::getName)
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("createEmployees - should reject a batch over the size limit without creating anything")
+    void createEmployees_shouldRejectOversizedBatch() {
+        final var inputs = Collections.nCopies(MockEmployeeController.MAX_BATCH_SIZE + 1, input("Bob Ray"));
+
+        final var response = controller.createEmployees(inputs);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(MockEmployeeController.BATCH_TOO_LARGE, response.getBody().error());
+        assertEquals(2, mockEmployeeService.getSize());
+    }
+
+    @Test
+    @DisplayName("deleteEmployees - should report malformed and unknown ids at their position")
+    void deleteEmployees_shouldMapIdResults() {
+        final var jane = mockEmployeeService.getMockEmployees().get(0);
+        final var input = new DeleteMockEmployeesInput();
+        input.setIds(Arrays.asList(
+                "not-a-uuid", jane.getId().toString(), null, jane.getId().toString()));
+
+        final var results = controller.deleteEmployees(input).getBody().data();
+
+        assertEquals(
+                List.of(
+                        BulkItemResult.failed("id must be a UUID"),
+                        BulkItemResult.of(jane),
+                        BulkItemResult.failed("id must be a UUID"),
+                        BulkItemResult.failed("Employee not found")),
+                results);
+        assertEquals(1, mockEmployeeService.getSize());
+    }
+
+    @Test
+    @DisplayName("deleteEmployees - should delete by name and report blank and unmatched names")
+    void deleteEmployees_shouldMapNameResults() {
+        final var john = mockEmployeeService.getMockEmployees().get(1);
+        final var input = new DeleteMockEmployeesInput();
+        input.setNames(Arrays.asList("john smith", " ", "Nobody"));
+
+        final var results = controller.deleteEmployees(input).getBody().data();
+
+        assertEquals(
+                List.of(
+                        BulkItemResult.of(john),
+                        BulkItemResult.failed("name must not be blank"),
+                        BulkItemResult.failed("Employee not found")),
+                results);
+    }
+
+    @Test
+    @DisplayName("deleteEmployees - should require exactly one of ids and names, within the size limit")
+    void deleteEmployees_shouldRejectInvalidBatch() {
+        final var neither = new DeleteMockEmployeesInput();
+        final var both = new DeleteMockEmployeesInput();
+        both.setIds(List.of());
+        both.setNames(List.of());
+        final var tooMany = new DeleteMockEmployeesInput();
+        tooMany.setNames(new ArrayList<>(Collections.nCopies(MockEmployeeController.MAX_BATCH_SIZE + 1, "Jane Doe")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.deleteEmployees(neither).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.deleteEmployees(both).getStatusCode());
+        assertEquals(
+                MockEmployeeController.BATCH_TOO_LARGE,
+                controller.deleteEmployees(tooMany).getBody().error());
+        assertEquals(2, mockEmployeeService.getSize());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.from("someone@company.com", input(name));
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(50_000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
@@ -0,0 +1,144 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeJournal;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeListResponseCache;
+import jakarta.validation.Validation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+/**
+ * Sends the same requests to the reactive controller and to the servlet one over a shared store and expects the same
+ * status, paging headers and JSON body from both.
+ */
+class ReactiveMockEmployeeControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockEmployeeService mockEmployeeService;
+    private WebTestClient servlet;
+    private WebTestClient reactive;
+
+    @BeforeEach
+    void setUp() {
+        final var employees = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 600; i++) {
+            employees.add(MockEmployee.from("employee" + i + "@company.com", input("Employee " + i, 1_000 + i % 97)));
+        }
+        employees.add(MockEmployee.from("jane@company.com", input("Jane Doe", 90_000)));
+        mockEmployeeService = new MockEmployeeService(
+                new Faker(), employees, new StaticListableBeanFactory().getBeanProvider(MockEmployeeJournal.class));
+        final var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        final var listResponseCache = new EmployeeListResponseCache(objectMapper, mockEmployeeService, true);
+        servlet = MockMvcWebTestClient.bindToController(
+                        new MockEmployeeController(mockEmployeeService, listResponseCache, objectMapper, validator))
+                .build();
+        reactive = WebTestClient.bindToController(new ReactiveMockEmployeeController(
+                        mockEmployeeService, listResponseCache, objectMapper, validator))
+                .build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "/api/v1/employee",
+                "/api/v1/employee?fields=id,name",
+                "/api/v1/employee?fields=unknown",
+                "/api/v1/employee?limit=100",
+                "/api/v1/employee?limit=100&cursor=550&fields=salary",
+                "/api/v1/employee?cursor=10&until=20",
+                "/api/v1/employee/capabilities",
+                "/api/v1/employee/version",
+                "/api/v1/employee/search/jane",
+                "/api/v1/employee/search/ee 1",
+                "/api/v1/employee/search/e",
+                "/api/v1/employee/highestSalary",
+                "/api/v1/employee/topEarners?limit=5",
+                "/api/v1/employee/00000000-0000-0000-0000-000000000000"
+            })
+    @DisplayName("get - should answer with the status, paging headers and body of the servlet controller")
+    void get_shouldAnswerLikeServletController(String uri) throws IOException {
+        final var expected = exchange(servlet, uri);
+        final var actual = exchange(reactive, uri);
+
+        assertEquals(expected.getStatus(), actual.getStatus(), uri);
+        for (final var header :
+                List.of(MockEmployeeController.NEXT_CURSOR_HEADER, MockEmployeeController.WATERMARK_HEADER)) {
+            assertEquals(
+                    expected.getResponseHeaders().getFirst(header),
+                    actual.getResponseHeaders().getFirst(header),
+                    uri + " " + header);
+        }
+        assertEquals(
+                objectMapper.readTree(expected.getResponseBody()),
+                objectMapper.readTree(actual.getResponseBody()),
+                uri);
+    }
+
+    @Test
+    @DisplayName("getEmployee - should answer an existing employee like the servlet controller")
+    void getEmployee_shouldAnswerLikeServletController() throws IOException {
+        final var uri = "/api/v1/employee/"
+                + mockEmployeeService.getMockEmployees().get(42).getId();
+
+        final var expected = exchange(servlet, uri);
+        final var actual = exchange(reactive, uri);
+
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(
+                objectMapper.readTree(expected.getResponseBody()), objectMapper.readTree(actual.getResponseBody()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "identity"})
+    @DisplayName("getEmployees - should send the same cached full list bytes as the servlet controller")
+    void getEmployees_shouldSendSameEncodedList(String encoding) {
+        final var expected = servlet.get()
+                .uri("/api/v1/employee")
+                .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+                .exchange()
+                .expectBody()
+                .returnResult();
+        final var actual = reactive.get()
+                .uri("/api/v1/employee")
+                .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+                .exchange()
+                .expectBody()
+                .returnResult();
+
+        assertEquals(
+                expected.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING),
+                actual.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(expected.getResponseBody(), actual.getResponseBody());
+    }
+
+    private static EntityExchangeResult<byte[]> exchange(WebTestClient client, String uri) {
+        return client.get().uri(uri).exchange().expectBody().returnResult();
+    }
+
+    private static CreateMockEmployeeInput input(String name, int salary) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(salary);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeStorePersistenceTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("recover - should start empty when nothing was persisted")
+    void recover_shouldBeEmptyForNewDirectory() throws IOException {
+        try (final var persistence = new EmployeeStorePersistence(directory, false)) {
+            assertFalse(persistence.isRestored());
+            assertTrue(persistence.recover().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("recover - should replay the log written after a checkpoint on top of the snapshot")
+    void recover_shouldCombineSnapshotAndLogTail() throws IOException {
+        final var store = new TreeMap<Long, MockEmployee>();
+        try (final var persistence = new EmployeeStorePersistence(directory, true)) {
+            persistence.createdAll(1, List.of(employee("Jane Doe"), employee("John Smith"), employee("Ann Lee")));
+            store.put(1L, employee("Jane Doe"));
+            store.put(2L, employee("John Smith"));
+            store.put(3L, employee("Ann Lee"));
+
+            final var firstSegment = persistence.rotate();
+            persistence.checkpoint(firstSegment, 3, store.entrySet());
+            persistence.created(4, employee("Bob Stone"));
+            persistence.deleted(2);
+        }
+
+        try (final var persistence = new EmployeeStorePersistence(directory, true)) {
+            assertTrue(persistence.isRestored());
+            final var recovered = persistence.recover().orElseThrow();
+
+            assertEquals(4, recovered.sequence());
+            assertEquals(List.of(1L, 3L, 4L), List.copyOf(recovered.employees().keySet()));
+            assertEquals(
+                    List.of("Jane Doe", "Ann Lee", "Bob Stone"),
+                    recovered.employees().values().stream()
+                            .map(MockEmployee::getName)
+                            .toList());
+            assertTrue(persistence.recover().isEmpty());
+        }
+        assertFalse(Files.exists(directory.resolve("wal-000000000000.log")));
+    }
+
+    @Test
+    @DisplayName("recover - should keep a snapshot's entries that are also in the log only once")
+    void recover_shouldTolerateSnapshotOverlappingLog() throws IOException {
+        try (final var persistence = new EmployeeStorePersistence(directory, false)) {
+            final var firstSegment = persistence.rotate();
+            persistence.created(1, employee("Jane Doe"));
+            persistence.checkpoint(
+                    firstSegment, 1, Map.of(1L, employee("Jane Doe")).entrySet());
+        }
+
+        try (final var persistence = new EmployeeStorePersistence(directory, false)) {
+            final var recovered = persistence.recover().orElseThrow();
+
+            assertEquals(1, recovered.employees().size());
+            assertEquals(1, recovered.sequence());
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.nameUUIDFromBytes(name.getBytes()))
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .email(name.replace(' ', '.') + "@example.com")
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("replay - should return every appended record in order across segments")
+    void replay_shouldRoundTripRecords() throws IOException {
+        final var jane = employee("Jane Doe");
+        final var john = employee("John Smith");
+        try (final var log = new WriteAheadLog(directory, 1, true)) {
+            log.appendCreate(1, jane).join();
+            assertEquals(2, log.rotate());
+            log.appendCreate(2, john).join();
+            log.appendDelete(1).join();
+        }
+
+        final var replayed = new ArrayList<String>();
+        final var records = WriteAheadLog.replay(
+                directory,
+                1,
+                (cursor, mockEmployee) -> replayed.add("create " + cursor + " " + mockEmployee.getName()),
+                cursor -> replayed.add("delete " + cursor));
+
+        assertEquals(3, records);
+        assertEquals(List.of("create 1 Jane Doe", "create 2 John Smith", "delete 1"), replayed);
+        assertEquals(3, WriteAheadLog.nextSegment(directory, 1));
+    }
+
+    @Test
+    @DisplayName("replay - should truncate a torn record at the tail of the newest segment")
+    void replay_shouldTruncateTornTail() throws IOException {
+        try (final var log = new WriteAheadLog(directory, 1, true)) {
+            log.appendCreate(1, employee("Jane Doe")).join();
+            log.appendDelete(1).join();
+        }
+        final var segment = directory.resolve("wal-000000000001.log");
+        final var intact = Files.size(segment);
+        // A record header promising more bytes than were written before the crash
+        append(
+                segment,
+                ByteBuffer.allocate(10).putInt(64).putInt(0).put((byte) 1).put((byte) 0));
+
+        final var records = WriteAheadLog.replay(directory, 1, (cursor, mockEmployee) -> {}, cursor -> {});
+
+        assertEquals(2, records);
+        assertEquals(intact, Files.size(segment));
+    }
+
+    @Test
+    @DisplayName("replay - should fail on a corrupt record that is followed by valid ones")
+    void replay_shouldFailOnCorruptionBeforeTail() throws IOException {
+        try (final var log = new WriteAheadLog(directory, 1, true)) {
+            log.appendCreate(1, employee("Jane Doe")).join();
+            log.appendCreate(2, employee("John Smith")).join();
+        }
+        final var segment = directory.resolve("wal-000000000001.log");
+        final var intact = Files.size(segment);
+        flipByte(segment, 2 * Integer.BYTES + 3);
+
+        final var thrown = assertThrows(
+                IOException.class,
+                () -> WriteAheadLog.replay(directory, 1, (cursor, mockEmployee) -> {}, cursor -> {}));
+
+        assertTrue(thrown.getMessage().contains("wal-000000000001.log at byte 0"), thrown.getMessage());
+        assertEquals(intact, Files.size(segment));
+    }
+
+    @Test
+    @DisplayName("replay - should fail on a torn record in a segment that is not the newest")
+    void replay_shouldFailOnTornOlderSegment() throws IOException {
+        try (final var log = new WriteAheadLog(directory, 1, true)) {
+            log.appendCreate(1, employee("Jane Doe")).join();
+            log.rotate();
+            log.appendCreate(2, employee("John Smith")).join();
+        }
+        append(
+                directory.resolve("wal-000000000001.log"),
+                ByteBuffer.allocate(6).putInt(64).putShort((short) 7));
+
+        assertThrows(
+                IOException.class,
+                () -> WriteAheadLog.replay(directory, 1, (cursor, mockEmployee) -> {}, cursor -> {}));
+    }
+
+    @Test
+    @DisplayName("close - should fail later appends and rotations instead of leaving them waiting")
+    void close_shouldRejectLaterWrites() throws IOException {
+        final var log = new WriteAheadLog(directory, 1, false);
+        log.close();
+
+        final var append = log.appendDelete(1);
+
+        assertTrue(append.isCompletedExceptionally());
+        assertThrows(CompletionException.class, log::rotate);
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .email(name.replace(' ', '.') + "@example.com")
+                .build();
+    }
+
+    private static void append(Path file, ByteBuffer bytes) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(bytes.flip());
+        }
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) ~buffer.get(0));
+            channel.write(buffer.rewind(), position);
+        }
+    }
+}
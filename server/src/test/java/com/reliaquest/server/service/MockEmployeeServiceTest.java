@@ -0,0 +1,178 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class MockEmployeeServiceTest {
+
+    private MockEmployeeService mockEmployeeService;
+
+    @BeforeEach
+    void setUp() {
+        mockEmployeeService = new MockEmployeeService(
+                new Faker(),
+                List.of(employee("Jane Doe"), employee("John Smith"), employee("Jane Doe")),
+                new StaticListableBeanFactory().getBeanProvider(MockEmployeeJournal.class));
+    }
+
+    @Test
+    @DisplayName("createAll - should add the batch in order under a single version")
+    void createAll_shouldAddBatchUnderOneVersion() {
+        final var version = mockEmployeeService.getVersion();
+
+        final var created = mockEmployeeService.createAll(List.of(input("Ann Lee"), input("Bob Ray")));
+
+        assertEquals(List.of("Ann Lee", "Bob Ray"), names(created));
+        assertEquals(version + 1, mockEmployeeService.getVersion());
+        assertEquals(
+                List.of("Jane Doe", "John Smith", "Jane Doe", "Ann Lee", "Bob Ray"),
+                names(mockEmployeeService.getMockEmployees()));
+        assertEquals(5, mockEmployeeService.getLastCursor());
+    }
+
+    @Test
+    @DisplayName("deleteAllByName - should delete one employee per name, ignoring case, in store order")
+    void deleteAllByName_shouldDeleteOnePerName() {
+        final var first = mockEmployeeService.getMockEmployees().get(0);
+        final var third = mockEmployeeService.getMockEmployees().get(2);
+
+        final var deleted = mockEmployeeService.deleteAllByName(List.of("JANE DOE", "Nobody", "jane doe", "Jane Doe"));
+
+        assertSame(first, deleted.get(0));
+        assertNull(deleted.get(1));
+        assertSame(third, deleted.get(2));
+        assertNull(deleted.get(3));
+        assertEquals(List.of("John Smith"), names(mockEmployeeService.getMockEmployees()));
+        assertEquals(1, mockEmployeeService.getSize());
+    }
+
+    @Test
+    @DisplayName("deleteAllById - should report ids that match no employee as null and leave the version alone")
+    void deleteAllById_shouldReportMissingIds() {
+        final var john = mockEmployeeService.getMockEmployees().get(1);
+        final var version = mockEmployeeService.getVersion();
+
+        assertEquals(Arrays.asList((MockEmployee) null), mockEmployeeService.deleteAllById(List.of(UUID.randomUUID())));
+        assertEquals(version, mockEmployeeService.getVersion());
+
+        final var deleted = mockEmployeeService.deleteAllById(List.of(UUID.randomUUID(), john.getId()));
+
+        assertEquals(Arrays.asList(null, john), deleted);
+        assertTrue(mockEmployeeService.findById(john.getId()).isEmpty());
+        assertEquals(version + 1, mockEmployeeService.getVersion());
+    }
+
+    @Test
+    @DisplayName("getMockEmployees - should never see part of a batch while batches are applied")
+    void getMockEmployees_shouldSeeWholeBatches() throws InterruptedException {
+        final var batch = new ArrayList<CreateMockEmployeeInput>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(input("Batch Employee"));
+        }
+        final var done = new AtomicBoolean();
+        final var writer = new Thread(() -> {
+            for (int i = 0; i < 200; i++) {
+                final var created = mockEmployeeService.createAll(batch);
+                mockEmployeeService.deleteAllById(
+                        created.stream().map(MockEmployee::getId).toList());
+            }
+            done.set(true);
+        });
+        writer.start();
+        try {
+            while (!done.get()) {
+                assertTrue(Set.of(3, 103)
+                        .contains(mockEmployeeService.getMockEmployees().size()));
+                assertTrue(Set.of(3, 103)
+                        .contains(mockEmployeeService
+                                .findPage(0, Long.MAX_VALUE, 10_000)
+                                .employees()
+                                .size()));
+                assertTrue(Set.of(0, 100)
+                        .contains(mockEmployeeService.searchByName("batch").size()));
+            }
+        } finally {
+            writer.join();
+        }
+    }
+
+    @Test
+    @DisplayName("findPage - should stop at a create that is still being written")
+    void findPage_shouldNotCloseOverPendingCreate() throws InterruptedException {
+        final var slowJournaled = new CountDownLatch(1);
+        final var releaseSlow = new CountDownLatch(1);
+        final var journal = new MockEmployeeJournal() {
+            @Override
+            public void created(long cursor, MockEmployee mockEmployee) {
+                if ("Slow Writer".equals(mockEmployee.getName())) {
+                    slowJournaled.countDown();
+                    try {
+                        releaseSlow.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public void deleted(long cursor) {}
+        };
+        final var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("journal", journal);
+        final var service = new MockEmployeeService(
+                new Faker(),
+                List.of(employee("Jane Doe"), employee("John Smith")),
+                beanFactory.getBeanProvider(MockEmployeeJournal.class));
+
+        final var slow = new Thread(() -> service.create(input("Slow Writer")));
+        slow.start();
+        try {
+            assertTrue(slowJournaled.await(10, TimeUnit.SECONDS));
+            service.create(input("Fast Writer"));
+
+            final var page = service.findPage(0, Long.MAX_VALUE, 100);
+            assertEquals(2, page.watermark());
+            assertEquals(List.of("Jane Doe", "John Smith"), names(page.employees()));
+            assertNull(page.nextCursor());
+        } finally {
+            releaseSlow.countDown();
+            slow.join();
+        }
+
+        final var page = service.findPage(0, Long.MAX_VALUE, 100);
+        assertEquals(4, page.watermark());
+        assertEquals(List.of("Jane Doe", "John Smith", "Slow Writer", "Fast Writer"), names(page.employees()));
+    }
+
+    private static List<String> names(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getName).toList();
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.from("someone@company.com", input(name));
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(50_000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NameTrigramIndexTest {
+
+    private final NameTrigramIndex nameIndex = new NameTrigramIndex();
+
+    @Test
+    @DisplayName("candidates - should return the cursors of the rarest trigram in ascending order")
+    void candidates_shouldReturnSmallestPostingListInOrder() {
+        nameIndex.add(3, "Jane Doe");
+        nameIndex.add(1, "Jane Roe");
+        nameIndex.add(2, "Janet Smith");
+
+        assertArrayEquals(new long[] {1, 2, 3}, nameIndex.candidates("JAN"));
+        assertArrayEquals(new long[] {3}, nameIndex.candidates("jane doe"));
+        assertArrayEquals(new long[0], nameIndex.candidates("xyz"));
+        assertNull(nameIndex.candidates("ja"));
+    }
+
+    @Test
+    @DisplayName("remove - should drop the cursor and forget trigrams that no name has any more")
+    void remove_shouldDropCursor() {
+        nameIndex.add(1, "Jane Doe");
+        nameIndex.add(2, "Jane Roe");
+
+        nameIndex.remove(1, "Jane Doe");
+        nameIndex.remove(1, "Jane Doe");
+
+        assertArrayEquals(new long[] {2}, nameIndex.candidates("jane"));
+        assertArrayEquals(new long[0], nameIndex.candidates("doe"));
+    }
+
+    @Test
+    @DisplayName("PostingList - should stay sorted through out-of-order adds, removals and compaction")
+    void postingList_shouldStaySorted() {
+        final var postingList = new NameTrigramIndex.PostingList();
+        for (long cursor = 100; cursor >= 1; cursor--) {
+            postingList.add(cursor);
+        }
+        for (long cursor = 1; cursor <= 100; cursor += 2) {
+            assertFalse(postingList.remove(cursor));
+        }
+        postingList.remove(2);
+        postingList.add(1);
+
+        final var cursors = postingList.toArray();
+        assertEquals(50, postingList.size());
+        assertEquals(1, cursors[0]);
+        assertEquals(4, cursors[1]);
+        assertEquals(100, cursors[49]);
+        for (int i = 1; i < cursors.length; i++) {
+            assertTrue(cursors[i - 1] < cursors[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("PostingList - should report empty once every cursor is removed")
+    void postingList_shouldReportEmpty() {
+        final var postingList = new NameTrigramIndex.PostingList();
+        postingList.add(1);
+        postingList.add(2);
+
+        assertFalse(postingList.remove(1));
+        assertTrue(postingList.remove(2));
+        assertEquals(0, postingList.toArray().length);
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeJournal;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class EmployeeListResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockEmployeeService mockEmployeeService;
+    private EmployeeListResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        mockEmployeeService = new MockEmployeeService(
+                new Faker(),
+                List.of(employee("Jane Doe"), employee("John Smith")),
+                new StaticListableBeanFactory().getBeanProvider(MockEmployeeJournal.class));
+        cache = new EmployeeListResponseCache(objectMapper, mockEmployeeService, true);
+    }
+
+    @Test
+    @DisplayName("get - should encode the list response as JSON and as gzip of the same bytes")
+    void get_shouldEncodeJsonAndGzip() throws IOException {
+        final var encoded = cache.get();
+
+        final var response = objectMapper.readTree(encoded.json());
+        assertEquals(2, response.get("data").size());
+        assertEquals(
+                "Jane Doe", response.get("data").get(0).get("employee_name").asText());
+        assertEquals("Successfully processed request.", response.get("status").asText());
+        try (final var gzip = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertArrayEquals(encoded.json(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("get - should reuse the encoding until a mutation moves the store version")
+    void get_shouldRebuildOnlyAfterMutation() throws IOException {
+        final var first = cache.get();
+        assertSame(first, cache.get());
+        assertSame(first, cache.getIfCurrent());
+
+        mockEmployeeService.create(input("Ann Lee"));
+
+        assertNull(cache.getIfCurrent());
+        final var rebuilt = cache.get();
+        assertNotSame(first, rebuilt);
+        assertEquals(mockEmployeeService.getVersion(), rebuilt.version());
+        assertEquals(3, objectMapper.readTree(rebuilt.json()).get("data").size());
+        assertSame(rebuilt, cache.getIfCurrent());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .email(name.replace(' ', '.') + "@example.com")
+                .build();
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(90_000);
+        input.setAge(40);
+        input.setTitle("Manager");
+        return input;
+    }
+}
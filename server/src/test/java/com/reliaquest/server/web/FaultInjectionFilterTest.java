@@ -0,0 +1,143 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class FaultInjectionFilterTest {
+
+    private static final byte[] BODY = "{\"data\":[\"employee\"],\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger handled = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> {
+        handled.incrementAndGet();
+        response.getOutputStream().write(BODY);
+    };
+
+    private FaultProfiles profiles;
+    private FaultInjectionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        profiles = new FaultProfiles(objectMapper, FaultProfiles.NONE, "");
+        filter = new FaultInjectionFilter(profiles, objectMapper);
+    }
+
+    @Test
+    @DisplayName("doFilter - should pass requests through untouched when no profile is active")
+    void doFilter_shouldPassThroughWithoutProfile() throws Exception {
+        final var response = filter("GET", "/api/v1/employee");
+
+        assertEquals(1, handled.get());
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("doFilter - should answer a matching request with the injected error instead of handling it")
+    void doFilter_shouldInjectError() throws Exception {
+        activate(new FaultProfile(null, List.of(new FaultProfile.ErrorRule("GET", "/api/**", 1.0, 503)), null, null));
+
+        final var response = filter("GET", "/api/v1/employee");
+
+        assertEquals(0, handled.get());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        final var body = objectMapper.readTree(response.getContentAsByteArray());
+        assertEquals("Injected fault 503", body.get("error").asText());
+    }
+
+    @Test
+    @DisplayName("doFilter - should leave requests the rules do not match alone")
+    void doFilter_shouldSkipUnmatchedRequests() throws Exception {
+        activate(new FaultProfile(
+                null,
+                List.of(new FaultProfile.ErrorRule("DELETE", "/api/**", 1.0, 500)),
+                List.of(new FaultProfile.ResetRule(null, "/admin/**", 1.0)),
+                null));
+
+        final var response = filter("GET", "/api/v1/employee");
+
+        assertEquals(1, handled.get());
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("doFilter - should send half the body under the full length and close for a dropped connection")
+    void doFilter_shouldDropConnectionHalfWay() throws Exception {
+        activate(new FaultProfile(null, null, List.of(new FaultProfile.ResetRule(null, "/api/**", 1.0)), null));
+
+        final var response = filter("GET", "/api/v1/employee");
+
+        assertEquals(1, handled.get());
+        assertEquals("close", response.getHeader(HttpHeaders.CONNECTION));
+        assertEquals(BODY.length, response.getContentLength());
+        assertArrayEquals(Arrays.copyOf(BODY, BODY.length / 2), response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("doFilter - should write the whole body in chunks for a slow drip")
+    void doFilter_shouldDripWholeBody() throws Exception {
+        activate(new FaultProfile(
+                null, null, null, new FaultProfile.SlowDrip("GET", "/api/v1/employee", 4, Duration.ofMillis(1))));
+
+        final var response = filter("GET", "/api/v1/employee");
+
+        assertEquals(BODY.length, response.getContentLength());
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("doFilter - should wait the sampled latency before handling the request")
+    void doFilter_shouldAddLatency() throws Exception {
+        activate(new FaultProfile(new FaultProfile.Fixed(Duration.ofMillis(50)), null, null, null));
+
+        final var started = System.nanoTime();
+        final var response = filter("GET", "/api/v1/employee");
+
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, handled.get());
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("doFilter - should abandon the request when interrupted while waiting")
+    void doFilter_shouldAbandonWhenInterrupted() throws Exception {
+        activate(new FaultProfile(new FaultProfile.Fixed(Duration.ofSeconds(10)), null, null, null));
+
+        Thread.currentThread().interrupt();
+        try {
+            filter("GET", "/api/v1/employee");
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(0, handled.get());
+    }
+
+    private void activate(FaultProfile profile) {
+        profiles.define("test", profile);
+        profiles.activate("test");
+    }
+
+    private MockHttpServletResponse filter(String method, String path) throws Exception {
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, chain);
+        return response;
+    }
+}
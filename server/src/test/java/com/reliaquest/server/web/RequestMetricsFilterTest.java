@@ -0,0 +1,77 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class RequestMetricsFilterTest {
+
+    private static final String ROUTE = "/api/v1/employee/{id}";
+
+    private final ServerMetrics metrics = new ServerMetrics();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(metrics);
+
+    @Test
+    @DisplayName("doFilter - should count every body byte written, by array and by single byte, under the route")
+    void doFilter_shouldCountBodyBytes() throws Exception {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee/42");
+        final var response = new MockHttpServletResponse();
+        final FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+            req.setAttribute(RequestMetricsFilter.BODY_WRITE_STARTED, System.nanoTime());
+            final var out = res.getOutputStream();
+            assertSame(out, res.getOutputStream());
+            out.write("{\"data\":".getBytes(StandardCharsets.UTF_8));
+            out.write('1');
+            out.write("}xx".getBytes(StandardCharsets.UTF_8), 0, 1);
+            out.flush();
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals("{\"data\":1}", response.getContentAsString());
+        final var endpoint = metrics.read(0, 0).endpoints().get("GET " + ROUTE);
+        assertEquals(1, endpoint.requests());
+        assertEquals(10, endpoint.responseBytes());
+        assertEquals(1, endpoint.latencyMicros().count());
+        assertEquals(1, endpoint.bodyWriteMicros().count());
+    }
+
+    @Test
+    @DisplayName("doFilter - should record a request that matched no route and wrote no body")
+    void doFilter_shouldRecordUnmatchedRequest() throws Exception {
+        final var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), response, (req, res) -> response.setStatus(404));
+
+        final var endpoint = metrics.read(0, 0).endpoints().get("GET " + ServerMetrics.UNMATCHED);
+        assertEquals(1, endpoint.requests());
+        assertEquals(1, endpoint.clientErrors());
+        assertEquals(0, endpoint.responseBytes());
+        assertEquals(0, endpoint.bodyWriteMicros().count());
+    }
+
+    @Test
+    @DisplayName("doFilter - should still record a request whose handler throws")
+    void doFilter_shouldRecordFailedRequest() {
+        final var request = new MockHttpServletRequest("DELETE", "/api/v1/employee");
+        final FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/employee");
+            res.getOutputStream().write(new byte[5]);
+            throw new ServletException("boom");
+        };
+
+        assertThrows(ServletException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+
+        final var endpoint = metrics.read(0, 0).endpoints().get("DELETE /api/v1/employee");
+        assertEquals(1, endpoint.requests());
+        assertEquals(5, endpoint.responseBytes());
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+class ServerMetricsTest {
+
+    private static final String ENDPOINT = "GET /api/v1/employee/{id}";
+
+    private final ServerMetrics metrics = new ServerMetrics();
+
+    @Test
+    @DisplayName("record - should count requests, bytes and statuses per endpoint")
+    void record_shouldSummarizePerEndpoint() {
+        metrics.record(ENDPOINT, 200, TimeUnit.MILLISECONDS.toNanos(2), 100, TimeUnit.MILLISECONDS.toNanos(1));
+        metrics.record(ENDPOINT, 404, TimeUnit.MILLISECONDS.toNanos(4), 20, 0);
+        metrics.record(ENDPOINT, 429, TimeUnit.MILLISECONDS.toNanos(1), 0, 0);
+        metrics.record(ENDPOINT, 503, TimeUnit.MILLISECONDS.toNanos(8), 0, 0);
+        metrics.record("DELETE /api/v1/employee", 200, TimeUnit.MILLISECONDS.toNanos(3), 10, 0);
+
+        final var snapshot = metrics.read(7, 3);
+
+        assertEquals(2, snapshot.endpoints().size());
+        final var endpoint = snapshot.endpoints().get(ENDPOINT);
+        assertEquals(4, endpoint.requests());
+        assertEquals(1, endpoint.rateLimited());
+        assertEquals(1, endpoint.clientErrors());
+        assertEquals(1, endpoint.serverErrors());
+        assertEquals(120, endpoint.responseBytes());
+        assertEquals(4, endpoint.latencyMicros().count());
+        assertEquals(8000, endpoint.latencyMicros().max(), 8);
+        assertEquals(1, endpoint.bodyWriteMicros().count());
+        assertEquals(1000, endpoint.bodyWriteMicros().p50(), 1);
+        assertEquals(7, snapshot.store().size());
+        assertEquals(3, snapshot.store().version());
+    }
+
+    @Test
+    @DisplayName("read - should keep totals across reads and rate mutations between them")
+    void read_shouldAccumulateAcrossReads() throws InterruptedException {
+        metrics.record(ENDPOINT, 200, 1_000_000, 10, 0);
+        final var first = metrics.read(1, 10);
+        assertEquals(0, first.store().mutationsPerSecond());
+
+        metrics.record(ENDPOINT, 200, 1_000_000, 10, 0);
+        Thread.sleep(10);
+        final var second = metrics.read(1, 20);
+
+        assertEquals(2, second.endpoints().get(ENDPOINT).requests());
+        assertEquals(2, second.endpoints().get(ENDPOINT).latencyMicros().count());
+        assertTrue(second.store().mutationsPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("reset - should start a new run with empty counts")
+    void reset_shouldClearCounts() throws Exception {
+        final var counted = metrics.countingAdmissions(new HandlerInterceptor() {});
+        counted.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object());
+        metrics.record(ENDPOINT, 500, 1_000_000, 10, 1_000_000);
+        metrics.read(1, 5);
+
+        metrics.reset();
+        final var snapshot = metrics.read(1, 5);
+
+        assertEquals(0, snapshot.admitted());
+        assertEquals(0, snapshot.rateLimited());
+        assertEquals(0, snapshot.store().mutationsPerSecond());
+        final var endpoint = snapshot.endpoints().get(ENDPOINT);
+        assertEquals(0, endpoint.requests());
+        assertEquals(0, endpoint.serverErrors());
+        assertEquals(0, endpoint.responseBytes());
+        assertEquals(0, endpoint.latencyMicros().count());
+        assertEquals(0, endpoint.bodyWriteMicros().count());
+    }
+
+    @Test
+    @DisplayName("countingAdmissions - should count requests the limiter admits and turns away")
+    void countingAdmissions_shouldCountDecisions() throws Exception {
+        final var limiter = new HandlerInterceptor() {
+            private int calls;
+
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                return calls++ < 2;
+            }
+        };
+        final var counted = metrics.countingAdmissions(limiter);
+
+        for (int i = 0; i < 3; i++) {
+            counted.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object());
+        }
+
+        final var snapshot = metrics.read(0, 0);
+        assertEquals(2, snapshot.admitted());
+        assertEquals(1, snapshot.rateLimited());
+    }
+}